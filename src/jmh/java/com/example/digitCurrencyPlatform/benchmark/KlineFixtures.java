@@ -0,0 +1,92 @@
+package com.example.digitCurrencyPlatform.benchmark;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.service.provider.KlineDataProvider;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+// Deterministic synthetic data for the benchmarks: a seeded random walk per symbol so runs
+// are comparable across commits
+public final class KlineFixtures {
+    public static final long START_TIME = 1735689600000L; // 2025-01-01T00:00:00Z
+    private static final long MINUTE = Interval.ONE_MINUTE.getMilliseconds();
+
+    private KlineFixtures() {
+    }
+
+    public static List<String> symbols(int count) {
+        List<String> symbols = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            symbols.add("SYM" + i + "USDT");
+        }
+        return symbols;
+    }
+
+    public static List<Kline> oneMinuteSeries(String symbol, int length, long seed) {
+        Random random = new Random(seed);
+        List<Kline> klines = new ArrayList<>(length);
+        double price = 100 + random.nextInt(50_000);
+
+        for (int i = 0; i < length; i++) {
+            double open = price;
+            double close = Math.max(0.01, open * (1 + random.nextGaussian() * 0.001));
+            double high = Math.max(open, close) * (1 + random.nextDouble() * 0.0005);
+            double low = Math.min(open, close) * (1 - random.nextDouble() * 0.0005);
+            long openTime = START_TIME + i * MINUTE;
+
+            klines.add(new Kline(symbol, openTime, openTime + MINUTE - 1,
+                    decimal(open), decimal(close), decimal(high), decimal(low),
+                    decimal(random.nextDouble() * 1000), (long) random.nextInt(5000)));
+            price = close;
+        }
+        return klines;
+    }
+
+    public static Map<String, List<Kline>> oneMinuteSeries(List<String> symbols, int length) {
+        Map<String, List<Kline>> series = new HashMap<>();
+        for (int i = 0; i < symbols.size(); i++) {
+            series.put(symbols.get(i), oneMinuteSeries(symbols.get(i), length, i));
+        }
+        return series;
+    }
+
+    // Binance /api/v3/klines rows as Jackson deserialises them: numbers as Long, prices as String
+    public static List<List<Object>> rawBinanceRows(int length, long seed) {
+        List<List<Object>> rows = new ArrayList<>(length);
+        for (Kline kline : oneMinuteSeries("BTCUSDT", length, seed)) {
+            rows.add(List.of(kline.getOpenTime(), kline.getOpenPrice().toPlainString(),
+                    kline.getHighPrice().toPlainString(), kline.getLowPrice().toPlainString(),
+                    kline.getClosePrice().toPlainString(), kline.getVolume().toPlainString(),
+                    kline.getCloseTime(), "0", kline.getNumberOfTrades(), "0", "0", "0"));
+        }
+        return rows;
+    }
+
+    // Provider that serves a fixed symbol list without touching the network
+    public static KlineDataProvider stubProvider(Exchange exchange, Set<String> symbols) {
+        return new KlineDataProvider() {
+            @Override
+            public List<Kline> fetchKlines(String symbol, Interval interval, Long startTime, Long endTime) {
+                return List.of();
+            }
+
+            @Override
+            public Exchange getExchange() {
+                return exchange;
+            }
+
+            @Override
+            public Set<String> fetchAvailableSymbols() {
+                return symbols;
+            }
+        };
+    }
+
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value).setScale(8, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.digitCurrencyPlatform.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// The correlation endpoint's kernel on a year of hourly returns
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CovarianceKernelBenchmark {
+
+    @Param({"10", "100"})
+    public int symbolCount;
+
+    @Param({"8760"})
+    public int returns;
+
+    private double[][] series;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        series = new double[symbolCount][returns];
+        for (int i = 0; i < symbolCount; i++) {
+            for (int t = 0; t < returns; t++) {
+                series[i][t] = random.nextGaussian() * 0.01;
+            }
+        }
+    }
+
+    @Benchmark
+    public double[][] covariance() {
+        return CovarianceKernel.covariance(series);
+    }
+}
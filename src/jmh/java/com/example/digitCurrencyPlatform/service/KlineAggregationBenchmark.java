@@ -0,0 +1,44 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.benchmark.KlineFixtures;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.metrics.KlineMetrics;
+import com.example.digitCurrencyPlatform.model.Kline;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KlineAggregationBenchmark {
+
+    @Param({"1440", "43200", "262800"})
+    public int seriesLength;
+
+    @Param({"5m", "1h", "1d"})
+    public String interval;
+
+    private KlineService klineService;
+    private List<Kline> series;
+    private Interval targetInterval;
+
+    @Setup
+    public void setUp() {
+        klineService = new KlineService(null, List.of(), new SyncTaskExecutor(), false, 0, null, false, 0, KlineMetrics.noop(), null, null, null, null, null);
+        series = KlineFixtures.oneMinuteSeries("BTCUSDT", seriesLength, 42);
+        targetInterval = Interval.fromString(interval);
+    }
+
+    @Benchmark
+    public List<Kline> aggregateKlines() {
+        // aggregateKlines sorts its input in place, so each call gets its own copy
+        return klineService.aggregateKlines(new ArrayList<>(series), targetInterval, Interval.ONE_MINUTE);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.SimulationMethod;
+import com.example.digitCurrencyPlatform.model.MonteCarloSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 100k paths x 1,000 steps for a few assets, on a pool with one worker per core
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonteCarloBenchmark {
+
+    @Param({"GBM", "BOOTSTRAP"})
+    public SimulationMethod method;
+
+    @Param({"2", "5"})
+    public int assetCount;
+
+    private MonteCarloService monteCarloService;
+    private double[][] returns;
+    private double[] weights;
+
+    @Setup
+    public void setUp() {
+        monteCarloService = new MonteCarloService(null, 0);
+        Random random = new Random(42);
+        returns = new double[assetCount][8760];
+        weights = new double[assetCount];
+        for (int i = 0; i < assetCount; i++) {
+            weights[i] = 1.0 / assetCount;
+            for (int t = 0; t < returns[i].length; t++) {
+                returns[i][t] = random.nextGaussian() * 0.01;
+            }
+        }
+    }
+
+    @Benchmark
+    public MonteCarloSimulation simulate() {
+        return monteCarloService.simulate(returns, weights, 1_000_000, 3600000, method, 100_000, 1_000, 24, 1);
+    }
+}
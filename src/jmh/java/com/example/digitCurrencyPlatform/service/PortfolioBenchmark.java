@@ -0,0 +1,55 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.benchmark.KlineFixtures;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.Kline;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PortfolioBenchmark {
+
+    @Param({"360", "1440", "10080"})
+    public int seriesLength;
+
+    @Param({"2", "10"})
+    public int symbolCount;
+
+    private PortfolioService portfolioService;
+    private Map<String, BigDecimal> coinHoldings;
+    private Map<String, List<Kline>> symbolKlines;
+    private List<Kline> oneMinutePortfolioKlines;
+    private long endTime;
+
+    @Setup
+    public void setUp() {
+        portfolioService = new PortfolioService(null, null, null, 1, Integer.MAX_VALUE, 0);
+        List<String> symbols = KlineFixtures.symbols(symbolCount);
+        symbolKlines = KlineFixtures.oneMinuteSeries(symbols, seriesLength);
+        coinHoldings = new HashMap<>();
+        symbols.forEach(symbol -> coinHoldings.put(symbol, new BigDecimal("1.5")));
+        endTime = KlineFixtures.START_TIME + seriesLength * Interval.ONE_MINUTE.getMilliseconds();
+        oneMinutePortfolioKlines = portfolioService.generateOneMinutePortfolioKlines(
+                coinHoldings, symbolKlines, KlineFixtures.START_TIME, endTime);
+    }
+
+    @Benchmark
+    public List<Kline> generateOneMinutePortfolioKlines() {
+        return portfolioService.generateOneMinutePortfolioKlines(
+                coinHoldings, symbolKlines, KlineFixtures.START_TIME, endTime);
+    }
+
+    @Benchmark
+    public List<Kline> aggregatePortfolioKlines() {
+        return portfolioService.aggregatePortfolioKlines(new ArrayList<>(oneMinutePortfolioKlines), Interval.ONE_HOUR,
+                portfolioService.newRiskAccumulator(Interval.ONE_HOUR));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.benchmark.KlineFixtures;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.Kline;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Speedup of the chunked fork/join path against pool size; parallelism 1 runs the same chunks
+// on a single worker. PortfolioBenchmark covers the sequential path
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PortfolioParallelBenchmark {
+
+    @Param({"10080", "43200"})
+    public int seriesLength;
+
+    @Param({"10"})
+    public int symbolCount;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int parallelism;
+
+    private PortfolioService portfolioService;
+    private Map<String, BigDecimal> coinHoldings;
+    private Map<String, List<Kline>> symbolKlines;
+    private long endTime;
+
+    @Setup
+    public void setUp() {
+        portfolioService = new PortfolioService(null, null, null, parallelism, 0, 0);
+        List<String> symbols = KlineFixtures.symbols(symbolCount);
+        symbolKlines = KlineFixtures.oneMinuteSeries(symbols, seriesLength);
+        coinHoldings = new HashMap<>();
+        symbols.forEach(symbol -> coinHoldings.put(symbol, new BigDecimal("1.5")));
+        endTime = KlineFixtures.START_TIME + seriesLength * Interval.ONE_MINUTE.getMilliseconds();
+    }
+
+    @Benchmark
+    public List<Kline> oneHourPortfolioKlines() {
+        return portfolioService.calculatePortfolioKlinesInParallel(
+                coinHoldings, symbolKlines, KlineFixtures.START_TIME, endTime, Interval.ONE_HOUR,
+                portfolioService.newRiskAccumulator(Interval.ONE_HOUR));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.benchmark.KlineFixtures;
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.metrics.KlineMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SymbolValidationBenchmark {
+
+    // Number of symbols listed by the provider, i.e. the size of the cached symbol set
+    @Param({"100", "2000", "10000"})
+    public int symbolCount;
+
+    private InputValidationService inputValidationService;
+    private String symbol;
+
+    @Setup
+    public void setUp() {
+        List<String> symbols = KlineFixtures.symbols(symbolCount);
+        inputValidationService = new InputValidationService(List.of(
+                KlineFixtures.stubProvider(Exchange.BINANCE_US, new LinkedHashSet<>(symbols))), KlineMetrics.noop(), "BINANCE_US");
+        symbol = symbols.get(symbolCount / 2);
+        // Populate the symbol cache so the benchmark measures the steady state
+        inputValidationService.validateSymbol(symbol);
+    }
+
+    @Benchmark
+    public String validateSymbol() {
+        inputValidationService.validateSymbol(symbol);
+        return symbol;
+    }
+}
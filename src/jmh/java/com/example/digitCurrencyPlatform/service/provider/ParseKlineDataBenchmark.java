@@ -0,0 +1,37 @@
+package com.example.digitCurrencyPlatform.service.provider;
+
+import com.example.digitCurrencyPlatform.benchmark.KlineFixtures;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.service.KlineQuarantineService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseKlineDataBenchmark {
+
+    // 1000 is a full Binance US page, 5000 a full Binance page
+    @Param({"500", "1000", "5000"})
+    public int rows;
+
+    private BinanceServiceProvider provider;
+    private List<List<Object>> rawKlines;
+
+    @Setup
+    public void setUp() {
+        provider = new BinanceServiceProvider(new ExchangeHttpClient(new RestTemplate()), "BINANCE_US", new KlineQuarantineService(null));
+        rawKlines = KlineFixtures.rawBinanceRows(rows, 7);
+    }
+
+    @Benchmark
+    public List<Kline> parseKlineData() {
+        return provider.parseKlineData(rawKlines, "BTCUSDT");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.digitCurrencyPlatform.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// Collects per-request latencies for one scenario and reports throughput and percentiles
+public class LatencyRecorder {
+    private final String scenario;
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private int errors;
+    private long startedNanos;
+    private long finishedNanos;
+
+    public LatencyRecorder(String scenario) {
+        this.scenario = scenario;
+    }
+
+    public synchronized void start() {
+        startedNanos = System.nanoTime();
+    }
+
+    public synchronized void finish() {
+        finishedNanos = System.nanoTime();
+    }
+
+    public synchronized void record(long latencyNanos, boolean success) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public synchronized String report() {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        double elapsedSeconds = Math.max(1, finishedNanos - startedNanos) / 1e9;
+
+        return String.format(Locale.ROOT,
+                "%-10s requests=%d errors=%d throughput=%.1f req/s p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                scenario, count, errors, count / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                count == 0 ? 0 : sorted[count - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.digitCurrencyPlatform.loadtest;
+
+import com.example.digitCurrencyPlatform.DigitCurrencyPlatformApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+// Runs fetch -> store -> retrieve -> portfolio against the application wired to an embedded
+// stand-in exchange, so ingestion can be load tested without touching the real exchange.
+// The application still needs a MySQL schema; point it at a scratch one, e.g.
+//   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--spring.datasource.url=jdbc:mysql://localhost/kline_load"
+// Tunables are system properties: loadtest.symbols, loadtest.start, loadtest.days,
+// loadtest.concurrency, loadtest.requests, exchange.latencyMs, exchange.jitterMs,
+// exchange.rateLimitPerMinute, exchange.errorRate and exchange.recordings
+public class LoadTestDriver {
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    public static void main(String[] args) throws Exception {
+        List<String> symbols = Arrays.asList(System.getProperty("loadtest.symbols", "BTCUSDT,ETHUSDT,SOLUSDT,BNBUSDT").split(","));
+        // Covers the window used by /api/portfolio/test
+        long start = Long.getLong("loadtest.start", 1752969600000L);
+        int days = Integer.getInteger("loadtest.days", 2);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 8);
+        int requests = Integer.getInteger("loadtest.requests", 200);
+        String recordings = System.getProperty("exchange.recordings");
+
+        StandInExchangeServer.Settings settings = new StandInExchangeServer.Settings(
+                symbols,
+                Long.getLong("exchange.latencyMs", 50),
+                Long.getLong("exchange.jitterMs", 50),
+                Integer.getInteger("exchange.rateLimitPerMinute", 1200),
+                Double.parseDouble(System.getProperty("exchange.errorRate", "0.01")),
+                recordings == null ? null : Path.of(recordings));
+
+        try (StandInExchangeServer exchange = new StandInExchangeServer(settings);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(DigitCurrencyPlatformApplication.class)
+                     .properties("server.port=0",
+                             "app.exchange.default=BINANCE_US",
+                             "app.exchange.endpoint-override=" + exchange.baseUrl())
+                     .run(args)) {
+
+            String api = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+
+            List<String> fetchRequests = new ArrayList<>();
+            for (String symbol : symbols) {
+                for (int day = 0; day < days; day++) {
+                    long dayStart = start + day * DAY_MS;
+                    fetchRequests.add(api + "/api/kline/fetch/BINANCE_US?symbol=" + symbol +
+                            "&interval=1m&startTime=" + dayStart + "&endTime=" + (dayStart + DAY_MS - 1));
+                }
+            }
+
+            List<String> retrieveRequests = new ArrayList<>();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < requests; i++) {
+                String symbol = symbols.get(random.nextInt(symbols.size()));
+                long windowStart = start + random.nextLong(Math.max(1, days * DAY_MS - DAY_MS / 4));
+                retrieveRequests.add(api + "/api/kline/retrieve?symbol=" + symbol + "&interval=5m&baseInterval=1m" +
+                        "&startTime=" + windowStart + "&endTime=" + (windowStart + DAY_MS / 4) + "&limit=100");
+            }
+
+            List<String> portfolioRequests = new ArrayList<>();
+            for (int i = 0; i < Math.max(1, requests / 10); i++) {
+                portfolioRequests.add(api + "/api/portfolio/test");
+            }
+
+            List<LatencyRecorder> results = List.of(
+                    run("fetch", "POST", fetchRequests, client, pool),
+                    run("retrieve", "GET", retrieveRequests, client, pool),
+                    run("portfolio", "GET", portfolioRequests, client, pool));
+
+            pool.shutdown();
+            System.out.println();
+            System.out.println("=== LOAD TEST RESULTS (" + symbols.size() + " symbols, " + days + " days, concurrency " + concurrency + ") ===");
+            results.forEach(result -> System.out.println(result.report()));
+        }
+    }
+
+    private static LatencyRecorder run(String scenario, String method, List<String> urls,
+                                       HttpClient client, ExecutorService pool) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder(scenario);
+        List<Callable<Void>> calls = new ArrayList<>();
+        for (String url : urls) {
+            calls.add(() -> {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                        .timeout(Duration.ofMinutes(5))
+                        .method(method, HttpRequest.BodyPublishers.noBody())
+                        .build();
+                long started = System.nanoTime();
+                boolean success;
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    success = response.statusCode() < 400;
+                } catch (Exception e) {
+                    success = false;
+                }
+                recorder.record(System.nanoTime() - started, success);
+                return null;
+            });
+        }
+
+        recorder.start();
+        pool.invokeAll(calls);
+        recorder.finish();
+        return recorder;
+    }
+}
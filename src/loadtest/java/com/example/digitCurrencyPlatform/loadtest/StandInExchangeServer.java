@@ -0,0 +1,216 @@
+package com.example.digitCurrencyPlatform.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Embedded stand-in for the Binance REST API. Serves /api/v3/exchangeInfo and /api/v3/klines
+// from generated bars (or from recordings named <SYMBOL>-<interval>.json in the raw Binance
+// array format) with configurable latency, a per-minute request budget answered with 429s,
+// and random 500s
+public class StandInExchangeServer implements AutoCloseable {
+    private static final Map<String, Long> INTERVAL_MS = Map.of(
+            "1m", 60_000L, "5m", 300_000L, "15m", 900_000L, "1h", 3_600_000L, "1d", 86_400_000L);
+    private static final int MAX_LIMIT = 1000;
+
+    private final Settings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, List<List<Object>>> recordings = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(32);
+    private long windowStart;
+    private int requestsInWindow;
+
+    public record Settings(List<String> symbols, long latencyMs, long latencyJitterMs,
+                           int rateLimitPerMinute, double errorRate, Path recordingsDir) {
+    }
+
+    public StandInExchangeServer(Settings settings) throws IOException {
+        this.settings = settings;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/api/v3/exchangeInfo", exchange -> handle(exchange, this::exchangeInfo));
+        server.createContext("/api/v3/klines", exchange -> handle(exchange, this::klines));
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private interface Handler {
+        Object respond(Map<String, String> params) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try (exchange) {
+            sleep(settings.latencyMs() + (settings.latencyJitterMs() > 0
+                    ? ThreadLocalRandom.current().nextLong(settings.latencyJitterMs()) : 0));
+
+            if (!tryAcquire()) {
+                send(exchange, 429, Map.of("code", -1003, "msg", "Too many requests"));
+                return;
+            }
+            if (ThreadLocalRandom.current().nextDouble() < settings.errorRate()) {
+                send(exchange, 500, Map.of("code", -1000, "msg", "Injected error"));
+                return;
+            }
+            send(exchange, 200, handler.respond(queryParams(exchange)));
+        } catch (RuntimeException e) {
+            send(exchange, 400, Map.of("code", -1100, "msg", String.valueOf(e.getMessage())));
+        }
+    }
+
+    private synchronized boolean tryAcquire() {
+        if (settings.rateLimitPerMinute() <= 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now - windowStart >= 60_000) {
+            windowStart = now;
+            requestsInWindow = 0;
+        }
+        return ++requestsInWindow <= settings.rateLimitPerMinute();
+    }
+
+    private Object exchangeInfo(Map<String, String> params) {
+        List<Map<String, String>> symbols = settings.symbols().stream()
+                .map(symbol -> Map.of("symbol", symbol, "status", "TRADING"))
+                .toList();
+        return Map.of("symbols", symbols);
+    }
+
+    private Object klines(Map<String, String> params) throws IOException {
+        String symbol = params.get("symbol");
+        String interval = params.getOrDefault("interval", "1m");
+        long startTime = Long.parseLong(params.get("startTime"));
+        long endTime = Long.parseLong(params.get("endTime"));
+        int limit = Math.min(MAX_LIMIT, Integer.parseInt(params.getOrDefault("limit", "500")));
+
+        List<List<Object>> recorded = recording(symbol, interval);
+        if (recorded != null) {
+            return recorded.stream()
+                    .filter(row -> {
+                        long openTime = ((Number) row.get(0)).longValue();
+                        return openTime >= startTime && openTime <= endTime;
+                    })
+                    .limit(limit)
+                    .toList();
+        }
+
+        Long intervalMs = INTERVAL_MS.get(interval);
+        if (intervalMs == null) {
+            throw new IllegalArgumentException("Unsupported interval " + interval);
+        }
+        List<List<Object>> rows = new ArrayList<>();
+        long firstOpen = ((startTime + intervalMs - 1) / intervalMs) * intervalMs;
+        for (long openTime = firstOpen; openTime <= endTime && rows.size() < limit; openTime += intervalMs) {
+            rows.add(generatedBar(symbol, openTime, intervalMs));
+        }
+        return rows;
+    }
+
+    private List<List<Object>> recording(String symbol, String interval) throws IOException {
+        if (settings.recordingsDir() == null) {
+            return null;
+        }
+        String key = symbol + "-" + interval;
+        List<List<Object>> cached = recordings.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Path file = settings.recordingsDir().resolve(key + ".json");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        List<List<Object>> rows = objectMapper.readValue(file.toFile(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, List.class));
+        recordings.put(key, rows);
+        return rows;
+    }
+
+    // Stateless price path so any window can be generated independently and repeatably
+    private static List<Object> generatedBar(String symbol, long openTime, long intervalMs) {
+        double base = 50 + Math.floorMod(symbol.hashCode(), 50_000);
+        double open = price(base, symbol, openTime);
+        double close = price(base, symbol, openTime + intervalMs);
+        double spread = base * 0.0005 * (1 + noise(symbol, openTime * 31));
+        double high = Math.max(open, close) + spread;
+        double low = Math.max(0.01, Math.min(open, close) - spread);
+        double volume = 10 + 1000 * (1 + noise(symbol, openTime * 17));
+        long trades = 1 + (long) (500 * (1 + noise(symbol, openTime * 13)));
+
+        return List.of(openTime, format(open), format(high), format(low), format(close), format(volume),
+                openTime + intervalMs - 1, "0", trades, "0", "0", "0");
+    }
+
+    private static double price(double base, String symbol, long time) {
+        double minutes = time / 60_000.0;
+        return base * (1 + 0.05 * Math.sin(minutes / 1440 * 2 * Math.PI) + 0.002 * noise(symbol, time));
+    }
+
+    // Deterministic value in [-1, 1)
+    private static double noise(String symbol, long time) {
+        long hash = new SplittableRandom(time ^ ((long) symbol.hashCode() << 32)).nextLong();
+        return (hash >>> 11) * 0x1.0p-53 * 2 - 1;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.8f", value);
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.digitCurrencyPlatform.aop;
+
+import com.example.digitCurrencyPlatform.config.DataSourceRoute;
+import org.apache.ibatis.annotations.Select;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Routes @Select mapper methods to the read pool and every other repository call
+// (inserts, deletes, DDL, bulk loads) to the write pool
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingAspect {
+    @Around("execution(* com.example.digitCurrencyPlatform.repository..*(..))")
+    public Object routeDataSource(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean isRead = ((MethodSignature) joinPoint.getSignature()).getMethod().isAnnotationPresent(Select.class);
+        DataSourceRoute previous = DataSourceRoute.set(isRead ? DataSourceRoute.READ : DataSourceRoute.WRITE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRoute.restore(previous);
+        }
+    }
+}
@@ -1,21 +0,0 @@
-package com.example.digitCurrencyPlatform.aop;
-
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
-import org.springframework.stereotype.Component;
-
-@Aspect
-@Component
-public class LoggingAspect {
-    @Around("execution(* com.example.digitCurrencyPlatform.service..*(..))")
-    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().toShortString();
-        System.out.println("Starting: " + methodName);
-        long startTime = System.currentTimeMillis();
-        Object result = joinPoint.proceed();
-        long duration = System.currentTimeMillis() - startTime;
-        System.out.println(" Completed: " + methodName + " in " + duration + " ms");
-        return result;
-    }
-}
@@ -0,0 +1,114 @@
+package com.example.digitCurrencyPlatform.aop;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.IngestionMode;
+import com.example.digitCurrencyPlatform.metrics.KlineMetrics;
+import com.example.digitCurrencyPlatform.service.provider.KlineDataProvider;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Times service methods and records provider and ingestion meters. Methods listed in
+// app.metrics.sampled-methods (as SimpleClassName.method) are only timed for a random
+// app.metrics.sample-rate fraction of calls; their timers carry sampled=true so counts can be scaled
+@Aspect
+@Component
+public class MetricsAspect {
+    private final KlineMetrics klineMetrics;
+    private final boolean methodTimingEnabled;
+    private final Set<String> sampledMethods;
+    private final double sampleRate;
+    private final Map<Method, MethodTiming> methodTimings = new ConcurrentHashMap<>();
+
+    private record MethodTiming(Timer timer, boolean sampled) {
+    }
+
+    @Autowired
+    public MetricsAspect(KlineMetrics klineMetrics,
+                         @Value("${app.metrics.method-timing.enabled:true}") boolean methodTimingEnabled,
+                         @Value("${app.metrics.sampled-methods:}") List<String> sampledMethods,
+                         @Value("${app.metrics.sample-rate:0.01}") double sampleRate) {
+        this.klineMetrics = klineMetrics;
+        this.methodTimingEnabled = methodTimingEnabled;
+        this.sampledMethods = sampledMethods.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.sampleRate = sampleRate;
+    }
+
+    @Around("execution(* com.example.digitCurrencyPlatform.service..*(..))")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!methodTimingEnabled) {
+            return joinPoint.proceed();
+        }
+        MethodTiming timing = methodTimings.computeIfAbsent(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), this::createMethodTiming);
+        if (timing.sampled() && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.timer().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // One sample per HTTP attempt, so hedges and retries are counted individually
+    @Around("execution(* com.example.digitCurrencyPlatform.service.provider.ExchangeHttpClient.get(..))")
+    public Object recordProviderRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+        String exchange = ((Exchange) joinPoint.getArgs()[0]).name();
+        String operation = (String) joinPoint.getArgs()[1];
+        long started = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            klineMetrics.recordProviderRequest(exchange, operation, System.nanoTime() - started, null);
+            return result;
+        } catch (Throwable e) {
+            klineMetrics.recordProviderRequest(exchange, operation, System.nanoTime() - started, e);
+            throw e;
+        }
+    }
+
+    @AfterReturning(pointcut = "execution(* com.example.digitCurrencyPlatform.service.provider.KlineDataProvider+.fetchKlines(..))",
+            returning = "klines")
+    public void recordRowsFetched(JoinPoint joinPoint, List<?> klines) {
+        klineMetrics.recordRowsFetched(((KlineDataProvider) joinPoint.getTarget()).getExchange().name(), klines.size());
+    }
+
+    @AfterReturning(pointcut = "execution(int com.example.digitCurrencyPlatform.repository.KlineRepository.batchInsert(..))",
+            returning = "rows")
+    public void recordBatchInsert(int rows) {
+        klineMetrics.recordRowsInserted(IngestionMode.BATCH_INSERT.name(), rows);
+    }
+
+    @AfterReturning(pointcut = "execution(long com.example.digitCurrencyPlatform.repository.KlineBulkLoader.load(..))",
+            returning = "rows")
+    public void recordBulkLoad(long rows) {
+        klineMetrics.recordRowsInserted(IngestionMode.BULK_LOAD.name(), rows);
+    }
+
+    private MethodTiming createMethodTiming(Method method) {
+        String className = method.getDeclaringClass().getSimpleName();
+        boolean sampled = sampledMethods.contains(className + "." + method.getName());
+        return new MethodTiming(klineMetrics.methodTimer(className, method.getName(), sampled), sampled);
+    }
+}
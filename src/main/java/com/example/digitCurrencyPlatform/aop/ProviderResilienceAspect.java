@@ -0,0 +1,306 @@
+package com.example.digitCurrencyPlatform.aop;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.metrics.KlineMetrics;
+import com.example.digitCurrencyPlatform.model.exception.DataProviderException;
+import com.example.digitCurrencyPlatform.service.provider.CircuitBreaker;
+import com.example.digitCurrencyPlatform.service.provider.LatencyTracker;
+import com.example.digitCurrencyPlatform.service.provider.RateLimiter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Resilience layer around every exchange HTTP request:
+//  - the per-exchange rate limiter: every attempt, retry or hedge takes its own token, and the wait
+//    happens before the attempt is timed. A 429 pauses the exchange's limiter for Retry-After
+//  - hedging: once a call has run longer than the observed latency percentile (p95 by default)
+//    a duplicate is sent and whichever answers first wins
+//  - retries with full-jitter exponential backoff, only for transient failures (I/O, 429, 5xx);
+//    once throttled, a call is no longer hedged
+//  - a per-exchange circuit breaker that fails fast while an exchange keeps failing
+// Runs outside MetricsAspect so every individual attempt still shows up in kline.provider.requests
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ProviderResilienceAspect {
+    private static final int LATENCY_WINDOW = 256;
+
+    private final KlineMetrics klineMetrics;
+    private final TaskExecutor providerCallExecutor;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final boolean hedgingEnabled;
+    private final double hedgePercentile;
+    private final int hedgeMinSamples;
+    private final int failureThreshold;
+    private final long openMs;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    private final Map<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProviderResilienceAspect(KlineMetrics klineMetrics,
+                                    @Qualifier("providerCallExecutor") TaskExecutor providerCallExecutor,
+                                    @Value("${app.provider.resilience.enabled:true}") boolean enabled,
+                                    @Value("${app.provider.resilience.max-attempts:3}") int maxAttempts,
+                                    @Value("${app.provider.resilience.backoff-base-ms:200}") long backoffBaseMs,
+                                    @Value("${app.provider.resilience.backoff-max-ms:5000}") long backoffMaxMs,
+                                    @Value("${app.provider.resilience.hedge.enabled:true}") boolean hedgingEnabled,
+                                    @Value("${app.provider.resilience.hedge.percentile:0.95}") double hedgePercentile,
+                                    @Value("${app.provider.resilience.hedge.min-samples:20}") int hedgeMinSamples,
+                                    @Value("${app.provider.resilience.circuit.failure-threshold:5}") int failureThreshold,
+                                    @Value("${app.provider.resilience.circuit.open-ms:30000}") long openMs) {
+        this.klineMetrics = klineMetrics;
+        this.providerCallExecutor = providerCallExecutor;
+        this.enabled = enabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeMinSamples = hedgeMinSamples;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    // Advises single HTTP requests; page loops stay in the providers
+    @Around("execution(* com.example.digitCurrencyPlatform.service.provider.ExchangeHttpClient.get(..))")
+    public Object callProvider(ProceedingJoinPoint joinPoint) throws Throwable {
+        Exchange target = (Exchange) joinPoint.getArgs()[0];
+        String exchange = target.name();
+        RateLimiter limiter = limiters.computeIfAbsent(exchange, key -> RateLimiter.forExchange(target));
+        if (!enabled) {
+            limiter.acquire();
+            return joinPoint.proceed();
+        }
+        String operation = (String) joinPoint.getArgs()[1];
+        CircuitBreaker breaker = breakers.computeIfAbsent(exchange, this::createBreaker);
+        LatencyTracker latency = latencies.computeIfAbsent(exchange + "|" + operation,
+                key -> createLatencyTracker(exchange, operation));
+
+        Throwable lastFailure = null;
+        boolean throttled = false;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (!breaker.tryAcquire()) {
+                klineMetrics.recordCircuitRejection(exchange);
+                if (lastFailure != null) {
+                    throw lastFailure;
+                }
+                throw new DataProviderException("Circuit open for " + target.getDisplayName() +
+                        "; failing fast after repeated errors");
+            }
+            limiter.acquire();
+            try {
+                Object result = hedgingEnabled && !throttled
+                        ? callHedged(joinPoint, latency, limiter, exchange, operation)
+                        : callTimed(joinPoint, latency);
+                breaker.onSuccess();
+                return result;
+            } catch (Throwable e) {
+                lastFailure = e;
+                if (!isTransient(e)) {
+                    breaker.onIgnoredFailure();
+                    throw e;
+                }
+                breaker.onFailure();
+                if (isThrottled(e)) {
+                    // Everyone calling this exchange backs off, not just this retry
+                    throttled = true;
+                    limiter.pause(Math.max(retryAfterNanos(e), TimeUnit.MILLISECONDS.toNanos(backoffCeiling(attempt))));
+                }
+                if (attempt < maxAttempts) {
+                    klineMetrics.recordProviderRetry(exchange, operation);
+                    backoff(attempt);
+                }
+            }
+        }
+        throw lastFailure;
+    }
+
+    private Object callTimed(ProceedingJoinPoint joinPoint, LatencyTracker latency) throws Throwable {
+        long started = System.nanoTime();
+        Object result = joinPoint.proceed();
+        // Only successes feed the threshold, fast failures would drag it down
+        latency.record(System.nanoTime() - started);
+        return result;
+    }
+
+    // Spring AOP join points can be proceeded more than once (each call runs a fresh copy of the
+    // interceptor chain), which is what lets the hedge repeat the call. The losing request is left
+    // to finish in the background since a blocking HTTP read can't be cancelled
+    private Object callHedged(ProceedingJoinPoint joinPoint, LatencyTracker latency, RateLimiter limiter,
+                              String exchange, String operation) throws Throwable {
+        long hedgeAfterNanos = latency.percentileNanos();
+        if (hedgeAfterNanos < 0) {
+            return callTimed(joinPoint, latency);
+        }
+
+        CompletableFuture<Object> primary;
+        try {
+            primary = submit(joinPoint, latency);
+        } catch (RejectedExecutionException e) {
+            return callTimed(joinPoint, latency);
+        }
+        try {
+            return primary.get(hedgeAfterNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (TimeoutException e) {
+            // fall through and hedge
+        }
+
+        // A hedge is optional: without a free token it would only queue behind the primary
+        if (!limiter.tryAcquire()) {
+            return await(primary);
+        }
+        CompletableFuture<Object> hedge;
+        try {
+            hedge = submit(joinPoint, latency);
+        } catch (RejectedExecutionException e) {
+            return await(primary);
+        }
+
+        CompletableFuture<String> winner = new CompletableFuture<>();
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((result, error) -> settle(first, winner, "primary", result, error, failures));
+        hedge.whenComplete((result, error) -> settle(first, winner, "hedge", result, error, failures));
+        Object result = await(first);
+        klineMetrics.recordProviderHedge(exchange, operation, winner.getNow("none"));
+        return result;
+    }
+
+    private static void settle(CompletableFuture<Object> first, CompletableFuture<String> winner, String name,
+                               Object result, Throwable error, AtomicInteger failures) {
+        if (error == null) {
+            if (first.complete(result)) {
+                winner.complete(name);
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(error);
+        }
+    }
+
+    private CompletableFuture<Object> submit(ProceedingJoinPoint joinPoint, LatencyTracker latency) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return callTimed(joinPoint, latency);
+            } catch (Throwable e) {
+                throw new CompletionException(e);
+            }
+        }, providerCallExecutor);
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof ExecutionException || e instanceof CompletionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    // Full jitter: sleep a random time in [0, min(max, base * 2^(attempt - 1))] so callers that
+    // failed together don't retry together
+    private void backoff(int attempt) throws InterruptedException {
+        long ceiling = backoffCeiling(attempt);
+        if (ceiling > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+
+    private long backoffCeiling(int attempt) {
+        return Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt - 1, 20));
+    }
+
+    static boolean isThrottled(Throwable e) {
+        RestClientResponseException response = responseException(e);
+        return response != null && response.getStatusCode().value() == 429;
+    }
+
+    // Retry-After is either delta-seconds or an HTTP date; 0 when absent or unreadable
+    static long retryAfterNanos(Throwable e) {
+        RestClientResponseException response = responseException(e);
+        String retryAfter = response == null || response.getResponseHeaders() == null
+                ? null : response.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                long untilMs = at.toInstant().toEpochMilli() - System.currentTimeMillis();
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(0, untilMs));
+            } catch (DateTimeParseException unreadable) {
+                return 0;
+            }
+        }
+    }
+
+    private static RestClientResponseException responseException(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RestClientResponseException response) {
+                return response;
+            }
+        }
+        return null;
+    }
+
+    // Only failures that say something about the exchange's health are retried or counted
+    // against the breaker; validation errors and unknown symbols fail straight through
+    static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RestClientResponseException response) {
+                int status = response.getStatusCode().value();
+                return status == 429 || status >= 500;
+            }
+            if (cause instanceof ResourceAccessException || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CircuitBreaker createBreaker(String exchange) {
+        CircuitBreaker breaker = new CircuitBreaker(failureThreshold, openMs);
+        klineMetrics.registerCircuitState(exchange, () -> breaker.getState().ordinal());
+        return breaker;
+    }
+
+    private LatencyTracker createLatencyTracker(String exchange, String operation) {
+        LatencyTracker tracker = new LatencyTracker(LATENCY_WINDOW, hedgePercentile, hedgeMinSamples);
+        klineMetrics.registerHedgeThreshold(exchange, operation, () -> {
+            long nanos = tracker.percentileNanos();
+            return nanos < 0 ? Double.NaN : nanos;
+        });
+        return tracker;
+    }
+}
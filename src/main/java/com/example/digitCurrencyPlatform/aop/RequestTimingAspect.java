@@ -0,0 +1,40 @@
+package com.example.digitCurrencyPlatform.aop;
+
+import com.example.digitCurrencyPlatform.metrics.RequestTimings;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Attributes validation and repository time (and rows read) to the request being timed, if any
+@Aspect
+@Component
+public class RequestTimingAspect {
+    @Around("execution(* com.example.digitCurrencyPlatform.service.InputValidationService.*(..))")
+    public Object timeValidation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timePhase(joinPoint, RequestTimings.VALIDATION);
+    }
+
+    @Around("execution(* com.example.digitCurrencyPlatform.repository..*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = timePhase(joinPoint, RequestTimings.DB);
+        if (result instanceof Collection<?> rows) {
+            RequestTimings.addRows(rows.size());
+        }
+        return result;
+    }
+
+    private Object timePhase(ProceedingJoinPoint joinPoint, String phase) throws Throwable {
+        if (!RequestTimings.isActive()) {
+            return joinPoint.proceed();
+        }
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTimings.record(phase, System.nanoTime() - started);
+        }
+    }
+}
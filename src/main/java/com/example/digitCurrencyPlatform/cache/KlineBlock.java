@@ -0,0 +1,147 @@
+package com.example.digitCurrencyPlatform.cache;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+// One calendar month of one series in a direct buffer: fixed 64-byte records sorted by open_time,
+// so a record is found by binary search on its offset and nothing per-bar lives on the heap.
+// Prices and volume are stored as longs scaled by 1e8 and read back at the column scale (10), so
+// cached bars serialize exactly like database rows. Bars needing more precision or range make
+// the whole month uncacheable rather than lossy.
+// Record layout: open_time, close_time, open, close, high, low, volume, number_of_trades
+final class KlineBlock {
+    static final int RECORD_BYTES = 64;
+    private static final int STORED_SCALE = 8;
+    private static final int COLUMN_SCALE = 10;
+
+    private final String symbol;
+    private final ByteBuffer records;
+    private final int size;
+    private final long loadedAt;
+
+    private KlineBlock(String symbol, ByteBuffer records, int size, long loadedAt) {
+        this.symbol = symbol;
+        this.records = records;
+        this.size = size;
+        this.loadedAt = loadedAt;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long sizeBytes() {
+        return (long) size * RECORD_BYTES;
+    }
+
+    long loadedAt() {
+        return loadedAt;
+    }
+
+    // Appends bars with afterOpenTime < open_time <= closeTime and close_time <= closeTime, the
+    // same predicate as KlineRepository.retrieveKlineDataAfter; returns how many were added
+    int collect(long afterOpenTime, long closeTime, int limit, List<Kline> out) {
+        int added = 0;
+        for (int i = firstAfter(afterOpenTime); i < size && added < limit; i++) {
+            int offset = i * RECORD_BYTES;
+            if (records.getLong(offset) > closeTime) {
+                break;
+            }
+            if (records.getLong(offset + 8) <= closeTime) {
+                out.add(decode(offset));
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private int firstAfter(long openTime) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (records.getLong(mid * RECORD_BYTES) <= openTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Kline decode(int offset) {
+        return new Kline(symbol,
+                records.getLong(offset),
+                records.getLong(offset + 8),
+                price(records.getLong(offset + 16)),
+                price(records.getLong(offset + 24)),
+                price(records.getLong(offset + 32)),
+                price(records.getLong(offset + 40)),
+                price(records.getLong(offset + 48)),
+                records.getLong(offset + 56));
+    }
+
+    private static BigDecimal price(long scaled) {
+        return BigDecimal.valueOf(scaled, STORED_SCALE).setScale(COLUMN_SCALE, RoundingMode.UNNECESSARY);
+    }
+
+    // Stages records on the heap while the month streams in, then copies them into a direct
+    // buffer of exactly the right size
+    static final class Builder {
+        private ByteBuffer staging = ByteBuffer.allocate(RECORD_BYTES * 1024);
+        private String symbol;
+        private int size;
+        private boolean representable = true;
+
+        void append(Kline kline) {
+            if (!representable) {
+                return;
+            }
+            try {
+                long open = scaled(kline.getOpenPrice());
+                long close = scaled(kline.getClosePrice());
+                long high = scaled(kline.getHighPrice());
+                long low = scaled(kline.getLowPrice());
+                long volume = scaled(kline.getVolume());
+                ensureCapacity();
+                staging.putLong(kline.getOpenTime()).putLong(kline.getCloseTime())
+                        .putLong(open).putLong(close).putLong(high).putLong(low).putLong(volume)
+                        .putLong(kline.getNumberOfTrades());
+                if (symbol == null) {
+                    symbol = kline.getSymbol();
+                }
+                size++;
+            } catch (ArithmeticException e) {
+                representable = false;
+            }
+        }
+
+        // null when some bar could not be stored exactly
+        KlineBlock build(long loadedAt) {
+            if (!representable) {
+                return null;
+            }
+            ByteBuffer records = ByteBuffer.allocateDirect(Math.max(1, size * RECORD_BYTES));
+            staging.flip();
+            records.put(staging);
+            return new KlineBlock(symbol, records, size, loadedAt);
+        }
+
+        private void ensureCapacity() {
+            if (staging.remaining() < RECORD_BYTES) {
+                ByteBuffer larger = ByteBuffer.allocate(staging.capacity() * 2);
+                staging.flip();
+                larger.put(staging);
+                staging = larger;
+            }
+        }
+
+        private static long scaled(BigDecimal value) {
+            return value.setScale(STORED_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.digitCurrencyPlatform.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// /actuator/klinecache: occupancy and hit counters of the off-heap series cache; DELETE empties it.
+// Needs klinecache in management.endpoints.web.exposure.include
+@Component
+@Endpoint(id = "klinecache")
+public class KlineCacheEndpoint {
+    private final KlineSeriesCache klineSeriesCache;
+
+    @Autowired
+    public KlineCacheEndpoint(KlineSeriesCache klineSeriesCache) {
+        this.klineSeriesCache = klineSeriesCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return klineSeriesCache.stats();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        klineSeriesCache.clear();
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.digitCurrencyPlatform.cache;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.SymbolMetadata;
+import com.example.digitCurrencyPlatform.repository.KlineRepository;
+import com.example.digitCurrencyPlatform.repository.KlineStreamReader;
+import com.example.digitCurrencyPlatform.service.KlineMetadataService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Off-heap read-through cache in front of KlineRepository for base-row reads. Series are held as
+// month blocks (see KlineBlock) under a byte budget with LRU eviction across all blocks, so a hot
+// symbol's recent months stay resident while its older history can be dropped. Blocks are
+// invalidated when this instance inserts into their month; the block holding the current month
+// is also reloaded after open-block-ttl-ms so inserts from other instances show up.
+// Direct buffers are released when the evicted block is garbage collected, so
+// -XX:MaxDirectMemorySize must leave headroom above app.kline.cache.max-bytes
+@Component
+public class KlineSeriesCache {
+    private final KlineRepository klineRepository;
+    private final KlineStreamReader klineStreamReader;
+    private final KlineMetadataService klineMetadataService;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long openBlockTtlMs;
+    private final Set<String> symbols;
+
+    // Access-ordered, so iteration starts at the least recently used block
+    private final LinkedHashMap<BlockKey, KlineBlock> blocks = new LinkedHashMap<>(64, 0.75f, true);
+    private final Set<BlockKey> uncacheable = ConcurrentHashMap.newKeySet();
+    private final Map<BlockKey, CompletableFuture<KlineBlock>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private long usedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loadedRows = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+
+    private record BlockKey(Exchange exchange, String symbol, YearMonth month) {
+    }
+
+    @Autowired
+    public KlineSeriesCache(KlineRepository klineRepository, KlineStreamReader klineStreamReader,
+                            KlineMetadataService klineMetadataService,
+                            @Value("${app.kline.cache.enabled:false}") boolean enabled,
+                            @Value("${app.kline.cache.max-bytes:1073741824}") long maxBytes,
+                            @Value("${app.kline.cache.open-block-ttl-ms:60000}") long openBlockTtlMs,
+                            @Value("${app.kline.cache.symbols:}") List<String> symbols) {
+        this.klineRepository = klineRepository;
+        this.klineStreamReader = klineStreamReader;
+        this.klineMetadataService = klineMetadataService;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.openBlockTtlMs = openBlockTtlMs;
+        this.symbols = symbols.stream()
+                .map(String::trim)
+                .filter(symbol -> !symbol.isEmpty())
+                .map(String::toUpperCase)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // Same contract as KlineRepository.retrieveKlineDataAfter
+    public List<Kline> retrieveKlineDataAfter(Exchange exchange, String symbol, long afterOpenTime, long closeTime, int limit) {
+        if (!caches(symbol)) {
+            return klineRepository.retrieveKlineDataAfter(exchange, symbol, afterOpenTime, closeTime, limit);
+        }
+        // Months before the first stored bar or after now hold nothing; the catalog may lag other
+        // instances, so without an entry the read simply goes to the database
+        Optional<SymbolMetadata> metadata = klineMetadataService.find(exchange, symbol);
+        if (metadata.isEmpty()) {
+            bypassed.incrementAndGet();
+            return klineRepository.retrieveKlineDataAfter(exchange, symbol, afterOpenTime, closeTime, limit);
+        }
+        long from = Math.max(afterOpenTime + 1, metadata.get().getFirstOpenTime());
+        long to = Math.min(closeTime, System.currentTimeMillis());
+
+        List<Kline> klines = new ArrayList<>(Math.min(limit, 1024));
+        for (YearMonth month = monthOf(from); from <= to && monthStart(month) <= to && klines.size() < limit;
+             month = month.plusMonths(1)) {
+            KlineBlock block = block(new BlockKey(exchange, symbol.toUpperCase(), month));
+            if (block == null) {
+                // Let the database answer the rest of the range exactly
+                bypassed.incrementAndGet();
+                klines.addAll(klineRepository.retrieveKlineDataAfter(exchange, symbol,
+                        Math.max(afterOpenTime, monthStart(month) - 1), closeTime, limit - klines.size()));
+                break;
+            }
+            block.collect(afterOpenTime, closeTime, limit - klines.size(), klines);
+        }
+        return klines;
+    }
+
+    public List<Kline> retrieveKlineDataWithStartAndEndTime(Exchange exchange, String symbol, long openTime,
+                                                            long closeTime, int limit) {
+        return retrieveKlineDataAfter(exchange, symbol, openTime - 1, closeTime, limit);
+    }
+
+    // Drops every cached month that overlaps [fromOpenTime, toOpenTime]. The generation bump and the
+    // removals share the lock putIfCurrent checks under, so a load racing this either lands first
+    // and is removed here, or sees the new generation and is discarded
+    public void invalidate(Exchange exchange, String symbol, long fromOpenTime, long toOpenTime) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            generation.incrementAndGet();
+            for (YearMonth month = monthOf(fromOpenTime); !month.isAfter(monthOf(toOpenTime)); month = month.plusMonths(1)) {
+                BlockKey key = new BlockKey(exchange, symbol.toUpperCase(), month);
+                uncacheable.remove(key);
+                if (remove(key)) {
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        blocks.clear();
+        uncacheable.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("maxBytes", maxBytes);
+        stats.put("usedBytes", usedBytes);
+        stats.put("blocks", blocks.size());
+        stats.put("series", blocks.keySet().stream().map(key -> key.exchange() + ":" + key.symbol()).distinct().count());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("loadedRows", loadedRows.get());
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("uncacheableBlocks", uncacheable.size());
+        stats.put("bypassedReads", bypassed.get());
+        return stats;
+    }
+
+    private boolean caches(String symbol) {
+        return enabled && (symbols.isEmpty() || symbols.contains(symbol.toUpperCase()));
+    }
+
+    // null when the month can't be cached; concurrent misses on one block share a single load
+    private KlineBlock block(BlockKey key) {
+        KlineBlock cached = get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        if (uncacheable.contains(key)) {
+            return null;
+        }
+        misses.incrementAndGet();
+        CompletableFuture<KlineBlock> load = new CompletableFuture<>();
+        CompletableFuture<KlineBlock> existing = loading.putIfAbsent(key, load);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            KlineBlock block = load(key);
+            load.complete(block);
+            return block;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key);
+        }
+    }
+
+    private KlineBlock load(BlockKey key) {
+        long generationAtStart = generation.get();
+        long loadedAt = System.currentTimeMillis();
+        KlineBlock.Builder builder = new KlineBlock.Builder();
+        long rows = klineStreamReader.forEachOpeningBetween(key.exchange(), key.symbol(),
+                monthStart(key.month()), monthStart(key.month().plusMonths(1)), builder::append);
+        KlineBlock block = builder.build(loadedAt);
+        if (block == null || block.sizeBytes() > maxBytes) {
+            uncacheable.add(key);
+            return null;
+        }
+        loadedRows.addAndGet(rows);
+        // If an insert invalidated something while this month streamed in, serve it but don't keep it
+        putIfCurrent(key, block, generationAtStart);
+        return block;
+    }
+
+    private synchronized KlineBlock get(BlockKey key) {
+        KlineBlock block = blocks.get(key);
+        // A block loaded before its month ended may be missing bars inserted elsewhere since
+        if (block != null && block.loadedAt() < monthStart(key.month().plusMonths(1))
+                && System.currentTimeMillis() - block.loadedAt() > openBlockTtlMs) {
+            blocks.remove(key);
+            usedBytes -= block.sizeBytes();
+            return null;
+        }
+        return block;
+    }
+
+    private synchronized void putIfCurrent(BlockKey key, KlineBlock block, long generationAtStart) {
+        if (generation.get() != generationAtStart) {
+            return;
+        }
+        KlineBlock previous = blocks.put(key, block);
+        if (previous != null) {
+            usedBytes -= previous.sizeBytes();
+        }
+        usedBytes += block.sizeBytes();
+        Iterator<Map.Entry<BlockKey, KlineBlock>> leastRecentlyUsed = blocks.entrySet().iterator();
+        while (usedBytes > maxBytes && leastRecentlyUsed.hasNext()) {
+            Map.Entry<BlockKey, KlineBlock> eldest = leastRecentlyUsed.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            usedBytes -= eldest.getValue().sizeBytes();
+            leastRecentlyUsed.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private synchronized boolean remove(BlockKey key) {
+        KlineBlock block = blocks.remove(key);
+        if (block != null) {
+            usedBytes -= block.sizeBytes();
+        }
+        return block != null;
+    }
+
+    private static YearMonth monthOf(long epochMillis) {
+        return YearMonth.from(Instant.ofEpochMilli(epochMillis).atOffset(ZoneOffset.UTC));
+    }
+
+    private static long monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.digitCurrencyPlatform.config;
+
+// Which pool the current thread's next statement should use; unset means WRITE
+public enum DataSourceRoute {
+    READ,
+    WRITE;
+
+    private static final ThreadLocal<DataSourceRoute> CURRENT = new ThreadLocal<>();
+
+    public static DataSourceRoute current() {
+        return CURRENT.get();
+    }
+
+    // Returns the previous route so callers can restore it for nested mapper calls
+    public static DataSourceRoute set(DataSourceRoute route) {
+        DataSourceRoute previous = CURRENT.get();
+        CURRENT.set(route);
+        return previous;
+    }
+
+    public static void restore(DataSourceRoute previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.digitCurrencyPlatform.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Splits the single default pool into a write pool for ingestion and a separately sized read
+// pool (optionally pointed at a replica), so a large backfill cannot starve API reads.
+// Each pool is its own HikariDataSource bean, so actuator reports hikaricp.* metrics per pool
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public HikariDataSource writeDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.write.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("kline-write");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource readDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.read.url:}") String replicaUrl,
+            @Value("${app.datasource.read.username:}") String replicaUsername,
+            @Value("${app.datasource.read.password:}") String replicaPassword,
+            @Value("${app.datasource.read.maximum-pool-size:20}") int maximumPoolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!replicaUrl.isBlank()) {
+            dataSource.setJdbcUrl(replicaUrl);
+        }
+        if (!replicaUsername.isBlank()) {
+            dataSource.setUsername(replicaUsername);
+            dataSource.setPassword(replicaPassword);
+        }
+        dataSource.setPoolName("kline-read");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        AbstractRoutingDataSource routingDataSource = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return DataSourceRoute.current();
+            }
+        };
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceRoute.WRITE, writeDataSource,
+                DataSourceRoute.READ, readDataSource));
+        // Flyway, bulk loads and anything outside a mapper call go to the write pool
+        routingDataSource.setDefaultTargetDataSource(writeDataSource);
+        return routingDataSource;
+    }
+}
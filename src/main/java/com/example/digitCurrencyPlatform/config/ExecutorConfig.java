@@ -0,0 +1,63 @@
+package com.example.digitCurrencyPlatform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Bounds how many per-symbol range scans run against the database at once
+    @Bean
+    public ThreadPoolTaskExecutor klineQueryExecutor(
+            @Value("${app.kline.bulk.max-concurrency:8}") int maxConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setThreadNamePrefix("kline-query-");
+        executor.initialize();
+        return executor;
+    }
+
+    // One thread per exchange in a multi-exchange fetch; each provider paces itself with its own rate limiter
+    @Bean
+    public ThreadPoolTaskExecutor klineFetchExecutor(
+            @Value("${app.kline.fetch.max-concurrency:4}") int maxConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setThreadNamePrefix("kline-fetch-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs watchlist syncs so a slow exchange never holds the shared scheduler thread. The queue is
+    // bounded: a sync that cannot be queued is skipped and the next tick catches it up
+    @Bean
+    public ThreadPoolTaskExecutor klineSyncExecutor(
+            @Value("${app.sync.max-concurrency:4}") int maxConcurrency,
+            @Value("${app.sync.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("kline-sync-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs exchange calls that may be hedged. No queue: when every thread is busy the primary
+    // call runs on the caller and no duplicate is sent
+    @Bean
+    public ThreadPoolTaskExecutor providerCallExecutor(
+            @Value("${app.provider.resilience.max-concurrency:16}") int maxConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("provider-call-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.digitCurrencyPlatform.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    // Existing databases already have kline_data without a schema history table; baseline them
+    // at version 0 so V1 still runs (it is CREATE TABLE IF NOT EXISTS) and later versions apply
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchema() {
+        return configuration -> configuration.baselineOnMigrate(true).baselineVersion("0");
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.digitCurrencyPlatform.config;
+
+import com.example.digitCurrencyPlatform.metrics.RequestTimingFilter;
+import com.example.digitCurrencyPlatform.metrics.SlowRequestLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RequestTimingConfig {
+
+    // Only the buffered read endpoints; the streaming bulk endpoint must not be wrapped
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(
+            SlowRequestLog slowRequestLog,
+            @Value("${app.diagnostics.server-timing.enabled:true}") boolean serverTimingEnabled) {
+        FilterRegistrationBean<RequestTimingFilter> registration =
+                new FilterRegistrationBean<>(new RequestTimingFilter(slowRequestLog, serverTimingEnabled));
+        registration.addUrlPatterns("/api/kline/retrieve", "/api/kline/indicators", "/api/portfolio/*");
+        return registration;
+    }
+}
@@ -1,15 +1,45 @@
 package com.example.digitCurrencyPlatform.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.support.HttpRequestWrapper;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
 
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(@Value("${app.exchange.endpoint-override:}") String endpointOverride) {
         RestTemplate restTemplate = new RestTemplate();
+        if (!endpointOverride.isBlank()) {
+            restTemplate.getInterceptors().add(endpointOverrideInterceptor(URI.create(endpointOverride)));
+        }
         return restTemplate;
     }
+
+    // Sends every exchange call to another host while keeping path and query, e.g. to point
+    // the providers at the stand-in exchange used by the load-test harness
+    private static ClientHttpRequestInterceptor endpointOverrideInterceptor(URI target) {
+        return (request, body, execution) -> {
+            URI rewritten = UriComponentsBuilder.fromUri(request.getURI())
+                    .scheme(target.getScheme())
+                    .host(target.getHost())
+                    .port(target.getPort())
+                    .build(true)
+                    .toUri();
+            HttpRequest redirected = new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return rewritten;
+                }
+            };
+            return execution.execute(redirected, body);
+        };
+    }
 }
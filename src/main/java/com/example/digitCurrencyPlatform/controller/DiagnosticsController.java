@@ -0,0 +1,34 @@
+package com.example.digitCurrencyPlatform.controller;
+
+import com.example.digitCurrencyPlatform.metrics.SlowRequestLog;
+import com.example.digitCurrencyPlatform.model.SlowRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+    private final SlowRequestLog slowRequestLog;
+
+    @Autowired
+    public DiagnosticsController(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @GetMapping("/slow-requests")
+    public ResponseEntity<List<SlowRequest>> slowRequests() {
+        return ResponseEntity.ok(slowRequestLog.snapshot());
+    }
+
+    @DeleteMapping("/slow-requests")
+    public ResponseEntity<Void> clearSlowRequests() {
+        slowRequestLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,26 +2,74 @@ package com.example.digitCurrencyPlatform.controller;
 
 
 import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.IngestionMode;
 import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.IndicatorPoint;
+import com.example.digitCurrencyPlatform.model.IngestionReport;
 import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.KlinePage;
+import com.example.digitCurrencyPlatform.model.RangeStatistics;
+import com.example.digitCurrencyPlatform.model.SymbolMetadata;
+import com.example.digitCurrencyPlatform.service.IndicatorService;
 import com.example.digitCurrencyPlatform.service.InputValidationService;
+import com.example.digitCurrencyPlatform.service.KlineDataVersions;
+import com.example.digitCurrencyPlatform.service.KlineDownsamplingService;
+import com.example.digitCurrencyPlatform.service.KlineMetadataService;
 import com.example.digitCurrencyPlatform.service.KlineService;
+import com.example.digitCurrencyPlatform.service.MultiExchangeFetchService;
+import com.example.digitCurrencyPlatform.service.RangeStatisticsService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/kline")
 public class KlineController {
+    static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+
     private final KlineService klineService;
     private final InputValidationService inputValidationService;
+    private final IndicatorService indicatorService;
+    private final ObjectMapper objectMapper;
+    private final MultiExchangeFetchService multiExchangeFetchService;
+    private final KlineDataVersions klineDataVersions;
+    private final KlineMetadataService klineMetadataService;
+    private final KlineDownsamplingService klineDownsamplingService;
+    private final RangeStatisticsService rangeStatisticsService;
+    private final long immutableAfterMs;
 
-    public KlineController(KlineService klineService, InputValidationService inputValidationService) {
+    public KlineController(KlineService klineService, InputValidationService inputValidationService,
+                           IndicatorService indicatorService, ObjectMapper objectMapper,
+                           MultiExchangeFetchService multiExchangeFetchService,
+                           KlineDataVersions klineDataVersions,
+                           KlineMetadataService klineMetadataService,
+                           KlineDownsamplingService klineDownsamplingService,
+                           RangeStatisticsService rangeStatisticsService,
+                           @Value("${app.http-cache.immutable-after-ms:3600000}") long immutableAfterMs) {
+        this.klineDataVersions = klineDataVersions;
+        this.klineMetadataService = klineMetadataService;
+        this.klineDownsamplingService = klineDownsamplingService;
+        this.rangeStatisticsService = rangeStatisticsService;
+        this.immutableAfterMs = immutableAfterMs;
+        this.multiExchangeFetchService = multiExchangeFetchService;
         this.klineService = klineService;
         this.inputValidationService = inputValidationService;
+        this.indicatorService = indicatorService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/fetch/{exchange}")
@@ -30,7 +78,8 @@ public class KlineController {
             @RequestParam String symbol,
             @RequestParam String interval,
             @RequestParam long startTime,
-            @RequestParam long endTime) {
+            @RequestParam long endTime,
+            @RequestParam(defaultValue = "AUTO") String mode) {
 
         // Comprehensive validation using InputValidationService
         inputValidationService.validateFetchRequest(exchange, symbol, interval, startTime, endTime);
@@ -38,11 +87,51 @@ public class KlineController {
         // Get validated enums
         Exchange exchangeEnum = inputValidationService.validateExchange(exchange);
         Interval intervalEnum = inputValidationService.validateInterval(interval);
+        IngestionMode ingestionMode = IngestionMode.fromString(mode);
 
-        klineService.fetchAndSaveKlines(exchange, symbol, intervalEnum, startTime, endTime, 500);
+        IngestionReport report = klineService.fetchAndSaveKlines(
+                exchangeEnum.name(), symbol, intervalEnum, startTime, endTime, 500, ingestionMode);
 
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body("Kline data fetch initiated for " + exchangeEnum.getDisplayName());
+                .body("Kline data fetch initiated for " + exchangeEnum.getDisplayName() + ": " +
+                        report.getRows() + " rows in " + report.getElapsedMillis() + " ms (" +
+                        report.getRowsPerSecond() + " rows/s via " + report.getMode() + ")");
+    }
+
+
+    // Fetches the same symbol and range from several exchanges concurrently, e.g.
+    // /api/kline/fetch?exchanges=BINANCE_US,COINBASE,KRAKEN&symbol=...; each exchange reports separately
+    @PostMapping("/fetch")
+    public ResponseEntity<Map<String, Object>> fetchKlinesFromExchanges(
+            @RequestParam List<String> exchanges,
+            @RequestParam String symbol,
+            @RequestParam String interval,
+            @RequestParam long startTime,
+            @RequestParam long endTime,
+            @RequestParam(defaultValue = "AUTO") String mode) {
+
+        List<Exchange> exchangeEnums = inputValidationService.validateExchanges(exchanges);
+        for (Exchange exchange : exchangeEnums) {
+            inputValidationService.validateFetchRequest(exchange.name(), symbol, interval, startTime, endTime);
+        }
+        Interval intervalEnum = inputValidationService.validateInterval(interval);
+        IngestionMode ingestionMode = IngestionMode.fromString(mode);
+
+        Map<Exchange, CompletableFuture<IngestionReport>> results = multiExchangeFetchService.fetchAndSaveKlines(
+                exchangeEnums, symbol.trim().toUpperCase(), intervalEnum, startTime, endTime, ingestionMode);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        boolean anySucceeded = false;
+        for (Map.Entry<Exchange, CompletableFuture<IngestionReport>> entry : results.entrySet()) {
+            try {
+                response.put(entry.getKey().name(), entry.getValue().join());
+                anySucceeded = true;
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                response.put(entry.getKey().name(), Map.of("error", String.valueOf(cause.getMessage())));
+            }
+        }
+        return ResponseEntity.status(anySucceeded ? HttpStatus.CREATED : HttpStatus.BAD_GATEWAY).body(response);
     }
 
 
@@ -53,7 +142,10 @@ public class KlineController {
             @RequestParam String baseInterval,
             @RequestParam long startTime,
             @RequestParam long endTime,
-            @RequestParam(defaultValue = "100") int limit) {
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) String exchange,
+            WebRequest webRequest) {
 
         // Comprehensive validation using InputValidationService
         inputValidationService.validateRetrieveRequest(symbol, interval, baseInterval, startTime, endTime, limit);
@@ -62,18 +154,185 @@ public class KlineController {
         Interval intervalEnum = inputValidationService.validateInterval(interval);
         Interval baseIntervalEnum = inputValidationService.validateInterval(baseInterval);
 
-        List<Kline> klines = klineService.retrieveKlinesWithDifferentIntervals(
-                symbol, intervalEnum, startTime, endTime, limit, baseIntervalEnum);
+        // COMPOSITE is a pseudo-exchange: the volume-weighted series across every venue
+        boolean composite = KlineService.COMPOSITE_EXCHANGE.equalsIgnoreCase(exchange);
+        Exchange exchangeEnum = composite ? null : inputValidationService.resolveExchange(exchange);
+        Map<Exchange, String> sources = composite ? klineService.compositeSeries(symbol) : Map.of(exchangeEnum, symbol);
+
+        // Answer revalidations before touching the database
+        String etag = klineDataVersions.etag(sources, symbol, composite ? KlineService.COMPOSITE_EXCHANGE : "",
+                intervalEnum, baseIntervalEnum, startTime, endTime, limit, pageToken);
+        // The client's copy may be a partial page, so a revalidation never upgrades it to immutable
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+
+        KlinePage page = composite
+                ? klineService.retrieveCompositeKlinePage(
+                        symbol, intervalEnum, startTime, endTime, limit, baseIntervalEnum, pageToken)
+                : klineService.retrieveKlinePage(exchangeEnum,
+                        symbol, intervalEnum, startTime, endTime, limit, baseIntervalEnum, pageToken);
+
+        // The continuation token travels in a header so the response body stays a plain kline list
+        CacheControl cacheControl = cacheControl(sources, intervalEnum, startTime, endTime, pageToken, page);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(cacheControl);
+        if (page.getNextPageToken() != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+        }
+        return response.body(page.getKlines());
+    }
+
+    // Only bars with close_time <= endTime are returned, so once endTime has passed (plus a grace
+    // period for late ingestion) a complete page can no longer change. A page is complete when it
+    // is the last one, every source's catalog spans the whole range and, for a first page, it holds
+    // a bar for every interval; empty, truncated or gappy pages are always revalidated
+    private CacheControl cacheControl(Map<Exchange, String> sources, Interval interval, long startTime,
+                                      long endTime, String pageToken, KlinePage page) {
+        if (endTime + immutableAfterMs >= System.currentTimeMillis()
+                || page.getKlines().isEmpty() || page.getNextPageToken() != null) {
+            return CacheControl.noCache();
+        }
+        if (pageToken == null && page.getKlines().size() < (endTime - startTime + 1) / interval.getMilliseconds()) {
+            return CacheControl.noCache();
+        }
+        for (Map.Entry<Exchange, String> source : sources.entrySet()) {
+            boolean covered = klineMetadataService.find(source.getKey(), source.getValue())
+                    .filter(metadata -> metadata.getFirstOpenTime() <= startTime && metadata.getLastCloseTime() >= endTime)
+                    .isPresent();
+            if (!covered) {
+                return CacheControl.noCache();
+            }
+        }
+        return CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+    }
+
+
+    // Streams {"SYMBOL": [klines...], ...} in request order, flushing each symbol as soon as
+    // its scan and aggregation finish; a failing symbol is reported inline as {"error": ...}
+    @GetMapping("/retrieve/bulk")
+    public ResponseEntity<StreamingResponseBody> retrieveAggregatedKlinesBulk(
+            @RequestParam List<String> symbols,
+            @RequestParam String interval,
+            @RequestParam String baseInterval,
+            @RequestParam long startTime,
+            @RequestParam long endTime,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String exchange) {
+
+        List<String> validatedSymbols = inputValidationService.validateBulkRetrieveRequest(
+                symbols, interval, baseInterval, startTime, endTime, limit);
+        Exchange exchangeEnum = inputValidationService.resolveExchange(exchange);
+
+        Interval intervalEnum = inputValidationService.validateInterval(interval);
+        Interval baseIntervalEnum = inputValidationService.validateInterval(baseInterval);
+
+        Map<String, CompletableFuture<List<Kline>>> results = klineService.retrieveKlinesForSymbols(
+                exchangeEnum, validatedSymbols, intervalEnum, startTime, endTime, limit, baseIntervalEnum);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                for (Map.Entry<String, CompletableFuture<List<Kline>>> entry : results.entrySet()) {
+                    generator.writeFieldName(entry.getKey());
+                    try {
+                        objectMapper.writeValue(generator, entry.getValue().join());
+                    } catch (CompletionException e) {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        generator.writeStartObject();
+                        generator.writeStringField("error", cause.getMessage());
+                        generator.writeEndObject();
+                    }
+                    generator.flush();
+                }
+                generator.writeEndObject();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+
+    // e.g. /api/kline/indicators?...&indicators=sma:20,rsi:14,macd:12:26:9,bb:20:2
+    @GetMapping("/indicators")
+    public ResponseEntity<List<IndicatorPoint>> retrieveIndicators(
+            @RequestParam String symbol,
+            @RequestParam String interval,
+            @RequestParam String baseInterval,
+            @RequestParam long startTime,
+            @RequestParam long endTime,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam List<String> indicators,
+            @RequestParam(required = false) String exchange) {
+
+        inputValidationService.validateRetrieveRequest(symbol, interval, baseInterval, startTime, endTime, limit);
+        Exchange exchangeEnum = inputValidationService.resolveExchange(exchange);
+
+        Interval intervalEnum = inputValidationService.validateInterval(interval);
+        Interval baseIntervalEnum = inputValidationService.validateInterval(baseInterval);
+
+        List<IndicatorPoint> points = indicatorService.calculateIndicators(
+                exchangeEnum, symbol, intervalEnum, baseIntervalEnum, startTime, endTime, limit, indicators);
 
-        return ResponseEntity.ok(klines);
+        return ResponseEntity.ok(points);
     }
 
+    // About `points` bars for any range, chosen by LTTB on the close price; every returned bar is a stored one
+    @GetMapping("/downsample")
+    public ResponseEntity<List<Kline>> downsampleKlines(
+            @RequestParam String symbol,
+            @RequestParam long startTime,
+            @RequestParam long endTime,
+            @RequestParam(defaultValue = "1000") int points,
+            @RequestParam(required = false) String exchange) {
+        inputValidationService.validateDownsampleRequest(symbol, startTime, endTime, points);
+        Exchange exchangeEnum = inputValidationService.resolveExchange(exchange);
+        return ResponseEntity.ok(klineDownsamplingService.downsampleLttb(exchangeEnum, symbol, startTime, endTime, points));
+    }
+
+    // Same point budget as /downsample, but each bar folds its whole slice so highs and lows are preserved
+    @GetMapping("/downsample/ohlc")
+    public ResponseEntity<List<Kline>> downsampleOhlcKlines(
+            @RequestParam String symbol,
+            @RequestParam long startTime,
+            @RequestParam long endTime,
+            @RequestParam(defaultValue = "1000") int points,
+            @RequestParam(required = false) String exchange) {
+        inputValidationService.validateDownsampleRequest(symbol, startTime, endTime, points);
+        Exchange exchangeEnum = inputValidationService.resolveExchange(exchange);
+        return ResponseEntity.ok(klineDownsamplingService.downsampleOhlc(exchangeEnum, symbol, startTime, endTime, points));
+    }
+
+    // Open, close, highest high, lowest low, volume and trades over the stored bars opening in
+    // [startTime, endTime], answered from an in-memory index instead of a scan
+    @GetMapping("/range-stats")
+    public ResponseEntity<RangeStatistics> retrieveRangeStatistics(
+            @RequestParam String symbol,
+            @RequestParam long startTime,
+            @RequestParam long endTime,
+            @RequestParam(required = false) String exchange) {
+        inputValidationService.validateRangeStatisticsRequest(symbol, startTime, endTime);
+        Exchange exchangeEnum = inputValidationService.resolveExchange(exchange);
+        return ResponseEntity.ok(rangeStatisticsService.statistics(exchangeEnum, symbol, startTime, endTime));
+    }
+
+    // What is stored locally according to the metadata catalog, one entry per (exchange, symbol)
+    @GetMapping("/coverage")
+    public ResponseEntity<List<SymbolMetadata>> retrieveCoverage(
+            @RequestParam(required = false) String exchange,
+            @RequestParam(required = false) String symbol) {
+        if (symbol != null) {
+            Exchange exchangeEnum = inputValidationService.resolveExchange(exchange);
+            return ResponseEntity.ok(klineMetadataService.find(exchangeEnum, symbol).map(List::of).orElse(List.of()));
+        }
+        Exchange exchangeEnum = exchange == null ? null : inputValidationService.resolveExchange(exchange);
+        return ResponseEntity.ok(klineMetadataService.findAll(exchangeEnum));
+    }
 
     @GetMapping("/symbols")
     public ResponseEntity<Map<String, Object>> fetchSymbols() {
         Map<String, Object> response = Map.of(
                 "message", "Use /symbols/{exchange} for specific exchange symbols or /symbols/all for all exchanges",
-                "availableExchanges", List.of("BINANCE_US")
+                "availableExchanges", klineService.getAvailableProviders()
         );
         return ResponseEntity.ok(response);
     }
@@ -1,14 +1,23 @@
 package com.example.digitCurrencyPlatform.controller;
 
 
+import com.example.digitCurrencyPlatform.enums.Exchange;
 import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.enums.SimulationMethod;
+import com.example.digitCurrencyPlatform.model.CorrelationMatrix;
 import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.MonteCarloSimulation;
+import com.example.digitCurrencyPlatform.model.PortfolioAnalysis;
 import com.example.digitCurrencyPlatform.model.Position;
+import com.example.digitCurrencyPlatform.service.CorrelationService;
+import com.example.digitCurrencyPlatform.service.InputValidationService;
+import com.example.digitCurrencyPlatform.service.MonteCarloService;
 import com.example.digitCurrencyPlatform.service.PortfolioService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.math.BigDecimal;
@@ -19,19 +28,85 @@ import java.util.List;
 @RequestMapping("/api/portfolio")
 public class PortfolioController {
     private final PortfolioService portfolioService;
+    private final InputValidationService inputValidationService;
+    private final CorrelationService correlationService;
+    private final MonteCarloService monteCarloService;
 
     @Autowired
-    public PortfolioController(PortfolioService portfolioService) {
+    public PortfolioController(PortfolioService portfolioService, InputValidationService inputValidationService,
+                               CorrelationService correlationService, MonteCarloService monteCarloService) {
         this.portfolioService = portfolioService;
+        this.inputValidationService = inputValidationService;
+        this.correlationService = correlationService;
+        this.monteCarloService = monteCarloService;
     }
 
     @GetMapping("/test")
-    public ResponseEntity<List<Kline>> testPortfolio() {
+    public ResponseEntity<List<Kline>> testPortfolio(@RequestParam(required = false) String exchange) {
+        Exchange exchangeEnum = inputValidationService.resolveExchange(exchange);
         List<Position> positions = new ArrayList<>();
         positions.add(new Position("BTCUSDT", new BigDecimal("0.5")));
         positions.add(new Position("ETHUSDT", new BigDecimal("0.5")));
-        List<Kline> portfolioKlines = portfolioService.calculatePortfolioKlines(positions, new BigDecimal(100000000), 1752979919000L, 1753066319000L, Interval.FIVE_MINUTES);
+        List<Kline> portfolioKlines = portfolioService.calculatePortfolioKlines(exchangeEnum, positions, new BigDecimal(100000000), 1752979919000L, 1753066319000L, Interval.FIVE_MINUTES);
         return ResponseEntity.ok(portfolioKlines);
     }
 
+    // Portfolio klines for the given weights plus drawdown, volatility, Sharpe/Sortino and VaR/CVaR
+    // of their bar-to-bar returns
+    @GetMapping("/analyze")
+    public ResponseEntity<PortfolioAnalysis> analyzePortfolio(
+            @RequestParam List<String> symbols,
+            @RequestParam List<BigDecimal> weights,
+            @RequestParam BigDecimal totalValue,
+            @RequestParam long startTime,
+            @RequestParam long endTime,
+            @RequestParam(defaultValue = "1h") String interval,
+            @RequestParam(required = false) String exchange) {
+        List<Position> positions = inputValidationService.validatePortfolioRequest(
+                symbols, weights, totalValue, interval, startTime, endTime);
+        Exchange exchangeEnum = inputValidationService.resolveExchange(exchange);
+        return ResponseEntity.ok(portfolioService.analyzePortfolio(exchangeEnum, positions, totalValue, startTime, endTime,
+                inputValidationService.validateInterval(interval)));
+    }
+
+    // Percentile bands of future portfolio value, one step per interval, simulated from the
+    // symbols' returns at that interval over [startTime, endTime]. Pass the returned seed to rerun
+    @GetMapping("/simulate")
+    public ResponseEntity<MonteCarloSimulation> simulatePortfolio(
+            @RequestParam List<String> symbols,
+            @RequestParam List<BigDecimal> weights,
+            @RequestParam BigDecimal totalValue,
+            @RequestParam long startTime,
+            @RequestParam long endTime,
+            @RequestParam(defaultValue = "1h") String interval,
+            @RequestParam(defaultValue = "GBM") String method,
+            @RequestParam(defaultValue = "10000") int paths,
+            @RequestParam(defaultValue = "100") int steps,
+            @RequestParam(defaultValue = "24") int blockSize,
+            @RequestParam(required = false) Long seed,
+            @RequestParam(required = false) String exchange) {
+        List<Position> positions = inputValidationService.validatePortfolioRequest(
+                symbols, weights, totalValue, interval, startTime, endTime);
+        inputValidationService.validateSimulationRequest(paths, steps, blockSize);
+        SimulationMethod simulationMethod = SimulationMethod.fromString(method);
+        Exchange exchangeEnum = inputValidationService.resolveExchange(exchange);
+        return ResponseEntity.ok(monteCarloService.simulate(exchangeEnum, positions, totalValue,
+                inputValidationService.validateInterval(interval), startTime, endTime,
+                simulationMethod, paths, steps, blockSize, seed));
+    }
+
+    // Covariance and correlation of log returns across symbols at the given interval
+    @GetMapping("/correlation")
+    public ResponseEntity<CorrelationMatrix> correlationMatrix(
+            @RequestParam List<String> symbols,
+            @RequestParam long startTime,
+            @RequestParam long endTime,
+            @RequestParam(defaultValue = "1h") String interval,
+            @RequestParam(required = false) String exchange) {
+        List<String> validatedSymbols = inputValidationService.validateCorrelationRequest(symbols, interval, startTime, endTime);
+        Exchange exchangeEnum = inputValidationService.resolveExchange(exchange);
+        return ResponseEntity.ok(correlationService.correlationMatrix(exchangeEnum, validatedSymbols,
+                inputValidationService.validateInterval(interval), startTime, endTime));
+    }
+
 }
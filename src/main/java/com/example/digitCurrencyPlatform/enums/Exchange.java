@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Getter
@@ -36,11 +38,11 @@ public enum Exchange {
             "https://api.exchange.coinbase.com",
             "https://api.exchange.coinbase.com/products",
             "https://api.exchange.coinbase.com/products/{symbol}/candles",
-            10,    // requests per second (much more restrictive)
+            600,   // requests per minute (10 per second)
             300,   // max candles per request
             Duration.ofSeconds(60),
             Set.of("1m", "5m", "15m", "1h", "6h", "1d"),
-            false
+            true
     ),
 
     KRAKEN(
@@ -48,11 +50,11 @@ public enum Exchange {
             "https://api.kraken.com/0/public",
             "https://api.kraken.com/0/public/AssetPairs",
             "https://api.kraken.com/0/public/OHLC",
-            1,     // 1 request per second for public endpoints
+            60,    // requests per minute (1 per second for public endpoints)
             720,   // max data points
             Duration.ofMinutes(1),
             Set.of("1m", "5m", "15m", "30m", "1h", "4h", "1d", "1w"),
-            false
+            true
     );
 
 
@@ -66,6 +68,10 @@ public enum Exchange {
     private final Set<String> supportedIntervals;
     private final boolean implemented;
 
+    // Longest first, so USDT is not read as a USD pair
+    private static final List<String> QUOTE_ASSETS = List.of("USDT", "USDC", "USD", "EUR", "GBP", "BTC", "XBT", "ETH");
+    private static final Map<String, String> KRAKEN_ASSETS = Map.of("BTC", "XBT", "DOGE", "XDG");
+
 
     public static Exchange fromString(String name) {
         for (Exchange exchange : Exchange.values()) {
@@ -81,6 +87,37 @@ public enum Exchange {
         return Set.of("BINANCE", "BINANCE_US", "COINBASE", "KRAKEN");
     }
 
+    // The symbol this exchange stores the same market under, e.g. BTCUSD is BTCUSDT on Binance and
+    // XBTUSD on Kraken. USD and USDT are treated as one quote; unrecognised symbols pass through
+    public String storedSymbol(String symbol) {
+        String upper = symbol.toUpperCase();
+        for (String quoteAsset : QUOTE_ASSETS) {
+            if (upper.length() > quoteAsset.length() && upper.endsWith(quoteAsset)) {
+                String base = commonAsset(upper.substring(0, upper.length() - quoteAsset.length()));
+                String quote = commonAsset(quoteAsset);
+                return switch (this) {
+                    case BINANCE, BINANCE_US -> base + ("USD".equals(quote) ? "USDT" : quote);
+                    case COINBASE -> base + ("USDT".equals(quote) ? "USD" : quote);
+                    case KRAKEN -> krakenAsset(base) + krakenAsset("USDT".equals(quote) ? "USD" : quote);
+                };
+            }
+        }
+        return upper;
+    }
+
+    private static String commonAsset(String asset) {
+        for (Map.Entry<String, String> alias : KRAKEN_ASSETS.entrySet()) {
+            if (alias.getValue().equals(asset)) {
+                return alias.getKey();
+            }
+        }
+        return asset;
+    }
+
+    private static String krakenAsset(String asset) {
+        return KRAKEN_ASSETS.getOrDefault(asset, asset);
+    }
+
     public boolean supportsInterval(String interval) {
         return supportedIntervals.contains(interval);
     }
@@ -0,0 +1,21 @@
+package com.example.digitCurrencyPlatform.enums;
+
+import com.example.digitCurrencyPlatform.model.exception.InputInvalidException;
+
+public enum IngestionMode {
+    // Multi-row INSERT per fetched batch through KlineRepository.batchInsert
+    BATCH_INSERT,
+    // One LOAD DATA LOCAL INFILE stream for the whole job
+    BULK_LOAD,
+    // BULK_LOAD for large jobs when it is enabled, BATCH_INSERT otherwise
+    AUTO;
+
+    public static IngestionMode fromString(String value) {
+        for (IngestionMode mode : IngestionMode.values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new InputInvalidException("Invalid ingestion mode '" + value + "'. Supported modes: BATCH_INSERT, BULK_LOAD, AUTO");
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.digitCurrencyPlatform.enums;
+
+public enum QuarantineReason {
+    // Exchange row could not be parsed into a Kline at all
+    UNPARSEABLE,
+    MISSING_FIELD,
+    SYMBOL_MISMATCH,
+    // Close time not after open time
+    INVALID_TIME_RANGE,
+    // Bar duration does not match the requested interval
+    INTERVAL_MISMATCH,
+    NON_POSITIVE_PRICE,
+    NEGATIVE_VOLUME,
+    // High/low do not bound open and close
+    OHLC_INCONSISTENT,
+    DUPLICATE_OPEN_TIME,
+    OUT_OF_ORDER
+}
@@ -0,0 +1,20 @@
+package com.example.digitCurrencyPlatform.enums;
+
+import com.example.digitCurrencyPlatform.model.exception.InputInvalidException;
+
+public enum SimulationMethod {
+    // Correlated geometric Brownian motion with the historical mean and covariance of log returns
+    GBM,
+    // Moving-block bootstrap: consecutive rows of historical returns, so cross-asset and
+    // short-range serial dependence survive
+    BOOTSTRAP;
+
+    public static SimulationMethod fromString(String value) {
+        for (SimulationMethod method : SimulationMethod.values()) {
+            if (method.name().equalsIgnoreCase(value.trim())) {
+                return method;
+            }
+        }
+        throw new InputInvalidException("Invalid simulation method '" + value + "'. Supported methods: GBM, BOOTSTRAP");
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.digitCurrencyPlatform.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Owns every application meter. Meters are resolved once per tag combination and cached, so
+// the hot paths only pay for a map lookup and an atomic add
+@Component
+public class KlineMetrics {
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public KlineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // For code constructed outside the Spring context (benchmarks, tests)
+    public static KlineMetrics noop() {
+        return new KlineMetrics(new SimpleMeterRegistry());
+    }
+
+    public Timer methodTimer(String className, String method, boolean sampled) {
+        return timers.computeIfAbsent("method|" + className + "|" + method + "|" + sampled, key ->
+                Timer.builder("kline.service.method")
+                        .description("Service method latency")
+                        .tag("class", className)
+                        .tag("method", method)
+                        .tag("sampled", String.valueOf(sampled))
+                        .publishPercentiles(PERCENTILES)
+                        .register(registry));
+    }
+
+    public void recordProviderRequest(String exchange, String operation, long nanos, Throwable error) {
+        String outcome = error == null ? "success" : "error";
+        timers.computeIfAbsent("provider|" + exchange + "|" + operation + "|" + outcome, key ->
+                Timer.builder("kline.provider.requests")
+                        .description("Exchange API request latency")
+                        .tag("exchange", exchange)
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .publishPercentiles(PERCENTILES)
+                        .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            String type = error.getClass().getSimpleName();
+            counter("kline.provider.errors", "exchange", exchange, "operation", operation, "exception", type).increment();
+        }
+    }
+
+    public void recordRowsFetched(String exchange, long rows) {
+        counter("kline.rows.fetched", "exchange", exchange).increment(rows);
+    }
+
+    public void recordRowsInserted(String mode, long rows) {
+        counter("kline.rows.inserted", "mode", mode).increment(rows);
+    }
+
+    public void recordSymbolCacheHit(String provider) {
+        counter("kline.symbol.cache", "provider", provider, "result", "hit").increment();
+    }
+
+    public void recordSymbolCacheMiss(String provider) {
+        counter("kline.symbol.cache", "provider", provider, "result", "miss").increment();
+    }
+
+    // path is "jvm" or "database". The jvm figure counts the base rows read; the database figure is the
+    // base rows the requested range spans, capped at the rows the page needs, since the grouped query
+    // never returns them
+    public void recordAggregationRows(String path, long rows) {
+        summaries.computeIfAbsent(path, key ->
+                DistributionSummary.builder("kline.aggregation.rows")
+                        .description("Base rows collapsed per aggregation")
+                        .baseUnit("rows")
+                        .tag("path", path)
+                        .publishPercentiles(PERCENTILES)
+                        .register(registry)).record(rows);
+    }
+
+    // lagMillis is polled on scrape; return NaN while the lag is unknown
+    public void registerSyncLag(String exchange, String symbol, String interval, Supplier<Number> lagMillis) {
+        TimeGauge.builder("kline.sync.lag", lagMillis, TimeUnit.MILLISECONDS)
+                .description("Time since the close of the newest synced bar")
+                .tags("exchange", exchange, "symbol", symbol, "interval", interval)
+                .register(registry);
+    }
+
+    public void recordSyncRun(String exchange, String symbol, String outcome, long rows) {
+        counter("kline.sync.runs", "exchange", exchange, "symbol", symbol, "outcome", outcome).increment();
+        counter("kline.sync.rows", "exchange", exchange, "symbol", symbol).increment(rows);
+    }
+
+    // 0 = closed, 1 = half-open, 2 = open
+    public void registerCircuitState(String exchange, Supplier<Number> state) {
+        Gauge.builder("kline.provider.circuit.state", state)
+                .description("Exchange circuit breaker state (0 closed, 1 half-open, 2 open)")
+                .tag("exchange", exchange)
+                .register(registry);
+    }
+
+    // thresholdNanos is polled on scrape; return NaN until enough calls have been observed
+    public void registerHedgeThreshold(String exchange, String operation, Supplier<Number> thresholdNanos) {
+        TimeGauge.builder("kline.provider.hedge.threshold", thresholdNanos, TimeUnit.NANOSECONDS)
+                .description("Latency after which a duplicate exchange request is sent")
+                .tags("exchange", exchange, "operation", operation)
+                .register(registry);
+    }
+
+    public void recordProviderRetry(String exchange, String operation) {
+        counter("kline.provider.retries", "exchange", exchange, "operation", operation).increment();
+    }
+
+    // winner is "primary" or "hedge"
+    public void recordProviderHedge(String exchange, String operation, String winner) {
+        counter("kline.provider.hedges", "exchange", exchange, "operation", operation, "winner", winner).increment();
+    }
+
+    public void recordCircuitRejection(String exchange) {
+        counter("kline.provider.circuit.rejections", "exchange", exchange).increment();
+    }
+
+    private Counter counter(String name, String... tags) {
+        return counters.computeIfAbsent(name + "|" + String.join("|", tags), key ->
+                Counter.builder(name).tags(tags).register(registry));
+    }
+}
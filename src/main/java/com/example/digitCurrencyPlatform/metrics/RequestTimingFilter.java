@@ -0,0 +1,59 @@
+package com.example.digitCurrencyPlatform.metrics;
+
+import com.example.digitCurrencyPlatform.model.SlowRequest;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Opens a RequestTimings scope around the request. The body is buffered so the Server-Timing
+// header, which includes serialization, can still be set after the controller has written it
+public class RequestTimingFilter extends OncePerRequestFilter {
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final SlowRequestLog slowRequestLog;
+    private final boolean serverTimingEnabled;
+
+    public RequestTimingFilter(SlowRequestLog slowRequestLog, boolean serverTimingEnabled) {
+        this.slowRequestLog = slowRequestLog;
+        this.serverTimingEnabled = serverTimingEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            filterChain.doFilter(request, wrappedResponse);
+        } finally {
+            RequestTimings.clear();
+            timings.finish();
+            if (serverTimingEnabled) {
+                wrappedResponse.setHeader(SERVER_TIMING_HEADER, timings.toServerTimingHeader());
+            }
+            slowRequestLog.offer(new SlowRequest(
+                    System.currentTimeMillis(),
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    parameters(request),
+                    wrappedResponse.getStatus(),
+                    RequestTimings.toMillis(timings.getTotalNanos()),
+                    timings.getPhaseMillis(),
+                    timings.getRows()));
+            wrappedResponse.copyBodyToResponse();
+        }
+    }
+
+    private Map<String, String> parameters(HttpServletRequest request) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        request.getParameterMap().forEach((name, values) -> parameters.put(name, String.join(",", values)));
+        return parameters;
+    }
+}
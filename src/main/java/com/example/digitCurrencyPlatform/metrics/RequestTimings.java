@@ -0,0 +1,101 @@
+package com.example.digitCurrencyPlatform.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+// Phase timings for the request bound to the current thread. Everything is a no-op when no
+// request is being timed, so services can record phases unconditionally
+public final class RequestTimings {
+    public static final String VALIDATION = "validation";
+    public static final String DB = "db";
+    public static final String AGGREGATION = "aggregation";
+    public static final String SERIALIZATION = "serialization";
+    public static final String OTHER = "other";
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private long serializationStartNanos;
+    private long totalNanos;
+    private long rows;
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static void record(String phase, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.phaseNanos.merge(phase, nanos, Long::sum);
+        }
+    }
+
+    public static void addRows(long rows) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.rows += rows;
+        }
+    }
+
+    static void markSerializationStart() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    // Closes the request: serialization runs from the body-write mark to the end, and whatever
+    // no phase claimed is reported as "other"
+    void finish() {
+        long endNanos = System.nanoTime();
+        totalNanos = endNanos - startNanos;
+        if (serializationStartNanos > 0) {
+            phaseNanos.merge(SERIALIZATION, endNanos - serializationStartNanos, Long::sum);
+        }
+        long claimed = phaseNanos.values().stream().mapToLong(Long::longValue).sum();
+        if (totalNanos > claimed) {
+            phaseNanos.put(OTHER, totalNanos - claimed);
+        }
+    }
+
+    long getTotalNanos() {
+        return totalNanos;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    Map<String, Double> getPhaseMillis() {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        phaseNanos.forEach((phase, nanos) -> millis.put(phase, toMillis(nanos)));
+        return millis;
+    }
+
+    // e.g. validation;dur=1.203, db;dur=35.870, serialization;dur=4.112, total;dur=42.010
+    String toServerTimingHeader() {
+        StringJoiner header = new StringJoiner(", ");
+        phaseNanos.forEach((phase, nanos) -> header.add(phase + ";dur=" + toMillis(nanos)));
+        header.add("total;dur=" + toMillis(totalNanos));
+        return header.toString();
+    }
+
+    static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
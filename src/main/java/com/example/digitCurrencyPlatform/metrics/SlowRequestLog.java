@@ -0,0 +1,66 @@
+package com.example.digitCurrencyPlatform.metrics;
+
+import com.example.digitCurrencyPlatform.model.SlowRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Keeps the N slowest timed requests since startup. A min-heap on total time means the
+// fastest retained entry is evicted first, and requests faster than it skip the lock entirely
+@Component
+public class SlowRequestLog {
+    private static final Comparator<SlowRequest> BY_TOTAL = Comparator.comparingDouble(SlowRequest::getTotalMillis);
+
+    private final int capacity;
+    private final double minMillis;
+    private final PriorityQueue<SlowRequest> slowest;
+    private volatile double admissionMillis;
+
+    @Autowired
+    public SlowRequestLog(@Value("${app.diagnostics.slow-requests.size:50}") int capacity,
+                          @Value("${app.diagnostics.slow-requests.min-ms:0}") double minMillis) {
+        this.capacity = capacity;
+        this.minMillis = minMillis;
+        this.slowest = new PriorityQueue<>(Math.max(1, capacity), BY_TOTAL);
+        this.admissionMillis = minMillis;
+    }
+
+    public void offer(SlowRequest request) {
+        if (capacity <= 0 || request.getTotalMillis() <= admissionMillis) {
+            return;
+        }
+        synchronized (slowest) {
+            if (slowest.size() < capacity) {
+                slowest.add(request);
+            } else if (request.getTotalMillis() > slowest.peek().getTotalMillis()) {
+                slowest.poll();
+                slowest.add(request);
+            }
+            if (slowest.size() == capacity) {
+                admissionMillis = Math.max(minMillis, slowest.peek().getTotalMillis());
+            }
+        }
+    }
+
+    // Slowest first
+    public List<SlowRequest> snapshot() {
+        List<SlowRequest> requests;
+        synchronized (slowest) {
+            requests = new ArrayList<>(slowest);
+        }
+        requests.sort(BY_TOTAL.reversed());
+        return requests;
+    }
+
+    public void clear() {
+        synchronized (slowest) {
+            slowest.clear();
+            admissionMillis = minMillis;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Sample covariance and correlation of per-interval log returns, rows and columns in symbols
+// order. observations is the number of returns used; a correlation is null when either series
+// has zero variance
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CorrelationMatrix {
+    private String exchange;
+    private List<String> symbols;
+    private String interval;
+    private long startTime;
+    private long endTime;
+    private int observations;
+    private double[][] covariance;
+    private Double[][] correlation;
+}
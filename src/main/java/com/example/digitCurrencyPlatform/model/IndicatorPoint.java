@@ -0,0 +1,18 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class IndicatorPoint {
+    private Long openTime;
+    private Long closeTime;
+    private BigDecimal closePrice;
+    private Map<String, BigDecimal> values;
+}
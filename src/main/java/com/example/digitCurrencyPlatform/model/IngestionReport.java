@@ -0,0 +1,22 @@
+package com.example.digitCurrencyPlatform.model;
+
+import com.example.digitCurrencyPlatform.enums.IngestionMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class IngestionReport {
+    private IngestionMode mode;
+    private long rows;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    public static IngestionReport of(IngestionMode mode, long rows, long elapsedNanos) {
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        long rowsPerSecond = elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+        return new IngestionReport(mode, rows, elapsedMillis, rowsPerSecond);
+    }
+}
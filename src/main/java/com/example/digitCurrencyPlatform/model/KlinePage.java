@@ -0,0 +1,16 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class KlinePage {
+    private List<Kline> klines;
+    // null when there are no more rows in the requested range
+    private String nextPageToken;
+}
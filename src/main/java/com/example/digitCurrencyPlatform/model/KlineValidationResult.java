@@ -0,0 +1,18 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class KlineValidationResult {
+    private List<Kline> valid;
+    private List<QuarantinedKline> quarantined;
+    // Gaps are reported, not quarantined: exchanges legitimately skip bars with no trades
+    private int gaps;
+    private long missingBars;
+}
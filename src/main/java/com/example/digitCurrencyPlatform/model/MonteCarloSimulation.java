@@ -0,0 +1,24 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Simulated portfolio values, one step per interval. bands[step][k] is the percentiles[k]
+// percentile of all paths after step steps (step 0 is the starting value); mean[step] likewise.
+// Rerunning with the same seed and inputs gives the same result
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MonteCarloSimulation {
+    private String method;
+    private int paths;
+    private int steps;
+    private long stepMs;
+    private long seed;
+    private int historicalReturns;
+    private double[] percentiles;
+    private double[][] bands;
+    private double[] mean;
+    private double probabilityOfLoss;
+}
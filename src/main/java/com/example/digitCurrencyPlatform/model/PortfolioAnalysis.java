@@ -0,0 +1,15 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class PortfolioAnalysis {
+    private List<Kline> klines;
+    private PortfolioRiskMetrics risk;
+}
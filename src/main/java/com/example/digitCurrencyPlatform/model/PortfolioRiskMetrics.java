@@ -0,0 +1,32 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Risk statistics of a portfolio's bar-to-bar close returns. Ratios are annualized from the bar
+// interval; VaR and CVaR are one-bar losses as positive fractions, from a quantile sketch
+// accurate to 0.5%. Fields are null when there are too few returns to define them
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class PortfolioRiskMetrics {
+    private long bars;
+    private long returns;
+    private Double startValue;
+    private Double endValue;
+    private Double totalReturn;
+    private Double maxDrawdown;
+    private Long drawdownPeakTime;
+    private Long drawdownTroughTime;
+    private Double meanReturn;
+    private Double volatility;
+    private Double annualizedVolatility;
+    private Double sharpeRatio;
+    private Double sortinoRatio;
+    private Double valueAtRisk95;
+    private Double conditionalValueAtRisk95;
+    private Double valueAtRisk99;
+    private Double conditionalValueAtRisk99;
+    private double riskFreeRate;
+}
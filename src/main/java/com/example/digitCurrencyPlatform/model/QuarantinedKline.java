@@ -0,0 +1,26 @@
+package com.example.digitCurrencyPlatform.model;
+
+import com.example.digitCurrencyPlatform.enums.QuarantineReason;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class QuarantinedKline {
+    private String exchange;
+    private String symbol;
+    // Null when the row could not be parsed far enough to read it
+    private Long openTime;
+    private QuarantineReason reason;
+    private String detail;
+    private String rawData;
+    private long quarantinedAt;
+
+    // The exchange is filled in by KlineQuarantineService.screen, which knows the source
+    public static QuarantinedKline of(Kline kline, QuarantineReason reason, String detail) {
+        return new QuarantinedKline(null, kline.getSymbol(), kline.getOpenTime(), reason, detail,
+                kline.toString(), System.currentTimeMillis());
+    }
+}
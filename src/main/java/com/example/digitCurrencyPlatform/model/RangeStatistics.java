@@ -0,0 +1,31 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Summary of the stored bars whose open_time falls in [startTime, endTime]. Price and time fields
+// are null when there are none. source is "index" or "scan"
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RangeStatistics {
+    private String exchange;
+    private String symbol;
+    private long startTime;
+    private long endTime;
+    private long bars;
+    private Long firstOpenTime;
+    private Long lastOpenTime;
+    private BigDecimal open;
+    private BigDecimal close;
+    private BigDecimal high;
+    private Long highTime;
+    private BigDecimal low;
+    private Long lowTime;
+    private BigDecimal volume;
+    private long numberOfTrades;
+    private String source;
+}
@@ -0,0 +1,21 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SlowRequest {
+    private long timestamp;
+    private String method;
+    private String path;
+    private Map<String, String> parameters;
+    private int status;
+    private double totalMillis;
+    private Map<String, Double> phaseMillis;
+    private long rows;
+}
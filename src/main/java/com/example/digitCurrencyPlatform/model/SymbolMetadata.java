@@ -0,0 +1,56 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SymbolMetadata {
+    private String exchange;
+    private String symbol;
+    private long firstOpenTime;
+    private long lastOpenTime;
+    private long lastCloseTime;
+    private BigDecimal lastClosePrice;
+    private long rowCount;
+    private long updatedAt;
+
+    // Summary of one inserted batch; rowCount is the number of rows the insert actually added
+    public static SymbolMetadata of(String exchange, String symbol, List<Kline> klines, long rowCount) {
+        Kline first = klines.get(0);
+        Kline last = klines.get(0);
+        long lastCloseTime = 0;
+        for (Kline kline : klines) {
+            if (kline.getOpenTime() < first.getOpenTime()) {
+                first = kline;
+            }
+            if (kline.getOpenTime() > last.getOpenTime()) {
+                last = kline;
+            }
+            lastCloseTime = Math.max(lastCloseTime, kline.getCloseTime());
+        }
+        return new SymbolMetadata(exchange, symbol, first.getOpenTime(), last.getOpenTime(), lastCloseTime,
+                last.getClosePrice(), rowCount, System.currentTimeMillis());
+    }
+
+    public SymbolMetadata merge(SymbolMetadata other) {
+        boolean otherIsNewer = other.lastOpenTime > lastOpenTime;
+        return new SymbolMetadata(exchange, symbol,
+                Math.min(firstOpenTime, other.firstOpenTime),
+                Math.max(lastOpenTime, other.lastOpenTime),
+                Math.max(lastCloseTime, other.lastCloseTime),
+                otherIsNewer ? other.lastClosePrice : lastClosePrice,
+                rowCount + other.rowCount,
+                Math.max(updatedAt, other.updatedAt));
+    }
+
+    // True when some stored bar can have open_time in [startTime, endTime]
+    public boolean overlaps(long startTime, long endTime) {
+        return startTime <= lastOpenTime && endTime >= firstOpenTime;
+    }
+}
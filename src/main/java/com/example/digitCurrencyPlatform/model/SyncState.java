@@ -0,0 +1,17 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SyncState {
+    private String exchange;
+    private String symbol;
+    private String intervalValue;
+    private long lastOpenTime;
+    private long lastSyncedAt;
+    private String lastError;
+}
@@ -0,0 +1,14 @@
+package com.example.digitCurrencyPlatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class TablePartition {
+    private String name;
+    // Upper bound of a RANGE partition, "MAXVALUE" for the catch-all partition
+    private String description;
+}
@@ -4,4 +4,8 @@ public class DataProviderException extends RuntimeException {
     public DataProviderException(String message) {
         super(message);
     }
+
+    public DataProviderException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -0,0 +1,120 @@
+package com.example.digitCurrencyPlatform.repository;
+
+import com.example.digitCurrencyPlatform.config.DataSourceRoute;
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.model.Kline;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+// Builds the cross-exchange composite series with a k-way merge over one streaming cursor per
+// exchange. A heap holds only the current head of each cursor, so memory is O(exchanges) besides
+// the output and every input row is touched once. Each cursor gets its own session (and
+// connection) because MySQL allows only one open streaming result per connection. Venues name the
+// same market differently (XBTUSD on Kraken, BTCUSDT on Binance), so each is read under its own
+// stored symbol
+@Repository
+public class CompositeKlineReader {
+    private static final int PRICE_SCALE = 10;
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    public CompositeKlineReader(SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    private record Head(Kline kline, Iterator<Kline> rest) {
+    }
+
+    interface SeriesSource {
+        Iterator<Kline> open(Exchange exchange, String storedSymbol);
+    }
+
+    // Returns at most limit composite bars with afterOpenTime < open_time <= closeTime. Each
+    // exchange can contribute at most limit rows before that many bars exist, so limit also
+    // bounds every per-exchange scan
+    public List<Kline> read(List<Exchange> exchanges, String symbol, long afterOpenTime, long closeTime, int limit) {
+        List<SqlSession> sessions = new ArrayList<>();
+        DataSourceRoute previousRoute = DataSourceRoute.set(DataSourceRoute.READ);
+        try {
+            return merge(exchanges, symbol, limit, (exchange, storedSymbol) -> {
+                SqlSession session = sqlSessionFactory.openSession();
+                sessions.add(session);
+                Cursor<Kline> cursor = session.getMapper(KlineRepository.class)
+                        .streamKlineDataAfter(exchange, storedSymbol, afterOpenTime, closeTime, limit);
+                return cursor.iterator();
+            });
+        } finally {
+            sessions.forEach(SqlSession::close);
+            DataSourceRoute.restore(previousRoute);
+        }
+    }
+
+    static List<Kline> merge(List<Exchange> exchanges, String symbol, int limit, SeriesSource source) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing((Head head) -> head.kline().getOpenTime()));
+        for (Exchange exchange : exchanges) {
+            advance(heads, source.open(exchange, exchange.storedSymbol(symbol)));
+        }
+
+        List<Kline> composite = new ArrayList<>();
+        List<Kline> sameBar = new ArrayList<>(exchanges.size());
+        while (!heads.isEmpty() && composite.size() < limit) {
+            long openTime = heads.peek().kline().getOpenTime();
+            sameBar.clear();
+            while (!heads.isEmpty() && heads.peek().kline().getOpenTime() == openTime) {
+                Head head = heads.poll();
+                sameBar.add(head.kline());
+                advance(heads, head.rest());
+            }
+            composite.add(combine(symbol, sameBar));
+        }
+        return composite;
+    }
+
+    private static void advance(PriorityQueue<Head> heads, Iterator<Kline> rows) {
+        if (rows.hasNext()) {
+            heads.add(new Head(rows.next(), rows));
+        }
+    }
+
+    // Prices are weighted by each venue's volume in the bar; a bar with no volume anywhere falls
+    // back to the plain mean. Weighting every field by the same volumes keeps high >= open, close >= low
+    static Kline combine(String symbol, List<Kline> bars) {
+        BigDecimal totalVolume = BigDecimal.ZERO;
+        long totalTrades = 0;
+        for (Kline bar : bars) {
+            totalVolume = totalVolume.add(bar.getVolume());
+            totalTrades += bar.getNumberOfTrades();
+        }
+        boolean weighted = totalVolume.signum() > 0;
+        BigDecimal divisor = weighted ? totalVolume : BigDecimal.valueOf(bars.size());
+
+        BigDecimal open = BigDecimal.ZERO;
+        BigDecimal close = BigDecimal.ZERO;
+        BigDecimal high = BigDecimal.ZERO;
+        BigDecimal low = BigDecimal.ZERO;
+        long closeTime = bars.get(0).getCloseTime();
+        for (Kline bar : bars) {
+            BigDecimal weight = weighted ? bar.getVolume() : BigDecimal.ONE;
+            open = open.add(bar.getOpenPrice().multiply(weight));
+            close = close.add(bar.getClosePrice().multiply(weight));
+            high = high.add(bar.getHighPrice().multiply(weight));
+            low = low.add(bar.getLowPrice().multiply(weight));
+            closeTime = Math.max(closeTime, bar.getCloseTime());
+        }
+
+        return new Kline(symbol, bars.get(0).getOpenTime(), closeTime,
+                open.divide(divisor, PRICE_SCALE, RoundingMode.HALF_UP),
+                close.divide(divisor, PRICE_SCALE, RoundingMode.HALF_UP),
+                high.divide(divisor, PRICE_SCALE, RoundingMode.HALF_UP),
+                low.divide(divisor, PRICE_SCALE, RoundingMode.HALF_UP),
+                totalVolume, totalTrades);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.digitCurrencyPlatform.repository;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Streams klines into kline_data with LOAD DATA LOCAL INFILE. The "file" is an in-memory pipe:
+// a writer thread copies CSV into one end while the driver sends the other end to MySQL, so
+// nothing is staged on disk. Producers may write from any thread (e.g. a parallel stream's
+// ForkJoin workers); their encoded batches queue up for the one writer thread, since a
+// PipedInputStream reports "Write end dead" once a thread that wrote to it has gone away.
+// Requires allowLoadLocalInfile=true on the JDBC URL and local_infile=ON on the server.
+// LOCAL loads skip duplicate keys instead of failing
+@Repository
+public class KlineBulkLoader {
+    private static final int PIPE_BUFFER_BYTES = 1 << 20;
+    private static final int QUEUED_BATCHES = 64;
+    private static final byte[] END_OF_STREAM = new byte[0];
+    private static final String LOAD_STATEMENT =
+            "LOAD DATA LOCAL INFILE 'kline_stream.csv' INTO TABLE kline_data " +
+                    "CHARACTER SET ascii FIELDS TERMINATED BY ',' LINES TERMINATED BY '\\n' " +
+                    "(exchange, symbol, open_time, close_time, open_price, close_price, high_price, low_price, " +
+                    "volume, number_of_trades)";
+
+    private final DataSource dataSource;
+
+    @Autowired
+    public KlineBulkLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // Runs the producer and the pipe writer on their own threads and returns the number of rows
+    // MySQL loaded
+    public long load(Exchange exchange, Consumer<KlineCsvWriter> producer) {
+        PipedInputStream input = new PipedInputStream(PIPE_BUFFER_BYTES);
+        BlockingQueue<byte[]> batches = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+        AtomicReference<IOException> streamFailure = new AtomicReference<>();
+        AtomicReference<RuntimeException> producerFailure = new AtomicReference<>();
+        Thread writerThread;
+
+        try {
+            PipedOutputStream output = new PipedOutputStream(input);
+            writerThread = new Thread(() -> drain(batches, output, streamFailure), "kline-bulk-load-writer");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open bulk load pipe", e);
+        }
+        Thread producerThread = new Thread(() -> {
+            try {
+                producer.accept(new KlineCsvWriter(batches, exchange.name(), streamFailure));
+            } catch (RuntimeException e) {
+                producerFailure.set(e);
+            } finally {
+                endStream(batches);
+            }
+        }, "kline-bulk-load-producer");
+
+        writerThread.start();
+        producerThread.start();
+        long rowsLoaded;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(input);
+            rowsLoaded = statement.executeLargeUpdate(LOAD_STATEMENT);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk load into kline_data failed: " + e.getMessage(), e);
+        } finally {
+            // Unblocks the writer if MySQL stopped reading early
+            closeQuietly(input);
+            joinQuietly(producerThread);
+            joinQuietly(writerThread);
+        }
+
+        if (producerFailure.get() != null) {
+            throw producerFailure.get();
+        }
+        if (streamFailure.get() != null) {
+            throw new UncheckedIOException("Bulk load stream failed", streamFailure.get());
+        }
+        return rowsLoaded;
+    }
+
+    // Copies queued batches into the pipe until the producer finishes. After a write failure the
+    // remaining batches are discarded so producers blocked on the queue can still finish
+    private static void drain(BlockingQueue<byte[]> batches, OutputStream output, AtomicReference<IOException> streamFailure) {
+        try (OutputStream out = output) {
+            byte[] batch;
+            while ((batch = takeUninterruptibly(batches)) != END_OF_STREAM) {
+                if (streamFailure.get() == null) {
+                    try {
+                        out.write(batch);
+                    } catch (IOException e) {
+                        streamFailure.set(e);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            streamFailure.compareAndSet(null, e);
+        }
+    }
+
+    private static void endStream(BlockingQueue<byte[]> batches) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                batches.put(END_OF_STREAM);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] takeUninterruptibly(BlockingQueue<byte[]> batches) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return batches.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
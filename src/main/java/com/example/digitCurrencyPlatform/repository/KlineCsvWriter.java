@@ -0,0 +1,63 @@
+package com.example.digitCurrencyPlatform.repository;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Serialises klines into the CSV layout expected by KlineBulkLoader's LOAD DATA statement.
+// Parallel fetch threads each encode their own batch and hand it to KlineBulkLoader's single
+// writer thread through a bounded queue, so only that thread ever touches the pipe
+public class KlineCsvWriter {
+    private final BlockingQueue<byte[]> batches;
+    private final String exchange;
+    private final AtomicReference<IOException> streamFailure;
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    KlineCsvWriter(BlockingQueue<byte[]> batches, String exchange, AtomicReference<IOException> streamFailure) {
+        this.batches = batches;
+        this.exchange = exchange;
+        this.streamFailure = streamFailure;
+    }
+
+    public void write(List<Kline> klines) {
+        StringBuilder csv = new StringBuilder(128 * klines.size());
+        for (Kline kline : klines) {
+            csv.append(exchange).append(',')
+                    .append(kline.getSymbol()).append(',')
+                    .append(kline.getOpenTime()).append(',')
+                    .append(kline.getCloseTime()).append(',')
+                    .append(kline.getOpenPrice().toPlainString()).append(',')
+                    .append(kline.getClosePrice().toPlainString()).append(',')
+                    .append(kline.getHighPrice().toPlainString()).append(',')
+                    .append(kline.getLowPrice().toPlainString()).append(',')
+                    .append(kline.getVolume().toPlainString()).append(',')
+                    .append(kline.getNumberOfTrades()).append('\n');
+        }
+        checkStream();
+        try {
+            batches.put(csv.toString().getBytes(StandardCharsets.US_ASCII));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing klines for bulk load", e);
+        }
+        rowsWritten.addAndGet(klines.size());
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    // Fails fast once MySQL has stopped reading instead of fetching batches nobody will load
+    private void checkStream() {
+        IOException failure = streamFailure.get();
+        if (failure != null) {
+            throw new UncheckedIOException("Bulk load stream closed", failure);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.digitCurrencyPlatform.repository;
+
+import com.example.digitCurrencyPlatform.model.TablePartition;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+// Partition DDL cannot be parameterised, so names and bounds are interpolated with ${};
+// KlinePartitionMaintenanceService only ever passes names it generated itself
+@Mapper
+public interface KlinePartitionRepository {
+
+    @Select("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'kline_data' AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION")
+    @Results({
+            @Result(property = "name", column = "PARTITION_NAME"),
+            @Result(property = "description", column = "PARTITION_DESCRIPTION")
+    })
+    List<TablePartition> findPartitions();
+
+    // Splits new monthly partitions off the catch-all p_future partition
+    @Update({
+            "<script>",
+            "ALTER TABLE kline_data REORGANIZE PARTITION p_future INTO (",
+            "<foreach collection='partitions' item='partition' separator=','>",
+            "PARTITION ${partition.name} VALUES LESS THAN (${partition.description})",
+            "</foreach>",
+            ", PARTITION p_future VALUES LESS THAN MAXVALUE)",
+            "</script>"
+    })
+    void splitFuturePartition(@Param("partitions") List<TablePartition> partitions);
+
+    @Update("ALTER TABLE kline_data DROP PARTITION ${name}")
+    void dropPartition(@Param("name") String name);
+
+    @Update("CREATE TABLE IF NOT EXISTS ${archiveTable} LIKE kline_data")
+    void createArchiveTable(@Param("archiveTable") String archiveTable);
+
+    // EXCHANGE PARTITION requires a non-partitioned target table
+    @Update("ALTER TABLE ${archiveTable} REMOVE PARTITIONING")
+    void removeArchivePartitioning(@Param("archiveTable") String archiveTable);
+
+    // Swaps the partition's rows into the archive table as a metadata-only operation
+    @Update("ALTER TABLE kline_data EXCHANGE PARTITION ${name} WITH TABLE ${archiveTable}")
+    void exchangePartition(@Param("name") String name, @Param("archiveTable") String archiveTable);
+}
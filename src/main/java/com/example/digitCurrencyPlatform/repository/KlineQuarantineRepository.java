@@ -0,0 +1,28 @@
+package com.example.digitCurrencyPlatform.repository;
+
+import com.example.digitCurrencyPlatform.model.QuarantinedKline;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+@Mapper
+public interface KlineQuarantineRepository {
+    @Insert({
+            "<script>",
+            "INSERT INTO kline_quarantine (exchange, symbol, open_time, reason, detail, raw_data, quarantined_at) VALUES",
+            "<foreach collection='rows' item='row' separator=','>",
+            "(#{row.exchange}, #{row.symbol}, #{row.openTime}, #{row.reason}, #{row.detail}, #{row.rawData}, #{row.quarantinedAt})",
+            "</foreach>",
+            "</script>"
+    })
+    void batchInsert(@Param("rows") List<QuarantinedKline> rows);
+
+    @Select("SELECT exchange, symbol, open_time, reason, detail, raw_data, quarantined_at FROM kline_quarantine " +
+            "WHERE symbol = #{symbol} ORDER BY quarantined_at DESC LIMIT #{limit}")
+    @Results({
+            @Result(property = "openTime", column = "open_time"),
+            @Result(property = "rawData", column = "raw_data"),
+            @Result(property = "quarantinedAt", column = "quarantined_at")
+    })
+    List<QuarantinedKline> findRecentBySymbol(@Param("symbol") String symbol, @Param("limit") int limit);
+}
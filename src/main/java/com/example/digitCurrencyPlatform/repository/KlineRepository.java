@@ -1,11 +1,13 @@
 package com.example.digitCurrencyPlatform.repository;
 
+import com.example.digitCurrencyPlatform.enums.Exchange;
 import com.example.digitCurrencyPlatform.model.Kline;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -28,8 +30,9 @@ public interface KlineRepository {
 
     // Use time range to find
     @Select("SELECT * FROM kline_data " +
-            "WHERE symbol = #{symbol} AND open_time >= #{openTime} AND close_time <= #{closeTime} LIMIT #{limit}")
-    @Results({
+            "WHERE exchange = #{exchange} AND symbol = #{symbol} AND open_time >= #{openTime} AND open_time <= #{closeTime} AND close_time <= #{closeTime} " +
+            "ORDER BY open_time LIMIT #{limit}")
+    @Results(id = "klineResult", value = {
             @Result(property = "openTime", column = "open_time"),
             @Result(property = "closeTime", column = "close_time"),
             @Result(property = "openPrice", column = "open_price"),
@@ -40,37 +43,139 @@ public interface KlineRepository {
             @Result(property = "numberOfTrades", column = "number_of_trades")
     })
     List<@Valid Kline> retrieveKlineDataWithStartAndEndTime(
+            @Param("exchange") Exchange exchange,
             @Param("symbol") @NotBlank(message = "Symbol cannot be blank") String symbol,
             @Param("openTime") @NotNull(message = "Open time cannot be null") @Min(value = 0) Long openTime,
             @Param("closeTime") @NotNull(message = "Close time cannot be null") @Min(value = 0) Long closeTime,
             @Param("limit") int limit);
 
+    // Keyset page: seeks past the last open_time the client has seen, so every page is an
+    // index range scan regardless of how deep the client pages. The redundant
+    // open_time <= closeTime bound lets MySQL prune monthly partitions on both sides
+    @Select("SELECT * FROM kline_data " +
+            "WHERE exchange = #{exchange} AND symbol = #{symbol} AND open_time > #{afterOpenTime} AND open_time <= #{closeTime} AND close_time <= #{closeTime} " +
+            "ORDER BY open_time LIMIT #{limit}")
+    @ResultMap("klineResult")
+    List<Kline> retrieveKlineDataAfter(
+            @Param("exchange") Exchange exchange,
+            @Param("symbol") @NotBlank(message = "Symbol cannot be blank") String symbol,
+            @Param("afterOpenTime") @NotNull(message = "Open time cannot be null") Long afterOpenTime,
+            @Param("closeTime") @NotNull(message = "Close time cannot be null") @Min(value = 0) Long closeTime,
+            @Param("limit") int limit);
+
+    // Same scan as retrieveKlineDataAfter, streamed row by row: a fetch size of Integer.MIN_VALUE
+    // makes Connector/J read the result incrementally instead of buffering it
+    @Select("SELECT * FROM kline_data " +
+            "WHERE exchange = #{exchange} AND symbol = #{symbol} AND open_time > #{afterOpenTime} AND open_time <= #{closeTime} AND close_time <= #{closeTime} " +
+            "ORDER BY open_time LIMIT #{limit}")
+    @Options(fetchSize = Integer.MIN_VALUE)
+    @ResultMap("klineResult")
+    Cursor<Kline> streamKlineDataAfter(
+            @Param("exchange") Exchange exchange,
+            @Param("symbol") String symbol,
+            @Param("afterOpenTime") Long afterOpenTime,
+            @Param("closeTime") Long closeTime,
+            @Param("limit") int limit);
+
+    // Every row opening in [fromOpenTime, toOpenTime), whatever its close time; used to fill
+    // whole month blocks of the series cache
+    @Select("SELECT * FROM kline_data " +
+            "WHERE exchange = #{exchange} AND symbol = #{symbol} AND open_time >= #{fromOpenTime} AND open_time < #{toOpenTime} " +
+            "ORDER BY open_time")
+    @Options(fetchSize = Integer.MIN_VALUE)
+    @ResultMap("klineResult")
+    Cursor<Kline> streamKlineDataByOpenTime(
+            @Param("exchange") Exchange exchange,
+            @Param("symbol") String symbol,
+            @Param("fromOpenTime") Long fromOpenTime,
+            @Param("toOpenTime") Long toOpenTime);
+
+    @Select("SELECT COUNT(*) FROM kline_data " +
+            "WHERE exchange = #{exchange} AND symbol = #{symbol} AND open_time > #{afterOpenTime} AND open_time <= #{closeTime} AND close_time <= #{closeTime}")
+    long countKlineDataAfter(
+            @Param("exchange") Exchange exchange,
+            @Param("symbol") String symbol,
+            @Param("afterOpenTime") Long afterOpenTime,
+            @Param("closeTime") Long closeTime);
+
+    @Select("SELECT open_time FROM kline_data " +
+            "WHERE exchange = #{exchange} AND symbol = #{symbol} AND open_time > #{afterOpenTime} AND open_time <= #{closeTime} AND close_time <= #{closeTime} " +
+            "ORDER BY open_time LIMIT 1")
+    Long findFirstOpenTimeAfter(
+            @Param("exchange") Exchange exchange,
+            @Param("symbol") String symbol,
+            @Param("afterOpenTime") Long afterOpenTime,
+            @Param("closeTime") Long closeTime);
+
+    @Select("SELECT MAX(open_time) FROM kline_data " +
+            "WHERE exchange = #{exchange} AND symbol = #{symbol} AND open_time <= #{closeTime}")
+    Long findLastOpenTime(
+            @Param("exchange") Exchange exchange,
+            @Param("symbol") String symbol,
+            @Param("closeTime") Long closeTime);
+
+    // Aggregation pushed down to MySQL: rows are bucketed by (open_time - origin) DIV intervalMs,
+    // open/close come from FIRST_VALUE over each bucket in both directions, and only one row per
+    // bucket crosses the wire. The scan is bounded to the buckets that can make the page
+    @Select("SELECT symbol, " +
+            "#{origin} + bucket * #{intervalMs} AS open_time, " +
+            "#{origin} + bucket * #{intervalMs} + #{intervalMs} - 1 AS close_time, " +
+            "MAX(first_open) AS open_price, MAX(last_close) AS close_price, " +
+            "MAX(high_price) AS high_price, MIN(low_price) AS low_price, " +
+            "SUM(volume) AS volume, SUM(number_of_trades) AS number_of_trades " +
+            "FROM (" +
+            "  SELECT symbol, bucket, high_price, low_price, volume, number_of_trades, " +
+            "    FIRST_VALUE(open_price) OVER (PARTITION BY bucket ORDER BY open_time) AS first_open, " +
+            "    FIRST_VALUE(close_price) OVER (PARTITION BY bucket ORDER BY open_time DESC) AS last_close " +
+            "  FROM (" +
+            "    SELECT symbol, open_time, open_price, close_price, high_price, low_price, volume, number_of_trades, " +
+            "      (open_time - #{origin}) DIV #{intervalMs} AS bucket " +
+            "    FROM kline_data " +
+            "    WHERE exchange = #{exchange} AND symbol = #{symbol} AND open_time >= #{origin} " +
+            "      AND open_time < #{origin} + #{limit} * #{intervalMs} AND open_time <= #{closeTime} " +
+            "      AND close_time <= #{closeTime}" +
+            "  ) base" +
+            ") ranked " +
+            "GROUP BY symbol, bucket " +
+            "ORDER BY bucket " +
+            "LIMIT #{limit}")
+    @ResultMap("klineResult")
+    List<Kline> retrieveAggregatedKlines(
+            @Param("exchange") Exchange exchange,
+            @Param("symbol") String symbol,
+            @Param("origin") Long origin,
+            @Param("closeTime") Long closeTime,
+            @Param("intervalMs") long intervalMs,
+            @Param("limit") int limit);
+
 
-    // delete a row of kline data using the symbol and openTime
-    @Delete("DELETE FROM kline_data WHERE symbol = #{symbol} AND open_time = #{openTime}")
+    // delete a row of kline data using the exchange, symbol and openTime
+    @Delete("DELETE FROM kline_data WHERE exchange = #{exchange} AND symbol = #{symbol} AND open_time = #{openTime}")
     public void deleteBySymbolAndOpenTime(
+            @Param("exchange") Exchange exchange,
             @Param("symbol") @NotBlank(message = "Symbol cannot be blank") String symbol,
             @Param("openTime") @NotNull(message = "Open time cannot be null") Long openTime);
 
     // insert a row of kline data
-    @Insert("INSERT INTO kline_data(symbol, open_time, close_time, " +
+    @Insert("INSERT INTO kline_data(exchange, symbol, open_time, close_time, " +
             "open_price, close_price, high_price, low_price, volume, number_of_trades)" +
-            "VALUES (#{symbol}, #{openTime}, #{closeTime}, " +
-            "#{openPrice}, #{closePrice}, #{highPrice}, #{lowPrice}, #{volume}, " +
-            "#{numberOfTrades})")
-    public int insert(@Valid @NotNull(message = "Kline cannot be null") Kline kline);
+            "VALUES (#{exchange}, #{kline.symbol}, #{kline.openTime}, #{kline.closeTime}, " +
+            "#{kline.openPrice}, #{kline.closePrice}, #{kline.highPrice}, #{kline.lowPrice}, #{kline.volume}, " +
+            "#{kline.numberOfTrades})")
+    public int insert(@Param("exchange") Exchange exchange,
+                      @Param("kline") @Valid @NotNull(message = "Kline cannot be null") Kline kline);
 
-    // batch insert
+    // batch insert; bars already stored are skipped, so the affected-row count is the number of new rows
     @Insert({
             "<script>",
-            "INSERT INTO kline_data (symbol, open_time, close_time, open_price, close_price, high_price, " +
+            "INSERT IGNORE INTO kline_data (exchange, symbol, open_time, close_time, open_price, close_price, high_price, " +
                     "low_price, volume, number_of_trades) VALUES",
             "<foreach collection='klines' item='kline' separator=','>",
-            "(#{kline.symbol}, #{kline.openTime}, #{kline.closeTime}, #{kline.openPrice}, #{kline.closePrice}, " +
+            "(#{exchange}, #{kline.symbol}, #{kline.openTime}, #{kline.closeTime}, #{kline.openPrice}, #{kline.closePrice}, " +
                     "#{kline.highPrice}, #{kline.lowPrice}, #{kline.volume}, #{kline.numberOfTrades})",
             "</foreach>",
             "</script>"
     })
-    void batchInsert(@Param("klines") List<@Valid @NotNull Kline> klines);
+    int batchInsert(@Param("exchange") Exchange exchange, @Param("klines") List<Kline> klines);
 
 }
@@ -0,0 +1,57 @@
+package com.example.digitCurrencyPlatform.repository;
+
+import com.example.digitCurrencyPlatform.config.DataSourceRoute;
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.model.Kline;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Hands rows to a consumer one at a time straight off a streaming result set. The mapper proxy
+// closes its session (and the cursor with it) as soon as the call returns outside a transaction,
+// so the cursor is opened on a session owned here for the duration of the scan
+@Repository
+public class KlineStreamReader {
+    private final SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    public KlineStreamReader(SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    // Rows with afterOpenTime < open_time <= closeTime, in open_time order; returns how many were read
+    public long forEach(Exchange exchange, String symbol, long afterOpenTime, long closeTime, int limit,
+                        Consumer<Kline> consumer) {
+        return stream(mapper -> mapper.streamKlineDataAfter(exchange, symbol, afterOpenTime, closeTime, limit), consumer);
+    }
+
+    // Rows with fromOpenTime <= open_time < toOpenTime, in open_time order
+    public long forEachOpeningBetween(Exchange exchange, String symbol, long fromOpenTime, long toOpenTime,
+                                      Consumer<Kline> consumer) {
+        return stream(mapper -> mapper.streamKlineDataByOpenTime(exchange, symbol, fromOpenTime, toOpenTime), consumer);
+    }
+
+    private long stream(Function<KlineRepository, Cursor<Kline>> query, Consumer<Kline> consumer) {
+        DataSourceRoute previousRoute = DataSourceRoute.set(DataSourceRoute.READ);
+        try (SqlSession session = sqlSessionFactory.openSession();
+             Cursor<Kline> cursor = query.apply(session.getMapper(KlineRepository.class))) {
+            long rows = 0;
+            for (Kline kline : cursor) {
+                consumer.accept(kline);
+                rows++;
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close kline cursor", e);
+        } finally {
+            DataSourceRoute.restore(previousRoute);
+        }
+    }
+}
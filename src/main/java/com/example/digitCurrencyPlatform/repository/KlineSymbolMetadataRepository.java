@@ -0,0 +1,53 @@
+package com.example.digitCurrencyPlatform.repository;
+
+import com.example.digitCurrencyPlatform.model.SymbolMetadata;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+@Mapper
+public interface KlineSymbolMetadataRepository {
+    @Select("SELECT * FROM kline_symbol_metadata")
+    @Results(id = "symbolMetadataResult", value = {
+            @Result(property = "firstOpenTime", column = "first_open_time"),
+            @Result(property = "lastOpenTime", column = "last_open_time"),
+            @Result(property = "lastCloseTime", column = "last_close_time"),
+            @Result(property = "lastClosePrice", column = "last_close_price"),
+            @Result(property = "rowCount", column = "row_count"),
+            @Result(property = "updatedAt", column = "updated_at")
+    })
+    List<SymbolMetadata> findAll();
+
+    @Select("SELECT * FROM kline_symbol_metadata WHERE exchange = #{exchange} AND symbol = #{symbol}")
+    @ResultMap("symbolMetadataResult")
+    SymbolMetadata find(@Param("exchange") String exchange, @Param("symbol") String symbol);
+
+    // Merges one inserted batch into the row. last_close_price is assigned before last_open_time
+    // because MySQL applies the assignments left to right
+    @Insert("INSERT INTO kline_symbol_metadata (exchange, symbol, first_open_time, last_open_time, last_close_time, " +
+            "last_close_price, row_count, updated_at) " +
+            "VALUES (#{exchange}, #{symbol}, #{firstOpenTime}, #{lastOpenTime}, #{lastCloseTime}, " +
+            "#{lastClosePrice}, #{rowCount}, #{updatedAt}) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "last_close_price = IF(VALUES(last_open_time) >= last_open_time, VALUES(last_close_price), last_close_price), " +
+            "last_open_time = GREATEST(last_open_time, VALUES(last_open_time)), " +
+            "last_close_time = GREATEST(last_close_time, VALUES(last_close_time)), " +
+            "first_open_time = LEAST(first_open_time, VALUES(first_open_time)), " +
+            "row_count = row_count + VALUES(row_count), " +
+            "updated_at = VALUES(updated_at)")
+    void merge(SymbolMetadata delta);
+
+    // Full recount from kline_data, one GROUP BY over the primary key
+    @Insert("REPLACE INTO kline_symbol_metadata (exchange, symbol, first_open_time, last_open_time, last_close_time, " +
+            "last_close_price, row_count, updated_at) " +
+            "SELECT k.exchange, k.symbol, MIN(k.open_time), MAX(k.open_time), MAX(k.close_time), " +
+            "(SELECT l.close_price FROM kline_data l WHERE l.exchange = k.exchange AND l.symbol = k.symbol " +
+            "ORDER BY l.open_time DESC LIMIT 1), " +
+            "COUNT(*), UNIX_TIMESTAMP() * 1000 " +
+            "FROM kline_data k GROUP BY k.exchange, k.symbol")
+    void rebuild();
+
+    @Delete("DELETE m FROM kline_symbol_metadata m " +
+            "WHERE NOT EXISTS (SELECT 1 FROM kline_data k WHERE k.exchange = m.exchange AND k.symbol = m.symbol)")
+    int deleteEmpty();
+}
@@ -0,0 +1,24 @@
+package com.example.digitCurrencyPlatform.repository;
+
+import com.example.digitCurrencyPlatform.model.SyncState;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+@Mapper
+public interface KlineSyncStateRepository {
+    @Select("SELECT * FROM kline_sync_state")
+    @Results(id = "syncStateResult", value = {
+            @Result(property = "intervalValue", column = "interval_value"),
+            @Result(property = "lastOpenTime", column = "last_open_time"),
+            @Result(property = "lastSyncedAt", column = "last_synced_at"),
+            @Result(property = "lastError", column = "last_error")
+    })
+    List<SyncState> findAll();
+
+    @Insert("INSERT INTO kline_sync_state (exchange, symbol, interval_value, last_open_time, last_synced_at, last_error) " +
+            "VALUES (#{exchange}, #{symbol}, #{intervalValue}, #{lastOpenTime}, #{lastSyncedAt}, #{lastError}) " +
+            "ON DUPLICATE KEY UPDATE last_open_time = GREATEST(last_open_time, VALUES(last_open_time)), " +
+            "last_synced_at = VALUES(last_synced_at), last_error = VALUES(last_error)")
+    void upsert(SyncState state);
+}
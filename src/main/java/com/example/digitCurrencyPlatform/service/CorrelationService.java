@@ -0,0 +1,111 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.CorrelationMatrix;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.exception.InputInvalidException;
+import com.example.digitCurrencyPlatform.repository.KlineRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Return covariance and correlation across symbols. Closes come from the aggregation pushdown
+// with startTime as the common origin, so every symbol's buckets line up; only buckets where
+// all symbols have a close are kept, and log returns are taken between consecutive kept buckets
+@Service
+public class CorrelationService {
+    private final KlineRepository klineRepository;
+    private final TaskExecutor klineQueryExecutor;
+
+    @Autowired
+    public CorrelationService(KlineRepository klineRepository,
+                              @Qualifier("klineQueryExecutor") TaskExecutor klineQueryExecutor) {
+        this.klineRepository = klineRepository;
+        this.klineQueryExecutor = klineQueryExecutor;
+    }
+
+    public CorrelationMatrix correlationMatrix(Exchange exchange, List<String> symbols, Interval interval,
+                                               long startTime, long endTime) {
+        double[][] returns = alignedLogReturns(exchange, symbols, interval, startTime, endTime);
+        if (returns[0].length < 2) {
+            throw new InputInvalidException("Not enough overlapping " + interval +
+                    " data between the symbols to compute a covariance (" + returns[0].length + " returns)");
+        }
+        double[][] covariance = CovarianceKernel.covariance(returns);
+
+        Double[][] correlation = new Double[symbols.size()][symbols.size()];
+        for (int i = 0; i < symbols.size(); i++) {
+            for (int j = 0; j < symbols.size(); j++) {
+                double denominator = Math.sqrt(covariance[i][i] * covariance[j][j]);
+                correlation[i][j] = denominator > 0
+                        ? Math.max(-1, Math.min(1, covariance[i][j] / denominator)) : null;
+            }
+        }
+        return new CorrelationMatrix(exchange.name(), symbols, interval.toString(), startTime, endTime,
+                returns[0].length, covariance, correlation);
+    }
+
+    // returns[i] holds symbol i's log returns; every row has the same length, possibly zero
+    double[][] alignedLogReturns(Exchange exchange, List<String> symbols, Interval interval, long startTime, long endTime) {
+        long intervalMs = interval.getMilliseconds();
+        int buckets = (int) ((endTime - startTime) / intervalMs + 1);
+
+        List<CompletableFuture<double[]>> loads = new ArrayList<>();
+        for (String symbol : symbols) {
+            loads.add(CompletableFuture.supplyAsync(
+                    () -> alignedCloses(exchange, symbol, startTime, endTime, intervalMs, buckets), klineQueryExecutor));
+        }
+        double[][] closes = new double[symbols.size()][];
+        for (int i = 0; i < symbols.size(); i++) {
+            closes[i] = loads.get(i).join();
+        }
+        return logReturns(closes, buckets);
+    }
+
+    // Close per bucket, NaN where the symbol has no bar
+    private double[] alignedCloses(Exchange exchange, String symbol, long startTime, long endTime,
+                                   long intervalMs, int buckets) {
+        double[] closes = new double[buckets];
+        Arrays.fill(closes, Double.NaN);
+        for (Kline kline : klineRepository.retrieveAggregatedKlines(exchange, symbol, startTime, endTime, intervalMs, buckets)) {
+            int bucket = (int) ((kline.getOpenTime() - startTime) / intervalMs);
+            if (bucket >= 0 && bucket < buckets) {
+                closes[bucket] = kline.getClosePrice().doubleValue();
+            }
+        }
+        return closes;
+    }
+
+    private static double[][] logReturns(double[][] closes, int buckets) {
+        int[] common = new int[buckets];
+        int kept = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            boolean complete = true;
+            for (double[] symbolCloses : closes) {
+                if (!(symbolCloses[bucket] > 0)) {
+                    complete = false;
+                    break;
+                }
+            }
+            if (complete) {
+                common[kept++] = bucket;
+            }
+        }
+
+        int observations = Math.max(0, kept - 1);
+        double[][] returns = new double[closes.length][observations];
+        for (int i = 0; i < closes.length; i++) {
+            for (int t = 0; t < observations; t++) {
+                returns[i][t] = Math.log(closes[i][common[t + 1]] / closes[i][common[t]]);
+            }
+        }
+        return returns;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.digitCurrencyPlatform.service;
+
+import java.util.stream.IntStream;
+
+// Sample covariance of series stored one primitive array per symbol. The symbol x symbol output
+// is split into tiles of SYMBOL_BLOCK symbols on each side and only tiles on or above the
+// diagonal are computed, in parallel. Within a tile, time is walked in TIME_BLOCK slices so the
+// two blocks' slices (2 x 16 x 1024 doubles = 256KB) stay in cache while every pair in the
+// tile is accumulated over them
+final class CovarianceKernel {
+    private static final int SYMBOL_BLOCK = 16;
+    private static final int TIME_BLOCK = 1024;
+
+    private CovarianceKernel() {
+    }
+
+    // series[i] is symbol i's observations; all series must have the same length, at least 2
+    static double[][] covariance(double[][] series) {
+        int symbols = series.length;
+        int length = series[0].length;
+        double[][] centered = new double[symbols][];
+        IntStream.range(0, symbols).parallel().forEach(i -> centered[i] = center(series[i]));
+
+        int blocks = (symbols + SYMBOL_BLOCK - 1) / SYMBOL_BLOCK;
+        double[][] covariance = new double[symbols][symbols];
+        IntStream.range(0, blocks * blocks).parallel()
+                .filter(tile -> tile / blocks <= tile % blocks)
+                .forEach(tile -> computeTile(centered, covariance, tile / blocks, tile % blocks, length));
+        return covariance;
+    }
+
+    private static double[] center(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        double mean = sum / values.length;
+        double[] centered = new double[values.length];
+        for (int t = 0; t < values.length; t++) {
+            centered[t] = values[t] - mean;
+        }
+        return centered;
+    }
+
+    private static void computeTile(double[][] centered, double[][] covariance, int rowBlock, int columnBlock, int length) {
+        int rowStart = rowBlock * SYMBOL_BLOCK;
+        int rowEnd = Math.min(rowStart + SYMBOL_BLOCK, centered.length);
+        int columnStart = columnBlock * SYMBOL_BLOCK;
+        int columnEnd = Math.min(columnStart + SYMBOL_BLOCK, centered.length);
+        double[][] sums = new double[SYMBOL_BLOCK][SYMBOL_BLOCK];
+
+        for (int from = 0; from < length; from += TIME_BLOCK) {
+            int to = Math.min(from + TIME_BLOCK, length);
+            for (int i = rowStart; i < rowEnd; i++) {
+                double[] a = centered[i];
+                // On a diagonal tile only the upper triangle is needed
+                for (int j = Math.max(columnStart, rowBlock == columnBlock ? i : columnStart); j < columnEnd; j++) {
+                    sums[i - rowStart][j - columnStart] += dot(a, centered[j], from, to);
+                }
+            }
+        }
+
+        for (int i = rowStart; i < rowEnd; i++) {
+            for (int j = Math.max(columnStart, rowBlock == columnBlock ? i : columnStart); j < columnEnd; j++) {
+                double value = sums[i - rowStart][j - columnStart] / (length - 1);
+                covariance[i][j] = value;
+                covariance[j][i] = value;
+            }
+        }
+    }
+
+    // Four independent partial sums so the loop isn't bound by a single add chain
+    private static double dot(double[] a, double[] b, int from, int to) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int t = from;
+        for (; t + 3 < to; t += 4) {
+            s0 += a[t] * b[t];
+            s1 += a[t + 1] * b[t + 1];
+            s2 += a[t + 2] * b[t + 2];
+            s3 += a[t + 3] * b[t + 3];
+        }
+        for (; t < to; t++) {
+            s0 += a[t] * b[t];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.IndicatorPoint;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.service.indicator.Indicator;
+import com.example.digitCurrencyPlatform.service.indicator.IndicatorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class IndicatorService {
+
+    private final KlineService klineService;
+
+    @Autowired
+    public IndicatorService(KlineService klineService) {
+        this.klineService = klineService;
+    }
+
+    public List<IndicatorPoint> calculateIndicators(Exchange exchange,
+                                                    String symbol,
+                                                    Interval interval,
+                                                    Interval baseInterval,
+                                                    long startTime,
+                                                    long endTime,
+                                                    int limit,
+                                                    List<String> indicatorSpecs) {
+        List<Indicator> indicators = IndicatorFactory.createAll(indicatorSpecs);
+
+        // Fetch enough aggregated bars before startTime to warm up the slowest indicator
+        int warmupBars = indicators.stream().mapToInt(Indicator::getWarmupPeriod).max().orElse(0);
+        long warmupStart = Math.max(0, startTime - warmupBars * interval.getMilliseconds());
+
+        List<Kline> klines = klineService.retrieveKlinesWithDifferentIntervals(
+                exchange, symbol, interval, warmupStart, endTime, limit + warmupBars, baseInterval);
+
+        int firstOutputIndex = 0;
+        while (firstOutputIndex < klines.size() && klines.get(firstOutputIndex).getOpenTime() < startTime) {
+            firstOutputIndex++;
+        }
+
+        List<IndicatorPoint> points = new ArrayList<>();
+        for (int i = 0; i < klines.size() && points.size() < limit; i++) {
+            Kline kline = klines.get(i);
+            Map<String, BigDecimal> values = new LinkedHashMap<>();
+
+            for (Indicator indicator : indicators) {
+                // Each indicator only sees its own warm-up, so cumulative ones start at startTime
+                if (i >= firstOutputIndex - indicator.getWarmupPeriod()) {
+                    indicator.update(kline);
+                }
+                if (i >= firstOutputIndex) {
+                    values.putAll(indicator.getValues());
+                }
+            }
+
+            if (i >= firstOutputIndex) {
+                points.add(new IndicatorPoint(kline.getOpenTime(), kline.getCloseTime(), kline.getClosePrice(), values));
+            }
+        }
+
+        return points;
+    }
+}
@@ -2,11 +2,15 @@ package com.example.digitCurrencyPlatform.service;
 
 import com.example.digitCurrencyPlatform.enums.Exchange;
 import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.metrics.KlineMetrics;
+import com.example.digitCurrencyPlatform.model.Position;
 import com.example.digitCurrencyPlatform.model.exception.*;
 import com.example.digitCurrencyPlatform.service.provider.KlineDataProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -19,14 +23,25 @@ public class InputValidationService {
     private static final long MAX_TIMESTAMP = 4102444800000L; // 2100-01-01
     private static final long MAX_TIME_RANGE_MS = 365L * 24 * 60 * 60 * 1000;
     private static final int MAX_LIMIT = 5000;
+    private static final int MAX_BULK_SYMBOLS = 500;
+    private static final int MAX_CORRELATION_BUCKETS = 100_000;
+    private static final int MAX_SIMULATION_PATHS = 200_000;
+    private static final int MAX_SIMULATION_STEPS = 5_000;
+    private static final long MAX_SIMULATION_PATH_STEPS = 200_000_000L;
 
     private final Map<String, KlineDataProvider> providers;
+    private final KlineMetrics klineMetrics;
+    private final String defaultExchange;
     private final Map<String, Set<String>> symbolCache = new ConcurrentHashMap<>();
     private final Map<String, Long> symbolCacheTimestamps = new ConcurrentHashMap<>();
     private static final long SYMBOL_CACHE_TTL = 24 * 60 * 60 * 1000;
+    private static final long SYMBOL_FETCH_RETRY_MS = 60 * 1000;
 
     @Autowired
-    public InputValidationService(List<KlineDataProvider> dataProviders) {
+    public InputValidationService(List<KlineDataProvider> dataProviders, KlineMetrics klineMetrics,
+                                  @Value("${app.exchange.default:BINANCE_US}") String defaultExchange) {
+        this.klineMetrics = klineMetrics;
+        this.defaultExchange = defaultExchange;
         this.providers = new HashMap<>();
         dataProviders.forEach(provider -> {
             this.providers.put(provider.getProviderName().toUpperCase(), provider);
@@ -34,6 +49,29 @@ public class InputValidationService {
     }
 
     public void validateSymbol(String symbol) {
+        validateSymbol(symbol, getAllSymbolsFromAllProviders());
+    }
+
+    // Validates a whole batch against a single snapshot of the provider symbol lists
+    public List<String> validateSymbols(List<String> symbols) {
+        if (symbols == null || symbols.isEmpty()) {
+            throw new InputInvalidException("At least one symbol must be provided");
+        }
+
+        Set<String> allAvailableSymbols = getAllSymbolsFromAllProviders();
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            validateSymbol(symbol, allAvailableSymbols);
+            normalized.add(symbol.trim().toUpperCase());
+        }
+
+        if (normalized.size() > MAX_BULK_SYMBOLS) {
+            throw new InputInvalidException("Cannot request more than " + MAX_BULK_SYMBOLS + " symbols at once");
+        }
+        return new ArrayList<>(normalized);
+    }
+
+    private void validateSymbol(String symbol, Set<String> allAvailableSymbols) {
         if (symbol == null || symbol.trim().isEmpty()) {
             throw new SymbolInvalidException("Symbol cannot be null or empty", symbol);
         }
@@ -43,8 +81,6 @@ public class InputValidationService {
             throw new SymbolInvalidException("Symbol must be 2-20 characters containing only uppercase letters and numbers", symbol);
         }
 
-        Set<String> allAvailableSymbols = getAllSymbolsFromAllProviders();
-
         if (!allAvailableSymbols.isEmpty() && !allAvailableSymbols.contains(trimmedSymbol)) {
             throw new SymbolInvalidException("Symbol '" + trimmedSymbol + "' is not supported by any exchange or not currently trading", symbol);
         }
@@ -62,12 +98,14 @@ public class InputValidationService {
                 long cacheTime = symbolCacheTimestamps.get(providerName);
                 if ((currentTime - cacheTime) < SYMBOL_CACHE_TTL) {
                     // Use cached symbols
+                    klineMetrics.recordSymbolCacheHit(providerName);
                     allSymbols.addAll(symbolCache.get(providerName));
                     continue;
                 }
             }
 
             // Cache miss or expired - fetch fresh symbols
+            klineMetrics.recordSymbolCacheMiss(providerName);
             try {
                 KlineDataProvider provider = providers.get(providerName);
                 Set<String> symbols = provider.fetchAvailableSymbols();
@@ -81,11 +119,11 @@ public class InputValidationService {
 
             } catch (Exception e) {
                 System.err.println("Failed to fetch symbols from " + providerName + ": " + e.getMessage());
-                // Use cached symbols if available
-                Set<String> cachedSymbols = symbolCache.get(providerName);
-                if (cachedSymbols != null) {
-                    allSymbols.addAll(cachedSymbols);
-                }
+                // Use cached symbols if available, and keep serving them for a minute so an
+                // unreachable exchange is not re-queried (and rate limited) on every validation
+                Set<String> cachedSymbols = symbolCache.computeIfAbsent(providerName, name -> Set.of());
+                symbolCacheTimestamps.put(providerName, currentTime - SYMBOL_CACHE_TTL + SYMBOL_FETCH_RETRY_MS);
+                allSymbols.addAll(cachedSymbols);
             }
         }
 
@@ -109,6 +147,18 @@ public class InputValidationService {
         }
     }
 
+    // Read endpoints take an optional exchange; without one they read the default provider's data
+    public Exchange resolveExchange(String exchangeName) {
+        return validateExchange(exchangeName == null || exchangeName.isBlank() ? defaultExchange : exchangeName);
+    }
+
+    public List<Exchange> validateExchanges(List<String> exchangeNames) {
+        if (exchangeNames == null || exchangeNames.isEmpty()) {
+            throw new InputInvalidException("At least one exchange must be provided");
+        }
+        return exchangeNames.stream().map(this::validateExchange).distinct().toList();
+    }
+
     public Interval validateInterval(String intervalString) {
         if (intervalString == null || intervalString.trim().isEmpty()) {
             throw new IntervalInputException("Interval cannot be null or empty", intervalString);
@@ -229,4 +279,92 @@ public class InputValidationService {
         validateLimit(limit);
     }
 
+    // No one-year cap here: downsampling streams the range, so its length only costs scan time
+    public void validateDownsampleRequest(String symbol, Long startTime, Long endTime, Integer points) {
+        validateRangeStatisticsRequest(symbol, startTime, endTime);
+        validateLimit(points);
+        if (points < 3) {
+            throw new LimitInvalidException("Downsampling needs at least 3 points", points, MAX_LIMIT);
+        }
+    }
+
+    // Range statistics come from an index, so any window over the stored history is allowed
+    public void validateRangeStatisticsRequest(String symbol, Long startTime, Long endTime) {
+        validateSymbol(symbol);
+        if (startTime == null || endTime == null) {
+            throw new TimeRangeInvalidException("Start time and end time are required", startTime, endTime);
+        }
+        if (startTime < 0 || endTime <= startTime) {
+            throw new TimeRangeInvalidException("End time must be after a non-negative start time", startTime, endTime);
+        }
+    }
+
+    // Returns are taken from aggregated 1m bars, one close per interval per symbol
+    public List<String> validateCorrelationRequest(List<String> symbols, String interval, Long startTime, Long endTime) {
+        List<String> validatedSymbols = validateSymbols(symbols);
+        if (validatedSymbols.size() < 2) {
+            throw new InputInvalidException("At least two distinct symbols are needed for a correlation matrix");
+        }
+        validateIntervalCompatibility(interval, Interval.ONE_MINUTE.toString());
+        validateTimeRange(startTime, endTime);
+        long buckets = (endTime - startTime) / validateInterval(interval).getMilliseconds();
+        if (buckets > MAX_CORRELATION_BUCKETS) {
+            throw new InputInvalidException("Time range holds " + buckets + " " + interval +
+                    " intervals; use a coarser interval (at most " + MAX_CORRELATION_BUCKETS + ")");
+        }
+        return validatedSymbols;
+    }
+
+    // One weight per symbol, each positive, adding up to at most 1 (the rest is held as cash)
+    public List<Position> validatePortfolioRequest(List<String> symbols, List<BigDecimal> weights, BigDecimal totalValue,
+                                                   String interval, Long startTime, Long endTime) {
+        List<String> validatedSymbols = validateSymbols(symbols);
+        if (weights == null || weights.size() != symbols.size() || validatedSymbols.size() != symbols.size()) {
+            throw new InputInvalidException("Provide exactly one weight per distinct symbol");
+        }
+        if (weights.stream().anyMatch(weight -> weight == null || weight.signum() <= 0)) {
+            throw new InputInvalidException("Weights must be positive");
+        }
+        if (weights.stream().reduce(BigDecimal.ZERO, BigDecimal::add).compareTo(BigDecimal.ONE) > 0) {
+            throw new InputInvalidException("Weights cannot add up to more than 1");
+        }
+        if (totalValue == null || totalValue.signum() <= 0) {
+            throw new InputInvalidException("Total value must be positive");
+        }
+        validateIntervalCompatibility(interval, Interval.ONE_MINUTE.toString());
+        validateTimeRange(startTime, endTime);
+
+        List<Position> positions = new ArrayList<>();
+        for (int i = 0; i < validatedSymbols.size(); i++) {
+            positions.add(new Position(validatedSymbols.get(i), weights.get(i)));
+        }
+        return positions;
+    }
+
+    public void validateSimulationRequest(Integer paths, Integer steps, Integer blockSize) {
+        if (paths == null || paths < 1 || paths > MAX_SIMULATION_PATHS) {
+            throw new LimitInvalidException("Paths must be between 1 and " + MAX_SIMULATION_PATHS, paths, MAX_SIMULATION_PATHS);
+        }
+        if (steps == null || steps < 1 || steps > MAX_SIMULATION_STEPS) {
+            throw new LimitInvalidException("Steps must be between 1 and " + MAX_SIMULATION_STEPS, steps, MAX_SIMULATION_STEPS);
+        }
+        if ((long) paths * steps > MAX_SIMULATION_PATH_STEPS) {
+            throw new InputInvalidException("Paths x steps cannot exceed " + MAX_SIMULATION_PATH_STEPS);
+        }
+        if (blockSize == null || blockSize < 1) {
+            throw new InputInvalidException("Block size must be at least 1");
+        }
+    }
+
+    public List<String> validateBulkRetrieveRequest(List<String> symbols, String interval, String baseInterval,
+                                                    Long startTime, Long endTime, Integer limit) {
+        List<String> validatedSymbols = validateSymbols(symbols);
+        validateInterval(interval);
+        validateInterval(baseInterval);
+        validateIntervalCompatibility(interval, baseInterval);
+        validateTimeRange(startTime, endTime);
+        validateLimit(limit);
+        return validatedSymbols;
+    }
+
 }
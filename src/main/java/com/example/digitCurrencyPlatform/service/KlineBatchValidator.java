@@ -0,0 +1,98 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.enums.QuarantineReason;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.KlineValidationResult;
+import com.example.digitCurrencyPlatform.model.QuarantinedKline;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Hand-written replacement for bean validation of ingested batches: a single pass checks the
+// same field constraints and OHLC/time-range rules as the Kline annotations, plus ordering and
+// continuity against the previous accepted bar, without reflection or per-row violation sets
+final class KlineBatchValidator {
+
+    private KlineBatchValidator() {
+    }
+
+    static KlineValidationResult validate(List<Kline> klines, String symbol, Interval interval) {
+        List<Kline> valid = new ArrayList<>(klines.size());
+        List<QuarantinedKline> quarantined = new ArrayList<>();
+        long intervalMs = interval.getMilliseconds();
+        // Calendar months vary in length, so only fixed-length intervals get a duration check
+        boolean checkDuration = interval != Interval.ONE_MONTH;
+        long previousOpenTime = Long.MIN_VALUE;
+        int gaps = 0;
+        long missingBars = 0;
+
+        for (Kline kline : klines) {
+            QuarantineReason reason = checkRow(kline, symbol, intervalMs, checkDuration);
+            if (reason == null && kline.getOpenTime() <= previousOpenTime) {
+                reason = kline.getOpenTime() == previousOpenTime
+                        ? QuarantineReason.DUPLICATE_OPEN_TIME
+                        : QuarantineReason.OUT_OF_ORDER;
+            }
+            if (reason != null) {
+                quarantined.add(QuarantinedKline.of(kline, reason, describe(reason, kline, previousOpenTime)));
+                continue;
+            }
+
+            if (previousOpenTime != Long.MIN_VALUE && kline.getOpenTime() - previousOpenTime > intervalMs) {
+                gaps++;
+                missingBars += (kline.getOpenTime() - previousOpenTime) / intervalMs - 1;
+            }
+            previousOpenTime = kline.getOpenTime();
+            valid.add(kline);
+        }
+
+        return new KlineValidationResult(valid, quarantined, gaps, missingBars);
+    }
+
+    private static QuarantineReason checkRow(Kline kline, String symbol, long intervalMs, boolean checkDuration) {
+        if (kline.getSymbol() == null || kline.getOpenTime() == null || kline.getCloseTime() == null
+                || kline.getOpenPrice() == null || kline.getClosePrice() == null || kline.getHighPrice() == null
+                || kline.getLowPrice() == null || kline.getVolume() == null || kline.getNumberOfTrades() == null) {
+            return QuarantineReason.MISSING_FIELD;
+        }
+        if (!kline.getSymbol().equals(symbol)) {
+            return QuarantineReason.SYMBOL_MISMATCH;
+        }
+        if (kline.getOpenTime() < 0 || kline.getCloseTime() <= kline.getOpenTime()) {
+            return QuarantineReason.INVALID_TIME_RANGE;
+        }
+        if (checkDuration && kline.getCloseTime() - kline.getOpenTime() + 1 != intervalMs) {
+            return QuarantineReason.INTERVAL_MISMATCH;
+        }
+
+        BigDecimal open = kline.getOpenPrice();
+        BigDecimal close = kline.getClosePrice();
+        BigDecimal high = kline.getHighPrice();
+        BigDecimal low = kline.getLowPrice();
+        if (open.signum() <= 0 || close.signum() <= 0 || high.signum() <= 0 || low.signum() <= 0) {
+            return QuarantineReason.NON_POSITIVE_PRICE;
+        }
+        if (kline.getVolume().signum() < 0 || kline.getNumberOfTrades() < 0) {
+            return QuarantineReason.NEGATIVE_VOLUME;
+        }
+        if (high.compareTo(open) < 0 || high.compareTo(close) < 0 || high.compareTo(low) < 0
+                || low.compareTo(open) > 0 || low.compareTo(close) > 0) {
+            return QuarantineReason.OHLC_INCONSISTENT;
+        }
+        return null;
+    }
+
+    private static String describe(QuarantineReason reason, Kline kline, long previousOpenTime) {
+        return switch (reason) {
+            case SYMBOL_MISMATCH -> "Row symbol " + kline.getSymbol();
+            case INVALID_TIME_RANGE, INTERVAL_MISMATCH ->
+                    "Open " + kline.getOpenTime() + ", close " + kline.getCloseTime();
+            case OHLC_INCONSISTENT -> "O:" + kline.getOpenPrice() + " H:" + kline.getHighPrice()
+                    + " L:" + kline.getLowPrice() + " C:" + kline.getClosePrice();
+            case DUPLICATE_OPEN_TIME, OUT_OF_ORDER -> "Previous accepted open time " + previousOpenTime;
+            default -> null;
+        };
+    }
+}
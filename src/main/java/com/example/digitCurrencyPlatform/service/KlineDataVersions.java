@@ -0,0 +1,46 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per (exchange, symbol) counter bumped whenever rows are written or dropped, used to build ETags for
+// read responses. Counters live in memory and are prefixed with the startup time, so tags
+// handed out by an earlier process (or another instance) never match and simply revalidate
+@Component
+public class KlineDataVersions {
+    private final long epoch = System.currentTimeMillis();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public void bump(Exchange exchange, String symbol) {
+        versions.computeIfAbsent(key(exchange, symbol), key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long current(Exchange exchange, String symbol) {
+        AtomicLong version = versions.get(key(exchange, symbol));
+        return version == null ? 0 : version.get();
+    }
+
+    // Strong tag over the request parameters and the data version of every (exchange, stored
+    // symbol) series the response reads from
+    public String etag(Map<Exchange, String> series, String symbol, Object... requestParameters) {
+        StringBuilder source = new StringBuilder().append(epoch);
+        for (Map.Entry<Exchange, String> entry : series.entrySet()) {
+            source.append('|').append(entry.getKey().name()).append('=').append(current(entry.getKey(), entry.getValue()));
+        }
+        source.append('|').append(symbol.toUpperCase());
+        for (Object parameter : requestParameters) {
+            source.append('|').append(parameter);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static String key(Exchange exchange, String symbol) {
+        return exchange.name() + "|" + symbol.toUpperCase();
+    }
+}
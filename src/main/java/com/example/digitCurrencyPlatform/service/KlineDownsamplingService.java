@@ -0,0 +1,66 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.repository.KlineRepository;
+import com.example.digitCurrencyPlatform.repository.KlineStreamReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Reduces any stored range to a fixed number of points for charting. A COUNT over the range
+// fixes the bucket boundaries, then the rows are streamed once through the downsampler, so
+// memory depends on the number of points requested rather than on the range length
+@Service
+public class KlineDownsamplingService {
+    private final KlineRepository klineRepository;
+    private final KlineStreamReader klineStreamReader;
+    private final KlineMetadataService klineMetadataService;
+
+    @Autowired
+    public KlineDownsamplingService(KlineRepository klineRepository, KlineStreamReader klineStreamReader,
+                                    KlineMetadataService klineMetadataService) {
+        this.klineRepository = klineRepository;
+        this.klineStreamReader = klineStreamReader;
+        this.klineMetadataService = klineMetadataService;
+    }
+
+    // Original bars picked by Largest-Triangle-Three-Buckets on the close price
+    public List<Kline> downsampleLttb(Exchange exchange, String symbol, long startTime, long endTime, int points) {
+        long rows = countRows(exchange, symbol, startTime, endTime);
+        if (rows == 0) {
+            return new ArrayList<>();
+        }
+        LttbDownsampler downsampler = new LttbDownsampler(rows, points);
+        stream(exchange, symbol, startTime, endTime, rows, downsampler::accept);
+        return downsampler.finish();
+    }
+
+    // Candles folded over equal row ranges, keeping each range's true high and low
+    public List<Kline> downsampleOhlc(Exchange exchange, String symbol, long startTime, long endTime, int bars) {
+        long rows = countRows(exchange, symbol, startTime, endTime);
+        if (rows == 0) {
+            return new ArrayList<>();
+        }
+        OhlcDownsampler downsampler = new OhlcDownsampler(rows, bars);
+        stream(exchange, symbol, startTime, endTime, rows, downsampler::accept);
+        return downsampler.finish();
+    }
+
+    private long countRows(Exchange exchange, String symbol, long startTime, long endTime) {
+        if (!klineMetadataService.mayHaveData(exchange, symbol, startTime, endTime)) {
+            return 0;
+        }
+        return klineRepository.countKlineDataAfter(exchange, symbol, startTime - 1, endTime);
+    }
+
+    // Capped at the counted rows so rows inserted after the count can't overflow the last bucket
+    private void stream(Exchange exchange, String symbol, long startTime, long endTime, long rows,
+                        Consumer<Kline> consumer) {
+        klineStreamReader.forEach(exchange, symbol, startTime - 1, endTime,
+                (int) Math.min(rows, Integer.MAX_VALUE), consumer);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.SymbolMetadata;
+import com.example.digitCurrencyPlatform.repository.KlineSymbolMetadataRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory view of kline_symbol_metadata: first/last open time, row count and latest close per
+// stored (exchange, symbol). Loaded lazily and written through on every insert. Another instance
+// may have inserted since the cache was filled, so a "no data" answer re-reads that one row
+// before it is trusted; positive answers only ever lead to a normal scan
+@Slf4j
+@Service
+public class KlineMetadataService {
+    private final KlineSymbolMetadataRepository metadataRepository;
+    private final Map<String, SymbolMetadata> cache = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Autowired
+    public KlineMetadataService(KlineSymbolMetadataRepository metadataRepository) {
+        this.metadataRepository = metadataRepository;
+    }
+
+    public void recordInsert(Exchange exchange, String symbol, List<Kline> klines, long insertedRows) {
+        if (!klines.isEmpty()) {
+            recordInsert(SymbolMetadata.of(exchange.name(), symbol, klines, insertedRows));
+        }
+    }
+
+    public void recordInsert(SymbolMetadata delta) {
+        metadataRepository.merge(delta);
+        refresh(delta.getExchange(), delta.getSymbol());
+    }
+
+    public Optional<SymbolMetadata> find(Exchange exchange, String symbol) {
+        ensureLoaded();
+        SymbolMetadata metadata = cache.get(key(exchange.name(), symbol));
+        return Optional.ofNullable(metadata != null ? metadata : refresh(exchange.name(), symbol));
+    }
+
+    // False only when no stored bar of the series can open inside [startTime, endTime]
+    public boolean mayHaveData(Exchange exchange, String symbol, long startTime, long endTime) {
+        ensureLoaded();
+        SymbolMetadata metadata = cache.get(key(exchange.name(), symbol));
+        if (metadata != null && metadata.overlaps(startTime, endTime)) {
+            return true;
+        }
+        SymbolMetadata current = refresh(exchange.name(), symbol);
+        return current != null && current.overlaps(startTime, endTime);
+    }
+
+    public List<SymbolMetadata> findAll(Exchange exchange) {
+        ensureLoaded();
+        return cache.values().stream()
+                .filter(metadata -> exchange == null || exchange.name().equals(metadata.getExchange()))
+                .sorted(Comparator.comparing(SymbolMetadata::getExchange).thenComparing(SymbolMetadata::getSymbol))
+                .toList();
+    }
+
+    // Recounts every series from kline_data. Needed after rows disappear (expired partitions);
+    // the scheduled run is off unless app.kline.metadata.rebuild-cron is set
+    @Scheduled(cron = "${app.kline.metadata.rebuild-cron:-}", zone = "UTC")
+    public void rebuild() {
+        metadataRepository.rebuild();
+        int removed = metadataRepository.deleteEmpty();
+        reload();
+        log.info("Rebuilt kline metadata catalog: {} series, {} removed", cache.size(), removed);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private synchronized void reload() {
+        Map<String, SymbolMetadata> fresh = new ConcurrentHashMap<>();
+        for (SymbolMetadata metadata : metadataRepository.findAll()) {
+            fresh.put(key(metadata.getExchange(), metadata.getSymbol()), metadata);
+        }
+        cache.keySet().retainAll(fresh.keySet());
+        cache.putAll(fresh);
+        loaded = true;
+    }
+
+    private SymbolMetadata refresh(String exchange, String symbol) {
+        SymbolMetadata metadata = metadataRepository.find(exchange, symbol);
+        if (metadata != null) {
+            cache.put(key(exchange, symbol), metadata);
+        } else {
+            cache.remove(key(exchange, symbol));
+        }
+        return metadata;
+    }
+
+    private static String key(String exchange, String symbol) {
+        return exchange + "|" + symbol.toUpperCase();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.exception.InputInvalidException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque continuation token for keyset pagination. It carries the open_time up to which base rows
+// were returned, bound to the query it came from so it cannot be replayed against another one
+final class KlinePageToken {
+    private static final String VERSION = "v2";
+    private static final String SEPARATOR = "|";
+
+    private KlinePageToken() {
+    }
+
+    static String encode(String source, String symbol, Interval interval, Interval baseInterval, long lastOpenTime) {
+        String raw = String.join(SEPARATOR, VERSION, source, symbol, interval.getValue(), baseInterval.getValue(),
+                Long.toString(lastOpenTime));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decode(String token, String source, String symbol, Interval interval, Interval baseInterval) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new InputInvalidException("Malformed page token");
+        }
+
+        if (parts.length != 6 || !VERSION.equals(parts[0])) {
+            throw new InputInvalidException("Malformed page token");
+        }
+        if (!parts[1].equals(source) || !parts[2].equals(symbol)
+                || !parts[3].equals(interval.getValue()) || !parts[4].equals(baseInterval.getValue())) {
+            throw new InputInvalidException("Page token does not match the requested exchange, symbol and intervals");
+        }
+
+        try {
+            return Long.parseLong(parts[5]);
+        } catch (NumberFormatException e) {
+            throw new InputInvalidException("Malformed page token");
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.cache.KlineSeriesCache;
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.model.SymbolMetadata;
+import com.example.digitCurrencyPlatform.model.TablePartition;
+import com.example.digitCurrencyPlatform.repository.KlinePartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+// Keeps the monthly RANGE partitions of kline_data rolling: months ahead are split off
+// p_future before data arrives, and months past the retention window are dropped, optionally
+// after being swapped into a kline_data_archive_pYYYYMM table
+@Slf4j
+@Service
+public class KlinePartitionMaintenanceService {
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final String MAXVALUE = "MAXVALUE";
+    private static final String ARCHIVE_TABLE_PREFIX = "kline_data_archive_";
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final KlinePartitionRepository partitionRepository;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean archiveExpired;
+    private final KlineMetadataService klineMetadataService;
+    private final KlineSeriesCache klineSeriesCache;
+    private final KlineDataVersions klineDataVersions;
+
+    @Autowired
+    public KlinePartitionMaintenanceService(KlinePartitionRepository partitionRepository,
+                                            @Value("${app.kline.partition.enabled:true}") boolean enabled,
+                                            @Value("${app.kline.partition.months-ahead:3}") int monthsAhead,
+                                            @Value("${app.kline.partition.retention-months:0}") int retentionMonths,
+                                            @Value("${app.kline.partition.archive:false}") boolean archiveExpired,
+                                            KlineMetadataService klineMetadataService,
+                                            KlineSeriesCache klineSeriesCache,
+                                            KlineDataVersions klineDataVersions) {
+        this.partitionRepository = partitionRepository;
+        this.klineMetadataService = klineMetadataService;
+        this.klineSeriesCache = klineSeriesCache;
+        this.klineDataVersions = klineDataVersions;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveExpired = archiveExpired;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.kline.partition.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<TablePartition> partitions = partitionRepository.findPartitions();
+            if (partitions.isEmpty()) {
+                log.warn("kline_data is not partitioned, skipping partition maintenance");
+                return;
+            }
+
+            YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+            createFuturePartitions(partitions, currentMonth);
+            if (retentionMonths > 0) {
+                expirePartitions(partitionRepository.findPartitions(), currentMonth.minusMonths(retentionMonths));
+            }
+        } catch (Exception e) {
+            log.error("Kline partition maintenance failed", e);
+        }
+    }
+
+    private void createFuturePartitions(List<TablePartition> partitions, YearMonth currentMonth) {
+        if (partitions.stream().noneMatch(partition -> FUTURE_PARTITION.equals(partition.getName()))) {
+            log.warn("kline_data has no {} partition, cannot pre-create monthly partitions", FUTURE_PARTITION);
+            return;
+        }
+
+        long highestBound = partitions.stream()
+                .filter(partition -> !MAXVALUE.equals(partition.getDescription()))
+                .mapToLong(partition -> Long.parseLong(partition.getDescription()))
+                .max()
+                .orElse(monthStart(currentMonth));
+
+        // The month starting at the current highest bound is the first one still in p_future
+        YearMonth month = YearMonth.from(Instant.ofEpochMilli(highestBound).atZone(ZoneOffset.UTC));
+        YearMonth lastMonth = currentMonth.plusMonths(monthsAhead);
+
+        List<TablePartition> newPartitions = new ArrayList<>();
+        for (; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            newPartitions.add(new TablePartition(month.format(PARTITION_NAME_FORMAT),
+                    Long.toString(monthStart(month.plusMonths(1)))));
+        }
+
+        if (!newPartitions.isEmpty()) {
+            partitionRepository.splitFuturePartition(newPartitions);
+            log.info("Created kline_data partitions {} to {}", newPartitions.get(0).getName(),
+                    newPartitions.get(newPartitions.size() - 1).getName());
+        }
+    }
+
+    private void expirePartitions(List<TablePartition> partitions, YearMonth oldestRetainedMonth) {
+        long cutoff = monthStart(oldestRetainedMonth);
+        List<TablePartition> expired = partitions.stream()
+                .filter(partition -> !MAXVALUE.equals(partition.getDescription()))
+                .filter(partition -> Long.parseLong(partition.getDescription()) <= cutoff)
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        // Every row below the highest dropped bound goes; taken from the catalog before the rebuild
+        // forgets which series had rows there
+        long droppedBefore = expired.stream()
+                .mapToLong(partition -> Long.parseLong(partition.getDescription()))
+                .max()
+                .getAsLong();
+        List<SymbolMetadata> affected = klineMetadataService.findAll(null).stream()
+                .filter(metadata -> metadata.getFirstOpenTime() < droppedBefore)
+                .toList();
+
+        for (TablePartition partition : expired) {
+            if (archiveExpired) {
+                String archiveTable = ARCHIVE_TABLE_PREFIX + partition.getName();
+                partitionRepository.createArchiveTable(archiveTable);
+                try {
+                    partitionRepository.removeArchivePartitioning(archiveTable);
+                } catch (Exception e) {
+                    // Left over from an interrupted run and already unpartitioned
+                    log.debug("Archive table {} is already unpartitioned", archiveTable);
+                }
+                partitionRepository.exchangePartition(partition.getName(), archiveTable);
+                log.info("Archived kline_data partition {} into {}", partition.getName(), archiveTable);
+            }
+
+            partitionRepository.dropPartition(partition.getName());
+            log.info("Dropped expired kline_data partition {}", partition.getName());
+        }
+
+        // First open times and row counts in the catalog now point at deleted rows, cached blocks
+        // of the dropped months would keep serving them, and ETags issued before the drop would
+        // still validate
+        klineMetadataService.rebuild();
+        for (SymbolMetadata metadata : affected) {
+            Exchange exchange = Exchange.valueOf(metadata.getExchange());
+            klineSeriesCache.invalidate(exchange, metadata.getSymbol(), metadata.getFirstOpenTime(), droppedBefore - 1);
+            klineDataVersions.bump(exchange, metadata.getSymbol());
+        }
+    }
+
+    private static long monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+}
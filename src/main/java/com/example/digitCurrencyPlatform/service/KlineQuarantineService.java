@@ -0,0 +1,66 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.enums.QuarantineReason;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.KlineValidationResult;
+import com.example.digitCurrencyPlatform.model.QuarantinedKline;
+import com.example.digitCurrencyPlatform.repository.KlineQuarantineRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Screens fetched batches before they are written and keeps the rejects in kline_quarantine
+@Slf4j
+@Service
+public class KlineQuarantineService {
+    private static final int MAX_DETAIL_LENGTH = 255;
+
+    private final KlineQuarantineRepository quarantineRepository;
+
+    @Autowired
+    public KlineQuarantineService(KlineQuarantineRepository quarantineRepository) {
+        this.quarantineRepository = quarantineRepository;
+    }
+
+    // Returns the rows that are safe to insert
+    public List<Kline> screen(Exchange exchange, String symbol, Interval interval, List<Kline> klines) {
+        KlineValidationResult result = KlineBatchValidator.validate(klines, symbol, interval);
+        if (!result.getQuarantined().isEmpty()) {
+            result.getQuarantined().forEach(row -> row.setExchange(exchange.name()));
+            quarantine(result.getQuarantined());
+        }
+        if (result.getGaps() > 0) {
+            log.warn("Batch for {} {} {} has {} gaps ({} missing bars)",
+                    exchange, symbol, interval.getValue(), result.getGaps(), result.getMissingBars());
+        }
+        return result.getValid();
+    }
+
+    public static QuarantinedKline unparseable(Exchange exchange, String symbol, Object rawRow, Exception cause) {
+        return new QuarantinedKline(exchange.name(), symbol, null, QuarantineReason.UNPARSEABLE,
+                cause.toString(), String.valueOf(rawRow), System.currentTimeMillis());
+    }
+
+    // Quarantine is best effort: losing a reject record must not fail the ingestion job
+    public void quarantine(List<QuarantinedKline> rows) {
+        rows.forEach(row -> row.setDetail(truncate(row.getDetail())));
+        try {
+            quarantineRepository.batchInsert(rows);
+            log.warn("Quarantined {} kline rows, first reason: {}", rows.size(), rows.get(0).getReason());
+        } catch (Exception e) {
+            log.error("Failed to quarantine {} kline rows", rows.size(), e);
+        }
+    }
+
+    public List<QuarantinedKline> findRecent(String symbol, int limit) {
+        return quarantineRepository.findRecentBySymbol(symbol, limit);
+    }
+
+    private static String truncate(String detail) {
+        return detail == null || detail.length() <= MAX_DETAIL_LENGTH ? detail : detail.substring(0, MAX_DETAIL_LENGTH);
+    }
+}
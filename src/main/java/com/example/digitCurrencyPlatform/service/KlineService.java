@@ -1,8 +1,18 @@
 package com.example.digitCurrencyPlatform.service;
 
+import com.example.digitCurrencyPlatform.cache.KlineSeriesCache;
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.IngestionMode;
 import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.metrics.KlineMetrics;
+import com.example.digitCurrencyPlatform.metrics.RequestTimings;
+import com.example.digitCurrencyPlatform.model.IngestionReport;
 import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.KlinePage;
+import com.example.digitCurrencyPlatform.model.SymbolMetadata;
 import com.example.digitCurrencyPlatform.model.exception.InputInvalidException;
+import com.example.digitCurrencyPlatform.repository.CompositeKlineReader;
+import com.example.digitCurrencyPlatform.repository.KlineBulkLoader;
 import com.example.digitCurrencyPlatform.repository.KlineRepository;
 import com.example.digitCurrencyPlatform.service.provider.KlineDataProvider;
 import jakarta.validation.Valid;
@@ -10,27 +20,71 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
+@Slf4j
 @Service
 public class KlineService {
+    // Pseudo-exchange accepted by the read endpoints for the cross-venue series
+    public static final String COMPOSITE_EXCHANGE = "COMPOSITE";
 
     private final KlineRepository klineRepository;
     private final Map<String, KlineDataProvider> providers;
+    private final TaskExecutor klineQueryExecutor;
+    private final boolean pushdownEnabled;
+    private final long pushdownMinRows;
+    private final KlineBulkLoader klineBulkLoader;
+    private final boolean bulkLoadEnabled;
+    private final long bulkLoadMinRows;
+    private final KlineMetrics klineMetrics;
+    private final KlineQuarantineService quarantineService;
+    private final CompositeKlineReader compositeKlineReader;
+    private final KlineDataVersions klineDataVersions;
+    private final KlineMetadataService klineMetadataService;
+    private final KlineSeriesCache klineSeriesCache;
 
     @Autowired
-    public KlineService(KlineRepository klineRepository, List<KlineDataProvider> dataProviders) {
+    public KlineService(KlineRepository klineRepository, List<KlineDataProvider> dataProviders,
+                        @Qualifier("klineQueryExecutor") TaskExecutor klineQueryExecutor,
+                        @Value("${app.kline.pushdown.enabled:true}") boolean pushdownEnabled,
+                        @Value("${app.kline.pushdown.min-rows:20000}") long pushdownMinRows,
+                        KlineBulkLoader klineBulkLoader,
+                        @Value("${app.kline.bulk-load.enabled:false}") boolean bulkLoadEnabled,
+                        @Value("${app.kline.bulk-load.min-rows:100000}") long bulkLoadMinRows,
+                        KlineMetrics klineMetrics,
+                        KlineQuarantineService quarantineService,
+                        CompositeKlineReader compositeKlineReader,
+                        KlineDataVersions klineDataVersions,
+                        KlineMetadataService klineMetadataService,
+                        KlineSeriesCache klineSeriesCache) {
         this.klineRepository = klineRepository;
+        this.klineSeriesCache = klineSeriesCache;
+        this.klineMetadataService = klineMetadataService;
+        this.klineDataVersions = klineDataVersions;
+        this.compositeKlineReader = compositeKlineReader;
+        this.quarantineService = quarantineService;
+        this.klineMetrics = klineMetrics;
+        this.klineBulkLoader = klineBulkLoader;
+        this.bulkLoadEnabled = bulkLoadEnabled;
+        this.bulkLoadMinRows = bulkLoadMinRows;
+        this.klineQueryExecutor = klineQueryExecutor;
+        this.pushdownEnabled = pushdownEnabled;
+        this.pushdownMinRows = pushdownMinRows;
         this.providers = new HashMap<>();
         dataProviders.forEach(provider -> providers.put(provider.getProviderName().toUpperCase(), provider));
     }
 
-    public void fetchAndSaveKlines(
+    public IngestionReport fetchAndSaveKlines(
             @NotBlank(message = "Provider name cannot be blank") String providerName,
             @NotBlank(message = "Symbol cannot be blank") String symbol,
             @NotNull(message = "Interval cannot be null") Interval interval,
@@ -38,6 +92,18 @@ public class KlineService {
             @Min(value = 0, message = "Start time must be non-negative") Long startTime,
             @NotNull(message = "End time cannot be null") @Min(value = 0, message = "End time must be non-negative") Long endTime,
             int limit) {
+        return fetchAndSaveKlines(providerName, symbol, interval, startTime, endTime, limit, IngestionMode.AUTO);
+    }
+
+    public IngestionReport fetchAndSaveKlines(
+            @NotBlank(message = "Provider name cannot be blank") String providerName,
+            @NotBlank(message = "Symbol cannot be blank") String symbol,
+            @NotNull(message = "Interval cannot be null") Interval interval,
+            @NotNull(message = "Start time cannot be null")
+            @Min(value = 0, message = "Start time must be non-negative") Long startTime,
+            @NotNull(message = "End time cannot be null") @Min(value = 0, message = "End time must be non-negative") Long endTime,
+            int limit,
+            @NotNull(message = "Ingestion mode cannot be null") IngestionMode mode) {
         KlineDataProvider provider = providers.get(providerName.toUpperCase());
         if (provider == null) {
             throw new IllegalArgumentException("Provider not found");
@@ -47,34 +113,157 @@ public class KlineService {
         long gap = (long) limit * intervalMs;
 
         List<TimeRange> timeRanges = createTimeRanges(startTime, endTime, gap);
+        IngestionMode resolvedMode = resolveIngestionMode(mode, (endTime - startTime) / intervalMs);
+
+        long started = System.nanoTime();
+        long rows = resolvedMode == IngestionMode.BULK_LOAD
+                ? bulkLoadKlines(provider, symbol, interval, timeRanges)
+                : batchInsertKlines(provider, symbol, interval, timeRanges);
+        IngestionReport report = IngestionReport.of(resolvedMode, rows, System.nanoTime() - started);
 
-        List<Kline> allKlines = timeRanges.parallelStream()
+        log.info("Total fetched and saved: {} kline records via {} ({} rows/s)",
+                report.getRows(), resolvedMode, report.getRowsPerSecond());
+        return report;
+    }
+
+    private long batchInsertKlines(KlineDataProvider provider, String symbol, Interval interval,
+                                   List<TimeRange> timeRanges) {
+        return timeRanges.parallelStream()
                 .map(range -> {
-                    System.out.println("Fetching data from " + range.start + " to " + range.end +
-                            " on thread: " + Thread.currentThread().getName());
-                    return provider.fetchKlines(symbol, interval, range.start, range.end);
+                    log.debug("Fetching {} {} from {} to {}", provider.getExchange(), symbol, range.start, range.end);
+                    return quarantineService.screen(provider.getExchange(), symbol, interval,
+                            provider.fetchKlines(symbol, interval, range.start, range.end));
                 })
                 .filter(klines -> !klines.isEmpty())
-                .peek(klines -> {
+                .mapToLong(klines -> {
                     // Save each batch immediately to avoid memory issues
-                    klineRepository.batchInsert(klines);
-                    System.out.println("Inserted " + klines.size() + " records from thread: " +
-                            Thread.currentThread().getName());
+                    int inserted = klineRepository.batchInsert(provider.getExchange(), klines);
+                    if (inserted > 0) {
+                        afterInsert(provider.getExchange(), symbol,
+                                SymbolMetadata.of(provider.getExchange().name(), symbol, klines, inserted));
+                    }
+                    log.debug("Inserted {} {} {} records", inserted, provider.getExchange(), symbol);
+                    return inserted;
                 })
-                .flatMap(List::stream)
-                .toList();
+                .sum();
+    }
 
-        System.out.println("Total fetched and saved: " + allKlines.size() + " kline records");
+    // Fetch threads write straight into a single LOAD DATA stream as their batches arrive
+    private long bulkLoadKlines(KlineDataProvider provider, String symbol, Interval interval,
+                                List<TimeRange> timeRanges) {
+        String exchange = provider.getExchange().name();
+        AtomicReference<SymbolMetadata> loaded = new AtomicReference<>();
+        long rows = klineBulkLoader.load(provider.getExchange(), writer -> timeRanges.parallelStream()
+                .map(range -> quarantineService.screen(provider.getExchange(), symbol, interval,
+                        provider.fetchKlines(symbol, interval, range.start, range.end)))
+                .filter(klines -> !klines.isEmpty())
+                .forEach(klines -> {
+                    writer.write(klines);
+                    SymbolMetadata batch = SymbolMetadata.of(exchange, symbol, klines, 0);
+                    loaded.accumulateAndGet(batch, (total, next) -> total == null ? next : total.merge(next));
+                }));
+        if (loaded.get() != null) {
+            // The load skips duplicate keys, so only its own row count is trustworthy
+            SymbolMetadata summary = loaded.get();
+            summary.setRowCount(rows);
+            afterInsert(provider.getExchange(), symbol, summary);
+        }
+        return rows;
+    }
+
+    // Everything derived from stored rows learns about the new ones here: the metadata catalog,
+    // the off-heap cache and the data versions behind response ETags
+    private void afterInsert(Exchange exchange, String symbol, SymbolMetadata inserted) {
+        klineMetadataService.recordInsert(inserted);
+        klineSeriesCache.invalidate(exchange, symbol, inserted.getFirstOpenTime(), inserted.getLastOpenTime());
+        klineDataVersions.bump(exchange, symbol);
+    }
+
+    private IngestionMode resolveIngestionMode(IngestionMode requested, long estimatedRows) {
+        if (requested == IngestionMode.BULK_LOAD && !bulkLoadEnabled) {
+            throw new InputInvalidException("Bulk-load ingestion is disabled (app.kline.bulk-load.enabled)");
+        }
+        if (requested == IngestionMode.AUTO) {
+            return bulkLoadEnabled && estimatedRows >= bulkLoadMinRows ? IngestionMode.BULK_LOAD : IngestionMode.BATCH_INSERT;
+        }
+        return requested;
     }
 
 
     public List<Kline> retrieveKlinesWithDifferentIntervals(
+            @NotNull(message = "Exchange cannot be null") Exchange exchange,
             @NotBlank(message = "Symbol cannot be blank") String symbol,
             @NotNull(message = "Interval cannot be null") Interval interval,
             @NotNull(message = "Start time cannot be null") @Min(value = 0, message = "Start time must be non-negative") Long startTime,
             @NotNull(message = "End time cannot be null") @Min(value = 0, message = "End time must be non-negative") Long endTime,
             int limit,
             @NotNull(message = "Base interval cannot be null") Interval baseInterval) {
+        return retrieveKlinePage(exchange, symbol, interval, startTime, endTime, limit, baseInterval, null).getKlines();
+    }
+
+
+    // Keyset pagination ordered by open_time: the page token carries the open_time up to which rows were
+    // consumed, so the next page seeks straight past it instead of skipping rows. Large
+    // aggregated ranges are collapsed in MySQL instead of in the JVM
+    public KlinePage retrieveKlinePage(
+            @NotNull(message = "Exchange cannot be null") Exchange exchange,
+            @NotBlank(message = "Symbol cannot be blank") String symbol,
+            @NotNull(message = "Interval cannot be null") Interval interval,
+            @NotNull(message = "Start time cannot be null") @Min(value = 0, message = "Start time must be non-negative") Long startTime,
+            @NotNull(message = "End time cannot be null") @Min(value = 0, message = "End time must be non-negative") Long endTime,
+            int limit,
+            @NotNull(message = "Base interval cannot be null") Interval baseInterval,
+            String pageToken) {
+        // The catalog answers impossible ranges without scanning kline_data
+        if (!klineMetadataService.mayHaveData(exchange, symbol, startTime, endTime)) {
+            return new KlinePage(new ArrayList<>(), null);
+        }
+        return retrievePage(exchange.name(), symbol, interval, startTime, endTime, limit, baseInterval, pageToken,
+                (afterOpenTime, closeTime, rows) ->
+                        klineSeriesCache.retrieveKlineDataAfter(exchange, symbol, afterOpenTime, closeTime, rows),
+                (afterOpenTime, closeTime, bars, targetIntervalMs) ->
+                        retrieveAggregatedInDatabase(exchange, symbol, afterOpenTime, closeTime, bars, targetIntervalMs));
+    }
+
+    // Same paging and aggregation as retrieveKlinePage, over the volume-weighted merge of every
+    // configured exchange's series. Composite rows only exist in the JVM, so there is no pushdown
+    public KlinePage retrieveCompositeKlinePage(
+            @NotBlank(message = "Symbol cannot be blank") String symbol,
+            @NotNull(message = "Interval cannot be null") Interval interval,
+            @NotNull(message = "Start time cannot be null") @Min(value = 0, message = "Start time must be non-negative") Long startTime,
+            @NotNull(message = "End time cannot be null") @Min(value = 0, message = "End time must be non-negative") Long endTime,
+            int limit,
+            @NotNull(message = "Base interval cannot be null") Interval baseInterval,
+            String pageToken) {
+        List<Exchange> exchanges = compositeExchanges();
+        return retrievePage(COMPOSITE_EXCHANGE, symbol, interval, startTime, endTime, limit, baseInterval, pageToken,
+                (afterOpenTime, closeTime, rows) ->
+                        compositeKlineReader.read(exchanges, symbol, afterOpenTime, closeTime, rows),
+                null);
+    }
+
+    public List<Exchange> compositeExchanges() {
+        return providers.values().stream().map(KlineDataProvider::getExchange).distinct().sorted().toList();
+    }
+
+    // Each composite venue with the symbol it stores this market under
+    public Map<Exchange, String> compositeSeries(String symbol) {
+        Map<Exchange, String> series = new LinkedHashMap<>();
+        compositeExchanges().forEach(exchange -> series.put(exchange, exchange.storedSymbol(symbol)));
+        return series;
+    }
+
+    private interface BaseRowSource {
+        List<Kline> read(long afterOpenTime, long closeTime, int rows);
+    }
+
+    private interface AggregatedRowSource {
+        List<Kline> read(long afterOpenTime, long closeTime, int bars, long targetIntervalMs);
+    }
+
+    private KlinePage retrievePage(String source, String symbol, Interval interval, long startTime, long endTime,
+                                   int limit, Interval baseInterval, String pageToken,
+                                   BaseRowSource baseRows, AggregatedRowSource aggregatedRows) {
         int numToRetrieve;
         long targetIntervalMs = interval.getMilliseconds();
         long baseIntervalMs = baseInterval.getMilliseconds();
@@ -86,31 +275,104 @@ public class KlineService {
         int baseIntervalsPerTarget = (int) (targetIntervalMs / baseIntervalMs);
         numToRetrieve = limit * baseIntervalsPerTarget;
 
-        System.out.println(numToRetrieve);
-        List<Kline> klines = klineRepository.retrieveKlineDataWithStartAndEndTime(symbol, startTime, endTime, numToRetrieve);
+        long afterOpenTime = pageToken == null
+                ? startTime - 1
+                : Math.max(startTime - 1, KlinePageToken.decode(pageToken, source, symbol, interval, baseInterval));
 
+        List<Kline> aggregatedKlines;
+        boolean truncated;
 
-        if (klines.isEmpty()) {
-            return new ArrayList<>();
+        if (targetIntervalMs == baseIntervalMs) {
+            aggregatedKlines = baseRows.read(afterOpenTime, endTime, limit);
+            truncated = aggregatedKlines.size() == limit;
+        } else if (aggregatedRows != null && shouldPushDownAggregation(afterOpenTime, endTime, baseIntervalMs, numToRetrieve)) {
+            aggregatedKlines = aggregatedRows.read(afterOpenTime, endTime, limit, targetIntervalMs);
+            klineMetrics.recordAggregationRows("database",
+                    Math.min(numToRetrieve, (endTime - afterOpenTime) / baseIntervalMs));
+            truncated = aggregatedKlines.size() == limit;
+        } else {
+            List<Kline> klines = baseRows.read(afterOpenTime, endTime, numToRetrieve);
+            if (klines.isEmpty()) {
+                return new KlinePage(new ArrayList<>(), null);
+            }
+            long aggregationStarted = System.nanoTime();
+            aggregatedKlines = aggregateKlines(klines, interval, baseInterval);
+            RequestTimings.record(RequestTimings.AGGREGATION, System.nanoTime() - aggregationStarted);
+            klineMetrics.recordAggregationRows("jvm", klines.size());
+            truncated = klines.size() == numToRetrieve || aggregatedKlines.size() > limit;
+
+            // The row limit can cut the last window short; leave it for the next page
+            Kline lastRow = klines.get(klines.size() - 1);
+            Kline lastWindow = aggregatedKlines.get(aggregatedKlines.size() - 1);
+            if (klines.size() == numToRetrieve && aggregatedKlines.size() > 1
+                    && lastRow.getOpenTime() + baseIntervalMs <= lastWindow.getCloseTime()) {
+                aggregatedKlines.remove(aggregatedKlines.size() - 1);
+            }
+            if (aggregatedKlines.size() > limit) {
+                aggregatedKlines = new ArrayList<>(aggregatedKlines.subList(0, limit));
+            }
         }
 
-        if (targetIntervalMs == baseIntervalMs) {
-            return klines.parallelStream().limit(limit).collect(Collectors.toList());
+        if (aggregatedKlines.isEmpty()) {
+            return new KlinePage(new ArrayList<>(), null);
         }
 
-        List<Kline> aggregatedKlines = aggregateKlines(klines, interval, baseInterval);
+        // Every base row up to the last returned bar's close time has been consumed
+        String nextPageToken = truncated
+                ? KlinePageToken.encode(source, symbol, interval, baseInterval,
+                aggregatedKlines.get(aggregatedKlines.size() - 1).getCloseTime())
+                : null;
 
-        return aggregatedKlines.parallelStream().limit(limit).collect(Collectors.toList());
+        return new KlinePage(aggregatedKlines, nextPageToken);
     }
 
 
-    private List<Kline> aggregateKlines(@NotNull @NotEmpty List<@Valid Kline> klines, @NotNull Interval interval, @NotNull Interval baseInterval) {
+    // Cost model: shipping and mapping base rows dominates JVM aggregation, so once the
+    // expected row count crosses the threshold we let MySQL collapse them instead
+    private boolean shouldPushDownAggregation(long afterOpenTime, long endTime, long baseIntervalMs, int numToRetrieve) {
+        if (!pushdownEnabled) {
+            return false;
+        }
+        long estimatedRows = Math.min(numToRetrieve, (endTime - afterOpenTime) / baseIntervalMs);
+        return estimatedRows >= pushdownMinRows;
+    }
+
+    private List<Kline> retrieveAggregatedInDatabase(Exchange exchange, String symbol, long afterOpenTime, long endTime,
+                                                     int limit, long targetIntervalMs) {
+        // Anchor buckets at the first stored row, as the JVM aggregation does
+        Long origin = klineRepository.findFirstOpenTimeAfter(exchange, symbol, afterOpenTime, endTime);
+        if (origin == null) {
+            return new ArrayList<>();
+        }
+        return klineRepository.retrieveAggregatedKlines(exchange, symbol, origin, endTime, targetIntervalMs, limit);
+    }
+
+
+    // Runs the per-symbol scan and aggregation on the bounded query pool; futures are
+    // returned in request order so callers can stream each symbol as soon as it is ready
+    public Map<String, CompletableFuture<List<Kline>>> retrieveKlinesForSymbols(
+            @NotNull(message = "Exchange cannot be null") Exchange exchange,
+            @NotEmpty(message = "Symbols cannot be empty") List<String> symbols,
+            @NotNull(message = "Interval cannot be null") Interval interval,
+            @NotNull(message = "Start time cannot be null") Long startTime,
+            @NotNull(message = "End time cannot be null") Long endTime,
+            int limit,
+            @NotNull(message = "Base interval cannot be null") Interval baseInterval) {
+        Map<String, CompletableFuture<List<Kline>>> results = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            results.put(symbol, CompletableFuture.supplyAsync(
+                    () -> retrieveKlinesWithDifferentIntervals(exchange, symbol, interval, startTime, endTime, limit, baseInterval),
+                    klineQueryExecutor));
+        }
+        return results;
+    }
+
+
+    List<Kline> aggregateKlines(@NotNull @NotEmpty List<@Valid Kline> klines, @NotNull Interval interval, @NotNull Interval baseInterval) {
         if (interval.getMilliseconds() < baseInterval.getMilliseconds()) {
             throw new IllegalArgumentException();
         }
         long targetIntervalMs = interval.getMilliseconds();
-        long baseIntervalMs = baseInterval.getMilliseconds();
-        int baseIntervalsPerTarget = (int) (targetIntervalMs / baseIntervalMs);
 
         klines.sort(Comparator.comparing(Kline::getOpenTime));
 
@@ -118,25 +380,23 @@ public class KlineService {
 
         long firstKlineTime = klines.get(0).getOpenTime();
 
-        long windowStart = firstKlineTime;
-
         int currentIndex = 0;
 
         while (currentIndex < klines.size()) {
+            // Windows are anchored at the first row and keyed by time, the same bucketing the
+            // SQL pushdown uses, so gaps in the data never shift later windows
+            long bucket = (klines.get(currentIndex).getOpenTime() - firstKlineTime) / targetIntervalMs;
+            long windowStart = firstKlineTime + bucket * targetIntervalMs;
             long windowEnd = windowStart + targetIntervalMs;
             List<Kline> windowKlines = new ArrayList<>();
 
-            for (int i = 0; i < baseIntervalsPerTarget; i++) {
+            while (currentIndex < klines.size() && klines.get(currentIndex).getOpenTime() < windowEnd) {
                 windowKlines.add(klines.get(currentIndex));
                 currentIndex++;
             }
 
-            if (!windowKlines.isEmpty()) {
-                Kline aggregatedKline = aggregateKlineWindow(windowKlines, windowStart, targetIntervalMs);
-                aggregatedKlines.add(aggregatedKline);
-            }
-
-            windowStart = windowEnd;
+            Kline aggregatedKline = aggregateKlineWindow(windowKlines, windowStart, targetIntervalMs);
+            aggregatedKlines.add(aggregatedKline);
         }
 
         return aggregatedKlines;
@@ -184,11 +444,13 @@ public class KlineService {
         return new ArrayList<>(providers.keySet());
     }
 
+    // Provider ranges are inclusive at both ends, so consecutive ranges must not share a boundary
+    // or the bar opening on it would be fetched twice and collide on insert
     private List<TimeRange> createTimeRanges(Long startTime, Long endTime, Long limit) {
         List<TimeRange> ranges = new ArrayList<>();
 
-        for (Long current = startTime; current < endTime; current += limit) {
-            Long rangeEnd = Math.min(current + limit, endTime);
+        for (long current = startTime; current < endTime; current += limit) {
+            long rangeEnd = Math.min(current + limit - 1, endTime);
             ranges.add(new TimeRange(current, rangeEnd));
         }
 
@@ -0,0 +1,216 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.IngestionMode;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.metrics.KlineMetrics;
+import com.example.digitCurrencyPlatform.model.IngestionReport;
+import com.example.digitCurrencyPlatform.model.SyncState;
+import com.example.digitCurrencyPlatform.model.exception.InputInvalidException;
+import com.example.digitCurrencyPlatform.repository.KlineRepository;
+import com.example.digitCurrencyPlatform.repository.KlineSyncStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps a watchlist of (exchange, symbol, interval) current. Each target has a persisted
+// high-water mark (open time of the newest stored bar); a tick fetches only the closed bars after
+// it. Targets are staggered evenly across the tick so requests trickle out instead of bursting
+// against the exchange rate limit. The scheduler only fires each slot; the sync itself runs on
+// klineSyncExecutor
+@Slf4j
+@Service
+public class KlineSyncService {
+    private static final Interval BASE_INTERVAL = Interval.ONE_MINUTE;
+
+    private final KlineService klineService;
+    private final KlineRepository klineRepository;
+    private final KlineSyncStateRepository syncStateRepository;
+    private final TaskScheduler taskScheduler;
+    private final TaskExecutor klineSyncExecutor;
+    private final KlineMetrics klineMetrics;
+    private final boolean enabled;
+    private final long tickMs;
+    private final long initialLookbackMs;
+    private final List<SyncTarget> targets;
+    private final Map<SyncTarget, Long> highWaterMarks = new ConcurrentHashMap<>();
+    private final Set<SyncTarget> inFlight = ConcurrentHashMap.newKeySet();
+
+    record SyncTarget(Exchange exchange, String symbol, Interval interval) {
+    }
+
+    @Autowired
+    public KlineSyncService(KlineService klineService, KlineRepository klineRepository,
+                            KlineSyncStateRepository syncStateRepository, TaskScheduler taskScheduler,
+                            @Qualifier("klineSyncExecutor") TaskExecutor klineSyncExecutor,
+                            KlineMetrics klineMetrics,
+                            @Value("${app.sync.enabled:false}") boolean enabled,
+                            @Value("${app.sync.watchlist:}") List<String> watchlist,
+                            @Value("${app.sync.tick-ms:60000}") long tickMs,
+                            @Value("${app.sync.initial-lookback-ms:86400000}") long initialLookbackMs) {
+        this.klineService = klineService;
+        this.klineRepository = klineRepository;
+        this.syncStateRepository = syncStateRepository;
+        this.taskScheduler = taskScheduler;
+        this.klineSyncExecutor = klineSyncExecutor;
+        this.klineMetrics = klineMetrics;
+        this.enabled = enabled;
+        this.tickMs = tickMs;
+        this.initialLookbackMs = initialLookbackMs;
+        this.targets = enabled ? parseWatchlist(watchlist) : List.of();
+    }
+
+    // Entries are EXCHANGE:SYMBOL[:INTERVAL]; the interval defaults to, and must be, 1m
+    static List<SyncTarget> parseWatchlist(List<String> watchlist) {
+        Set<SyncTarget> targets = new LinkedHashSet<>();
+        for (String entry : watchlist) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            if (parts.length < 2 || parts.length > 3) {
+                throw new InputInvalidException("Invalid watchlist entry '" + entry + "', expected EXCHANGE:SYMBOL[:INTERVAL]");
+            }
+            Exchange exchange;
+            try {
+                exchange = Exchange.fromString(parts[0]);
+            } catch (IllegalArgumentException e) {
+                throw new InputInvalidException("Invalid exchange in watchlist entry '" + entry + "'");
+            }
+            Interval interval = parts.length == 3 ? Interval.fromString(parts[2]) : BASE_INTERVAL;
+            // kline_data has no interval column: every stored bar is a 1m bar and coarser intervals
+            // are aggregated at read time, so syncing any other interval would corrupt the series
+            if (interval != BASE_INTERVAL) {
+                throw new InputInvalidException("Interval " + interval.getValue() + " cannot be synced, only " +
+                        BASE_INTERVAL.getValue() + " bars are stored");
+            }
+            targets.add(new SyncTarget(exchange, parts[1].toUpperCase(), interval));
+        }
+        return new ArrayList<>(targets);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadState() {
+        if (!enabled) {
+            return;
+        }
+        for (SyncState state : syncStateRepository.findAll()) {
+            targets.stream()
+                    .filter(target -> target.exchange().name().equals(state.getExchange())
+                            && target.symbol().equals(state.getSymbol())
+                            && target.interval().getValue().equals(state.getIntervalValue()))
+                    .findFirst()
+                    .ifPresent(target -> highWaterMarks.put(target, state.getLastOpenTime()));
+        }
+        for (SyncTarget target : targets) {
+            klineMetrics.registerSyncLag(target.exchange().name(), target.symbol(), target.interval().getValue(),
+                    () -> lagMillis(target));
+        }
+        log.info("Syncing {} watchlist targets every {} ms", targets.size(), tickMs);
+    }
+
+    @Scheduled(fixedRateString = "${app.sync.tick-ms:60000}", initialDelayString = "${app.sync.initial-delay-ms:10000}")
+    public void tick() {
+        if (!enabled || targets.isEmpty()) {
+            return;
+        }
+        long slotMs = tickMs / targets.size();
+        Instant tickStart = Instant.now();
+        for (int i = 0; i < targets.size(); i++) {
+            SyncTarget target = targets.get(i);
+            taskScheduler.schedule(() -> submit(target), tickStart.plusMillis(i * slotMs));
+        }
+    }
+
+    private void submit(SyncTarget target) {
+        try {
+            klineSyncExecutor.execute(() -> sync(target));
+        } catch (TaskRejectedException e) {
+            log.warn("Sync of {} {} {} skipped, sync executor is saturated", target.exchange().name(),
+                    target.symbol(), target.interval().getValue());
+        }
+    }
+
+    void sync(SyncTarget target) {
+        // A slow sync keeps its slot; the next tick picks up where it finished
+        if (!inFlight.add(target)) {
+            return;
+        }
+        String exchange = target.exchange().name();
+        long intervalMs = target.interval().getMilliseconds();
+        long now = System.currentTimeMillis();
+        // Open time of the newest bar that has fully closed
+        long lastClosedOpenTime = now / intervalMs * intervalMs - intervalMs;
+        try {
+            long highWaterMark = highWaterMarks.computeIfAbsent(target, this::initialHighWaterMark);
+            long from = highWaterMark + intervalMs;
+            if (from > lastClosedOpenTime) {
+                return;
+            }
+            long to = lastClosedOpenTime + intervalMs - 1;
+
+            IngestionReport report = klineService.fetchAndSaveKlines(exchange, target.symbol(), target.interval(),
+                    from, to, target.exchange().getMaxKlinesPerRequest(), IngestionMode.BATCH_INSERT);
+            Long stored = klineRepository.findLastOpenTime(target.exchange(), target.symbol(), to);
+            if (stored != null && stored > highWaterMark) {
+                highWaterMark = stored;
+                highWaterMarks.put(target, highWaterMark);
+            }
+            syncStateRepository.upsert(new SyncState(exchange, target.symbol(), target.interval().getValue(),
+                    highWaterMark, now, null));
+            klineMetrics.recordSyncRun(exchange, target.symbol(), "success", report.getRows());
+        } catch (Exception e) {
+            log.warn("Sync of {} {} {} failed: {}", exchange, target.symbol(), target.interval().getValue(), e.getMessage());
+            klineMetrics.recordSyncRun(exchange, target.symbol(), "error", 0);
+            recordFailure(target, now, e);
+        } finally {
+            inFlight.remove(target);
+        }
+    }
+
+    // Resume after the newest stored bar, or start initialLookbackMs back for a symbol with no data
+    private long initialHighWaterMark(SyncTarget target) {
+        long intervalMs = target.interval().getMilliseconds();
+        long now = System.currentTimeMillis();
+        Long stored = klineRepository.findLastOpenTime(target.exchange(), target.symbol(), now);
+        if (stored != null) {
+            return stored;
+        }
+        return (now - initialLookbackMs) / intervalMs * intervalMs - intervalMs;
+    }
+
+    private void recordFailure(SyncTarget target, long now, Exception e) {
+        Long highWaterMark = highWaterMarks.get(target);
+        if (highWaterMark == null) {
+            return;
+        }
+        String message = String.valueOf(e.getMessage());
+        try {
+            syncStateRepository.upsert(new SyncState(target.exchange().name(), target.symbol(),
+                    target.interval().getValue(), highWaterMark, now,
+                    message.length() > 255 ? message.substring(0, 255) : message));
+        } catch (Exception persistFailure) {
+            log.warn("Could not persist sync failure: {}", persistFailure.getMessage());
+        }
+    }
+
+    private double lagMillis(SyncTarget target) {
+        Long highWaterMark = highWaterMarks.get(target);
+        if (highWaterMark == null) {
+            return Double.NaN;
+        }
+        return Math.max(0, System.currentTimeMillis() - (highWaterMark + target.interval().getMilliseconds()));
+    }
+}
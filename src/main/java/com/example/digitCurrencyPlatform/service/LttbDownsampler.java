@@ -0,0 +1,159 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming Largest-Triangle-Three-Buckets over close prices. Rows must arrive in open_time order
+// and the total count must be known up front; buckets are then the same index ranges as in the
+// reference algorithm, so the output is identical to running LTTB on the whole list.
+//
+// LTTB picks, in each bucket, the row forming the largest triangle with the previously picked row
+// and the average of the next bucket. For fixed corners that area is |linear function| of the row,
+// so its maximum is always reached on the bucket's convex hull. Rows arrive sorted by time, so the
+// hull is maintained with a monotone chain and only hull vertices are kept: memory is the output
+// plus the hulls of two buckets, independent of how many rows are streamed
+final class LttbDownsampler {
+    private final long expectedRows;
+    private final int threshold;
+    private final List<Kline> sampled;
+    private long origin;
+    private long seen;
+    private Kline held;
+    private Point selected;
+    private Bucket pending;
+    private Bucket current;
+    private int currentIndex;
+
+    private record Point(double x, double y, long index, Kline kline) {
+    }
+
+    LttbDownsampler(long expectedRows, int threshold) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("LTTB needs at least 3 points");
+        }
+        this.expectedRows = expectedRows;
+        this.threshold = threshold;
+        this.sampled = new ArrayList<>((int) Math.min(expectedRows, threshold));
+    }
+
+    void accept(Kline kline) {
+        if (seen == 0) {
+            origin = kline.getOpenTime();
+        }
+        // The newest row is held back because the last row is always emitted as-is
+        if (held != null) {
+            add(point(held, seen - 1));
+        }
+        held = kline;
+        seen++;
+    }
+
+    List<Kline> finish() {
+        if (held == null) {
+            return sampled;
+        }
+        if (expectedRows <= threshold || current == null) {
+            // Every earlier row was passed straight through (or there was only one row)
+            sampled.add(held);
+            return sampled;
+        }
+        Point last = point(held, seen - 1);
+        if (pending != null) {
+            emit(pending, current.isEmpty() ? last : current.average());
+        }
+        if (!current.isEmpty()) {
+            emit(current, last);
+        }
+        sampled.add(held);
+        return sampled;
+    }
+
+    private void add(Point point) {
+        if (expectedRows <= threshold) {
+            sampled.add(point.kline());
+            return;
+        }
+        if (point.index() == 0) {
+            sampled.add(point.kline());
+            selected = point;
+            current = new Bucket();
+            return;
+        }
+        while (point.index() >= bucketEnd(currentIndex)) {
+            if (pending != null) {
+                emit(pending, current.average());
+            }
+            pending = current;
+            current = new Bucket();
+            currentIndex++;
+        }
+        current.add(point);
+    }
+
+    // Buckets split rows 1 .. n-2 into threshold-2 ranges; integer arithmetic keeps the bounds exact
+    private long bucketEnd(int bucket) {
+        return 1 + (bucket + 1) * (expectedRows - 2) / (threshold - 2);
+    }
+
+    private void emit(Bucket bucket, Point next) {
+        Point best = bucket.largestTriangle(selected, next);
+        sampled.add(best.kline());
+        selected = best;
+    }
+
+    private Point point(Kline kline, long index) {
+        return new Point(kline.getOpenTime() - origin, kline.getClosePrice().doubleValue(), index, kline);
+    }
+
+    private static double cross(Point o, Point a, Point b) {
+        return (a.x() - o.x()) * (b.y() - o.y()) - (a.y() - o.y()) * (b.x() - o.x());
+    }
+
+    private static final class Bucket {
+        private final List<Point> upper = new ArrayList<>();
+        private final List<Point> lower = new ArrayList<>();
+        private double sumX;
+        private double sumY;
+        private long count;
+
+        void add(Point point) {
+            sumX += point.x();
+            sumY += point.y();
+            count++;
+            while (upper.size() >= 2 && cross(upper.get(upper.size() - 2), upper.get(upper.size() - 1), point) >= 0) {
+                upper.remove(upper.size() - 1);
+            }
+            upper.add(point);
+            while (lower.size() >= 2 && cross(lower.get(lower.size() - 2), lower.get(lower.size() - 1), point) <= 0) {
+                lower.remove(lower.size() - 1);
+            }
+            lower.add(point);
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        Point average() {
+            return new Point(sumX / count, sumY / count, -1, null);
+        }
+
+        // Ties go to the earliest row, as in the reference implementation
+        Point largestTriangle(Point a, Point c) {
+            Point best = null;
+            double bestArea = -1;
+            for (List<Point> hull : List.of(upper, lower)) {
+                for (Point p : hull) {
+                    double area = Math.abs((a.x() - c.x()) * (p.y() - a.y()) - (a.x() - p.x()) * (c.y() - a.y()));
+                    if (area > bestArea || (area == bestArea && p.index() < best.index())) {
+                        best = p;
+                        bestArea = area;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.enums.SimulationMethod;
+import com.example.digitCurrencyPlatform.model.MonteCarloSimulation;
+import com.example.digitCurrencyPlatform.model.Position;
+import com.example.digitCurrencyPlatform.model.exception.InputInvalidException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Monte Carlo paths of a buy-and-hold portfolio, driven by the historical log returns of its
+// symbols at the requested interval. The simulation is step-major: every step advances all
+// paths in parallel over fixed chunks of CHUNK_PATHS paths, and the step's percentiles are
+// taken with quickselect while the next step runs. Only the current value of each path is kept, never whole paths.
+// Each chunk owns a SplittableRandom split from the seed in chunk order, so a seed reproduces
+// the same result whatever the pool size
+@Service
+public class MonteCarloService {
+    private static final int CHUNK_PATHS = 1024;
+    private static final double[] PERCENTILES = {5, 25, 50, 75, 95};
+    private static final int MAX_SNAPSHOTS = 8;
+
+    private final CorrelationService correlationService;
+    private final ForkJoinPool simulationPool;
+
+    @Autowired
+    public MonteCarloService(CorrelationService correlationService,
+                             @Value("${app.portfolio.simulation.parallelism:0}") int parallelism) {
+        this.correlationService = correlationService;
+        this.simulationPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        simulationPool.shutdown();
+    }
+
+    public MonteCarloSimulation simulate(Exchange exchange, List<Position> positions, BigDecimal totalValue,
+                                         Interval interval, long startTime, long endTime,
+                                         SimulationMethod method, int paths, int steps, int blockSize, Long seed) {
+        List<String> symbols = positions.stream().map(Position::getSymbol).toList();
+        double[][] returns = correlationService.alignedLogReturns(exchange, symbols, interval, startTime, endTime);
+        int history = returns[0].length;
+        if (history < 2) {
+            throw new InputInvalidException("Not enough overlapping " + interval +
+                    " history between the symbols to simulate (" + history + " returns)");
+        }
+        if (method == SimulationMethod.BOOTSTRAP && blockSize > history) {
+            throw new InputInvalidException("Block size " + blockSize + " exceeds the " + history + " historical returns");
+        }
+        double[] weights = positions.stream().mapToDouble(position -> position.getWeight().doubleValue()).toArray();
+        long runSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        return simulate(returns, weights, totalValue.doubleValue(), interval.getMilliseconds(),
+                method, paths, steps, blockSize, runSeed);
+    }
+
+    MonteCarloSimulation simulate(double[][] returns, double[] weights, double totalValue, long stepMs,
+                                  SimulationMethod method, int paths, int steps, int blockSize, long seed) {
+        Simulation simulation = new Simulation(returns, weights, totalValue, method, paths, blockSize, seed);
+        int[] ranks = new int[PERCENTILES.length];
+        for (int k = 0; k < PERCENTILES.length; k++) {
+            ranks[k] = (int) Math.floor(PERCENTILES[k] / 100 * (paths - 1));
+        }
+
+        double[][] bands = new double[steps + 1][PERCENTILES.length];
+        double[] mean = new double[steps + 1];
+        Arrays.fill(bands[0], totalValue);
+        mean[0] = totalValue;
+        long losses = 0;
+        // A step's percentiles are selected on a snapshot by a pool task while later steps advance;
+        // snapshots are recycled once the task that used them is done
+        int inFlight = Math.min(MAX_SNAPSHOTS, simulationPool.getParallelism());
+        double[][] snapshots = new double[inFlight][];
+        ForkJoinTask<?>[] selections = new ForkJoinTask<?>[inFlight];
+        for (int step = 1; step <= steps; step++) {
+            simulationPool.invoke(new StepTask(simulation, 0, simulation.chunks));
+            double sum = 0;
+            for (double chunkSum : simulation.chunkSums) {
+                sum += chunkSum;
+            }
+            mean[step] = sum / paths;
+            if (step == steps) {
+                for (double value : simulation.values) {
+                    if (value < totalValue) {
+                        losses++;
+                    }
+                }
+            }
+            int slot = step % inFlight;
+            if (selections[slot] != null) {
+                selections[slot].join();
+            } else {
+                snapshots[slot] = new double[paths];
+            }
+            double[] snapshot = snapshots[slot];
+            double[] band = bands[step];
+            System.arraycopy(simulation.values, 0, snapshot, 0, paths);
+            selections[slot] = simulationPool.submit(() -> selectPercentiles(snapshot, ranks, band));
+        }
+        for (ForkJoinTask<?> selection : selections) {
+            if (selection != null) {
+                selection.join();
+            }
+        }
+        return new MonteCarloSimulation(method.name(), paths, steps, stepMs, seed, returns[0].length,
+                PERCENTILES.clone(), bands, mean, (double) losses / paths);
+    }
+
+    // Ascending ranks: each selection only searches above the previous one
+    private static void selectPercentiles(double[] values, int[] ranks, double[] band) {
+        int from = 0;
+        for (int k = 0; k < ranks.length; k++) {
+            select(values, from, values.length, ranks[k]);
+            band[k] = values[ranks[k]];
+            from = ranks[k];
+        }
+    }
+
+    // Rearranges values[from, to) so that values[k] is the one that would be there if sorted,
+    // with nothing larger before it and nothing smaller after it
+    static void select(double[] values, int from, int to, int k) {
+        int low = from;
+        int high = to - 1;
+        while (high > low) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < values[low]) {
+                swap(values, low, middle);
+            }
+            if (values[high] < values[low]) {
+                swap(values, low, high);
+            }
+            if (values[high] < values[middle]) {
+                swap(values, middle, high);
+            }
+            double pivot = values[middle];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(values, i++, j--);
+                }
+            }
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    // All simulation state, in primitive arrays indexed [asset][path] or [path]
+    private static final class Simulation {
+        private final SimulationMethod method;
+        private final int assets;
+        private final int paths;
+        private final int chunks;
+        private final double cash;
+        private final double[][] holdings;
+        private final double[] values;
+        private final double[] chunkSums;
+        private final SplittableRandom[] randoms;
+
+        // GBM: mean log return per asset and the lower Cholesky factor of their covariance,
+        // row-major; one scratch vector of normals per chunk
+        private double[] drift;
+        private double[] cholesky;
+        private double[][] normals;
+
+        // Bootstrap: per-step growth factors and each path's current block
+        private double[][] growth;
+        private int blockSize;
+        private int[] blockStart;
+        private int[] blockOffset;
+
+        Simulation(double[][] returns, double[] weights, double totalValue, SimulationMethod method,
+                   int paths, int blockSize, long seed) {
+            this.method = method;
+            this.assets = returns.length;
+            this.paths = paths;
+            this.chunks = (paths + CHUNK_PATHS - 1) / CHUNK_PATHS;
+            double invested = 0;
+            this.holdings = new double[assets][paths];
+            for (int i = 0; i < assets; i++) {
+                Arrays.fill(holdings[i], weights[i] * totalValue);
+                invested += weights[i] * totalValue;
+            }
+            this.cash = totalValue - invested;
+            this.values = new double[paths];
+            this.chunkSums = new double[chunks];
+            SplittableRandom root = new SplittableRandom(seed);
+            this.randoms = new SplittableRandom[chunks];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                randoms[chunk] = root.split();
+            }
+
+            if (method == SimulationMethod.GBM) {
+                initGbm(returns);
+            } else {
+                initBootstrap(returns, blockSize);
+            }
+        }
+
+        // The drift is the mean of log returns, which already includes the -sigma^2/2 term of
+        // the exact GBM discretization
+        private void initGbm(double[][] returns) {
+            drift = new double[assets];
+            for (int i = 0; i < assets; i++) {
+                double sum = 0;
+                for (double value : returns[i]) {
+                    sum += value;
+                }
+                drift[i] = sum / returns[i].length;
+            }
+            double[][] covariance = CovarianceKernel.covariance(returns);
+            cholesky = new double[assets * assets];
+            for (int j = 0; j < assets; j++) {
+                double diagonal = covariance[j][j];
+                for (int k = 0; k < j; k++) {
+                    diagonal -= cholesky[j * assets + k] * cholesky[j * assets + k];
+                }
+                // A non-positive pivot means this asset is a combination of earlier ones (or has no
+                // variance); it then gets no independent shock of its own
+                double pivot = diagonal > 0 ? Math.sqrt(diagonal) : 0;
+                cholesky[j * assets + j] = pivot;
+                for (int i = j + 1; i < assets; i++) {
+                    double value = covariance[i][j];
+                    for (int k = 0; k < j; k++) {
+                        value -= cholesky[i * assets + k] * cholesky[j * assets + k];
+                    }
+                    cholesky[i * assets + j] = pivot > 0 ? value / pivot : 0;
+                }
+            }
+            normals = new double[chunks][assets];
+        }
+
+        private void initBootstrap(double[][] returns, int blockSize) {
+            this.blockSize = blockSize;
+            growth = new double[assets][];
+            for (int i = 0; i < assets; i++) {
+                growth[i] = new double[returns[i].length];
+                for (int t = 0; t < returns[i].length; t++) {
+                    growth[i][t] = Math.exp(returns[i][t]);
+                }
+            }
+            blockStart = new int[paths];
+            blockOffset = new int[paths];
+            // Every path draws a block on its first step
+            Arrays.fill(blockOffset, blockSize);
+        }
+
+        void advance(int chunk) {
+            int from = chunk * CHUNK_PATHS;
+            int to = Math.min(from + CHUNK_PATHS, paths);
+            SplittableRandom random = randoms[chunk];
+            double sum = 0;
+            if (method == SimulationMethod.GBM) {
+                double[] normal = normals[chunk];
+                for (int path = from; path < to; path++) {
+                    for (int i = 0; i < assets; i++) {
+                        normal[i] = random.nextGaussian();
+                    }
+                    double value = cash;
+                    for (int i = 0; i < assets; i++) {
+                        double shock = drift[i];
+                        int row = i * assets;
+                        for (int k = 0; k <= i; k++) {
+                            shock += cholesky[row + k] * normal[k];
+                        }
+                        double holding = holdings[i][path] * Math.exp(shock);
+                        holdings[i][path] = holding;
+                        value += holding;
+                    }
+                    values[path] = value;
+                    sum += value;
+                }
+            } else {
+                int history = growth[0].length;
+                for (int path = from; path < to; path++) {
+                    if (blockOffset[path] == blockSize) {
+                        blockStart[path] = random.nextInt(history - blockSize + 1);
+                        blockOffset[path] = 0;
+                    }
+                    int t = blockStart[path] + blockOffset[path]++;
+                    double value = cash;
+                    for (int i = 0; i < assets; i++) {
+                        double holding = holdings[i][path] * growth[i][t];
+                        holdings[i][path] = holding;
+                        value += holding;
+                    }
+                    values[path] = value;
+                    sum += value;
+                }
+            }
+            chunkSums[chunk] = sum;
+        }
+    }
+
+    // One step for chunks [fromChunk, toChunk)
+    private static final class StepTask extends RecursiveAction {
+        private final Simulation simulation;
+        private final int fromChunk;
+        private final int toChunk;
+
+        StepTask(Simulation simulation, int fromChunk, int toChunk) {
+            this.simulation = simulation;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                simulation.advance(fromChunk);
+                return;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(new StepTask(simulation, fromChunk, middle), new StepTask(simulation, middle, toChunk));
+        }
+    }
+}
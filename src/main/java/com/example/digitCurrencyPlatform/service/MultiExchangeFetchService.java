@@ -0,0 +1,45 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.IngestionMode;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.IngestionReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Fans one fetch out to several exchanges at once. Each exchange runs its own job on the fetch
+// pool and is paced only by its provider's rate limiter, so a slow venue never holds back the others
+@Service
+public class MultiExchangeFetchService {
+    private static final int FETCH_RANGE_BARS = 500;
+
+    private final KlineService klineService;
+    private final TaskExecutor klineFetchExecutor;
+
+    @Autowired
+    public MultiExchangeFetchService(KlineService klineService,
+                                     @Qualifier("klineFetchExecutor") TaskExecutor klineFetchExecutor) {
+        this.klineService = klineService;
+        this.klineFetchExecutor = klineFetchExecutor;
+    }
+
+    public Map<Exchange, CompletableFuture<IngestionReport>> fetchAndSaveKlines(
+            List<Exchange> exchanges, String symbol, Interval interval, long startTime, long endTime,
+            IngestionMode mode) {
+        Map<Exchange, CompletableFuture<IngestionReport>> results = new LinkedHashMap<>();
+        for (Exchange exchange : exchanges) {
+            results.put(exchange, CompletableFuture.supplyAsync(
+                    () -> klineService.fetchAndSaveKlines(exchange.name(), symbol, interval, startTime, endTime,
+                            FETCH_RANGE_BARS, mode),
+                    klineFetchExecutor));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Min/max-preserving companion to LttbDownsampler: rows are split into `bars` equal index ranges
+// and each range is folded into one candle (first open, last close, highest high, lowest low,
+// summed volume and trades), so every spike in the range survives. One pass, one open candle
+final class OhlcDownsampler {
+    private final long expectedRows;
+    private final int bars;
+    private final List<Kline> candles;
+    private long seen;
+    private int bucket;
+    private Kline candle;
+
+    OhlcDownsampler(long expectedRows, int bars) {
+        if (bars < 1) {
+            throw new IllegalArgumentException("At least one bar is required");
+        }
+        this.expectedRows = expectedRows;
+        this.bars = bars;
+        this.candles = new ArrayList<>((int) Math.min(expectedRows, bars));
+    }
+
+    void accept(Kline kline) {
+        if (expectedRows <= bars) {
+            candles.add(kline);
+            seen++;
+            return;
+        }
+        if (candle != null && seen >= bucketEnd(bucket)) {
+            candles.add(candle);
+            candle = null;
+            while (seen >= bucketEnd(bucket)) {
+                bucket++;
+            }
+        }
+        candle = candle == null ? copy(kline) : fold(candle, kline);
+        seen++;
+    }
+
+    List<Kline> finish() {
+        if (candle != null) {
+            candles.add(candle);
+            candle = null;
+        }
+        return candles;
+    }
+
+    private long bucketEnd(int index) {
+        return (index + 1) * expectedRows / bars;
+    }
+
+    private static Kline copy(Kline kline) {
+        return new Kline(kline.getSymbol(), kline.getOpenTime(), kline.getCloseTime(), kline.getOpenPrice(),
+                kline.getClosePrice(), kline.getHighPrice(), kline.getLowPrice(), kline.getVolume(),
+                kline.getNumberOfTrades());
+    }
+
+    private static Kline fold(Kline candle, Kline kline) {
+        candle.setCloseTime(kline.getCloseTime());
+        candle.setClosePrice(kline.getClosePrice());
+        if (kline.getHighPrice().compareTo(candle.getHighPrice()) > 0) {
+            candle.setHighPrice(kline.getHighPrice());
+        }
+        if (kline.getLowPrice().compareTo(candle.getLowPrice()) < 0) {
+            candle.setLowPrice(kline.getLowPrice());
+        }
+        BigDecimal volume = candle.getVolume().add(kline.getVolume());
+        candle.setVolume(volume);
+        candle.setNumberOfTrades(candle.getNumberOfTrades() + kline.getNumberOfTrades());
+        return candle;
+    }
+}
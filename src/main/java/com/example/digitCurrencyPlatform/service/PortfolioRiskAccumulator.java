@@ -0,0 +1,185 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.PortfolioRiskMetrics;
+
+// Risk statistics folded over portfolio bars in one pass, in O(1) memory apart from the
+// bounded quantile sketch. Accumulators over consecutive stretches of bars merge into the
+// accumulator of the whole series:
+// - max drawdown is the largest fall from an earlier peak; across two stretches that is the
+//   earlier stretch's maximum against the later stretch's minimum
+// - mean and variance of returns use Welford's update, merged with Chan's formula
+// - the return between the two stretches is added at merge time
+final class PortfolioRiskAccumulator {
+    private static final double YEAR_MS = 365.25 * 24 * 60 * 60 * 1000;
+    private static final double SKETCH_ACCURACY = 0.005;
+    private static final int SKETCH_BUCKETS = 2048;
+
+    private final double annualRiskFreeRate;
+    private final double periodsPerYear;
+    private final double periodRiskFreeRate;
+    private final QuantileSketch returnSketch = new QuantileSketch(SKETCH_ACCURACY, SKETCH_BUCKETS);
+
+    private long bars;
+    private double firstValue;
+    private double lastValue;
+    private double maxValue;
+    private long maxTime;
+    private double minValue;
+    private long minTime;
+    private double maxDrawdown;
+    private long drawdownPeakTime;
+    private long drawdownTroughTime;
+
+    private long returns;
+    private double meanReturn;
+    private double squaredDeviations;
+    private double downsideSquares;
+
+    PortfolioRiskAccumulator(double annualRiskFreeRate, long periodMs) {
+        this.annualRiskFreeRate = annualRiskFreeRate;
+        this.periodsPerYear = YEAR_MS / periodMs;
+        this.periodRiskFreeRate = Math.pow(1 + annualRiskFreeRate, 1 / periodsPerYear) - 1;
+    }
+
+    // Bars must arrive in time order
+    void add(Kline bar) {
+        double value = bar.getClosePrice().doubleValue();
+        long time = bar.getOpenTime();
+        if (bars == 0) {
+            firstValue = value;
+            maxValue = minValue = value;
+            maxTime = minTime = time;
+        } else {
+            addReturn(value / lastValue - 1);
+            double drawdown = 1 - value / maxValue;
+            if (drawdown > maxDrawdown) {
+                maxDrawdown = drawdown;
+                drawdownPeakTime = maxTime;
+                drawdownTroughTime = time;
+            }
+            if (value > maxValue) {
+                maxValue = value;
+                maxTime = time;
+            }
+            if (value < minValue) {
+                minValue = value;
+                minTime = time;
+            }
+        }
+        lastValue = value;
+        bars++;
+    }
+
+    // later covers the bars right after this one's
+    void merge(PortfolioRiskAccumulator later) {
+        if (later.bars == 0) {
+            return;
+        }
+        if (bars == 0) {
+            copyFrom(later);
+            return;
+        }
+        addReturn(later.firstValue / lastValue - 1);
+        if (later.returns > 0) {
+            long combined = returns + later.returns;
+            double delta = later.meanReturn - meanReturn;
+            squaredDeviations += later.squaredDeviations + delta * delta * returns * later.returns / combined;
+            meanReturn += delta * later.returns / combined;
+            returns = combined;
+        }
+        downsideSquares += later.downsideSquares;
+        returnSketch.merge(later.returnSketch);
+
+        double crossDrawdown = 1 - later.minValue / maxValue;
+        if (crossDrawdown > maxDrawdown) {
+            maxDrawdown = crossDrawdown;
+            drawdownPeakTime = maxTime;
+            drawdownTroughTime = later.minTime;
+        }
+        if (later.maxDrawdown > maxDrawdown) {
+            maxDrawdown = later.maxDrawdown;
+            drawdownPeakTime = later.drawdownPeakTime;
+            drawdownTroughTime = later.drawdownTroughTime;
+        }
+        if (later.maxValue > maxValue) {
+            maxValue = later.maxValue;
+            maxTime = later.maxTime;
+        }
+        if (later.minValue < minValue) {
+            minValue = later.minValue;
+            minTime = later.minTime;
+        }
+        lastValue = later.lastValue;
+        bars += later.bars;
+    }
+
+    PortfolioRiskMetrics metrics() {
+        PortfolioRiskMetrics metrics = new PortfolioRiskMetrics();
+        metrics.setBars(bars);
+        metrics.setReturns(returns);
+        metrics.setRiskFreeRate(annualRiskFreeRate);
+        if (bars == 0) {
+            return metrics;
+        }
+        metrics.setStartValue(firstValue);
+        metrics.setEndValue(lastValue);
+        metrics.setTotalReturn(lastValue / firstValue - 1);
+        metrics.setMaxDrawdown(maxDrawdown);
+        if (maxDrawdown > 0) {
+            metrics.setDrawdownPeakTime(drawdownPeakTime);
+            metrics.setDrawdownTroughTime(drawdownTroughTime);
+        }
+        if (returns == 0) {
+            return metrics;
+        }
+        double annualization = Math.sqrt(periodsPerYear);
+        double excessReturn = meanReturn - periodRiskFreeRate;
+        metrics.setMeanReturn(meanReturn);
+        if (returns > 1) {
+            double volatility = Math.sqrt(squaredDeviations / (returns - 1));
+            metrics.setVolatility(volatility);
+            metrics.setAnnualizedVolatility(volatility * annualization);
+            if (volatility > 0) {
+                metrics.setSharpeRatio(excessReturn / volatility * annualization);
+            }
+        }
+        double downsideDeviation = Math.sqrt(downsideSquares / returns);
+        if (downsideDeviation > 0) {
+            metrics.setSortinoRatio(excessReturn / downsideDeviation * annualization);
+        }
+        metrics.setValueAtRisk95(-returnSketch.quantile(0.05));
+        metrics.setConditionalValueAtRisk95(-returnSketch.lowerTailMean(0.05));
+        metrics.setValueAtRisk99(-returnSketch.quantile(0.01));
+        metrics.setConditionalValueAtRisk99(-returnSketch.lowerTailMean(0.01));
+        return metrics;
+    }
+
+    private void addReturn(double value) {
+        returns++;
+        double delta = value - meanReturn;
+        meanReturn += delta / returns;
+        squaredDeviations += delta * (value - meanReturn);
+        double shortfall = Math.min(0, value - periodRiskFreeRate);
+        downsideSquares += shortfall * shortfall;
+        returnSketch.add(value);
+    }
+
+    private void copyFrom(PortfolioRiskAccumulator other) {
+        bars = other.bars;
+        firstValue = other.firstValue;
+        lastValue = other.lastValue;
+        maxValue = other.maxValue;
+        maxTime = other.maxTime;
+        minValue = other.minValue;
+        minTime = other.minTime;
+        maxDrawdown = other.maxDrawdown;
+        drawdownPeakTime = other.drawdownPeakTime;
+        drawdownTroughTime = other.drawdownTroughTime;
+        returns = other.returns;
+        meanReturn = other.meanReturn;
+        squaredDeviations = other.squaredDeviations;
+        downsideSquares = other.downsideSquares;
+        returnSketch.merge(other.returnSketch);
+    }
+}
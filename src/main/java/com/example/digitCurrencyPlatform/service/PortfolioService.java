@@ -8,59 +8,266 @@ package com.example.digitCurrencyPlatform.service;
 // Specify interval for the kline calculation
 // return List<Kline> for the entire time range that reflects the fluctuation of the total value
 
+import com.example.digitCurrencyPlatform.cache.KlineSeriesCache;
+import com.example.digitCurrencyPlatform.enums.Exchange;
 import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.metrics.RequestTimings;
 import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.PortfolioAnalysis;
 import com.example.digitCurrencyPlatform.model.Position;
+import com.example.digitCurrencyPlatform.model.SymbolMetadata;
 import com.example.digitCurrencyPlatform.model.exception.InputInvalidException;
 import com.example.digitCurrencyPlatform.repository.KlineRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class PortfolioService {
 
+    private static final long PRICE_LOOKUP_TOLERANCE_MS = 5 * 60000;
+    // Minutes valued by one fork/join leaf; below this, splitting costs more than it saves
+    private static final int LEAF_MINUTES = 2048;
+
     private final KlineRepository klineRepository;
+    private final KlineMetadataService klineMetadataService;
+    private final KlineSeriesCache klineSeriesCache;
+    private final ForkJoinPool portfolioPool;
+    private final int parallelMinKlines;
+    private final double riskFreeRate;
 
     @Autowired
-    public PortfolioService(KlineRepository klineRepository) {
+    public PortfolioService(KlineRepository klineRepository, KlineMetadataService klineMetadataService,
+                            KlineSeriesCache klineSeriesCache,
+                            @Value("${app.portfolio.parallelism:0}") int parallelism,
+                            @Value("${app.portfolio.parallel-min-klines:20000}") int parallelMinKlines,
+                            @Value("${app.portfolio.risk-free-rate:0}") double riskFreeRate) {
         this.klineRepository = klineRepository;
+        this.klineMetadataService = klineMetadataService;
+        this.klineSeriesCache = klineSeriesCache;
+        // A pool of its own, so portfolio requests don't compete with parallel streams on the common pool
+        this.portfolioPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.parallelMinKlines = parallelMinKlines;
+        this.riskFreeRate = riskFreeRate;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        portfolioPool.shutdown();
     }
 
     // Return a list of kline reflecting, where each kline data represents the
     // total fluctuation of all the coins listed in the positions from the startTime to
     // endTime, where each kline is aggregated based on the interval
-    public List<Kline> calculatePortfolioKlines(List<Position> positions,
+    public List<Kline> calculatePortfolioKlines(Exchange exchange,
+                                                List<Position> positions,
                                                 BigDecimal totalValue,
                                                 long startTime,
                                                 long endTime, Interval targetInterval) {
+        return analyzePortfolio(exchange, positions, totalValue, startTime, endTime, targetInterval).getKlines();
+    }
+
+    // The portfolio klines plus risk statistics of their close-to-close returns, folded in
+    // while the klines are produced rather than over a retained copy of the series
+    public PortfolioAnalysis analyzePortfolio(Exchange exchange,
+                                              List<Position> positions,
+                                              BigDecimal totalValue,
+                                              long startTime,
+                                              long endTime, Interval targetInterval) {
         System.out.println("=== PORTFOLIO CALCULATION STARTED ===");
         System.out.printf("Total Value: %s, Start: %d, End: %d, Interval: %s%n",
                 totalValue, startTime, endTime, targetInterval);
 
         // 1. Calculate the total number of coins owned at the start time given positions and total value
-        Map<String, BigDecimal> coinHoldings = calculateInitialHoldings(positions, totalValue, startTime);
+        Map<String, BigDecimal> coinHoldings = calculateInitialHoldings(exchange, positions, totalValue, startTime);
 
         // 2. All the 1m interval kline data for each symbol in the time range will be fetched
-        Map<String, List<Kline>> symbolKlines = fetchSymbolKlines(coinHoldings.keySet(), startTime, endTime);
+        Map<String, List<Kline>> symbolKlines = fetchSymbolKlines(exchange, coinHoldings.keySet(), startTime, endTime);
+
+        long aggregationStarted = System.nanoTime();
+        List<Kline> portfolioKlines;
+        PortfolioRiskAccumulator risk = newRiskAccumulator(targetInterval);
+        int totalKlines = symbolKlines.values().stream().mapToInt(List::size).sum();
+        if (totalKlines < parallelMinKlines) {
+            // 3. Generate the 1m interval portfolio kline by aggregating kline data across diff symbols
+            List<Kline> oneMinutePortfolioKlines = generateOneMinutePortfolioKlines(coinHoldings, symbolKlines, startTime, endTime);
+
+            // 4. Aggregate all 1m interval portfolio kline to the target Interval
+            portfolioKlines = aggregatePortfolioKlines(oneMinutePortfolioKlines, targetInterval, risk);
+        } else {
+            // 3-4 in parallel chunks along the timeline
+            portfolioKlines = calculatePortfolioKlinesInParallel(coinHoldings, symbolKlines, startTime, endTime, targetInterval, risk);
+        }
+        RequestTimings.record(RequestTimings.AGGREGATION, System.nanoTime() - aggregationStarted);
+        return new PortfolioAnalysis(portfolioKlines, risk.metrics());
+    }
+
+    PortfolioRiskAccumulator newRiskAccumulator(Interval targetInterval) {
+        return new PortfolioRiskAccumulator(riskFreeRate, targetInterval.getMilliseconds());
+    }
+
+    // Same result as generateOneMinutePortfolioKlines followed by aggregatePortfolioKlines. The
+    // sorted timeline is cut into chunks of whole aggregation windows (a window is timeWindowSize
+    // consecutive timestamps, as in the sequential path), each chunk is valued and aggregated by a
+    // fork/join task, and results land in their window's slot so stitching is just the array.
+    // Each task also returns risk statistics for its windows, merged in timeline order into risk
+    List<Kline> calculatePortfolioKlinesInParallel(Map<String, BigDecimal> coinHoldings,
+                                                   Map<String, List<Kline>> symbolKlines,
+                                                   long startTime,
+                                                   long endTime, Interval targetInterval,
+                                                   PortfolioRiskAccumulator risk) {
+        return portfolioPool.submit(() -> {
+            long[] timeline = alignedTimeline(symbolKlines, startTime, endTime);
+            Map<String, NavigableMap<Long, Kline>> klinesByOpenTime = symbolKlines.entrySet().parallelStream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> indexByOpenTime(entry.getValue())));
+
+            long targetIntervalMs = targetInterval.getMilliseconds();
+            int timeWindowSize = (int) Math.max(1, targetIntervalMs / Interval.ONE_MINUTE.getMilliseconds());
+            Kline[] windows = new Kline[(timeline.length + timeWindowSize - 1) / timeWindowSize];
+            risk.merge(new PortfolioChunk(coinHoldings, klinesByOpenTime, timeline, timeWindowSize, targetIntervalMs,
+                    riskFreeRate, windows, 0, windows.length).invoke());
+
+            log.debug("Portfolio klines computed in parallel: {} minutes -> {} {} klines",
+                    timeline.length, windows.length, targetInterval);
+            return new ArrayList<>(Arrays.asList(windows));
+        }).join();
+    }
+
+    // Distinct open times within [startTime, endTime] across all symbols, ascending, from the first
+    // minute every held symbol has a price for
+    private static long[] alignedTimeline(Map<String, List<Kline>> symbolKlines, long startTime, long endTime) {
+        long firstPricedTime = firstPricedTime(symbolKlines, startTime);
+        long[] times = symbolKlines.values().stream()
+                .flatMap(List::stream)
+                .mapToLong(Kline::getOpenTime)
+                .filter(time -> time >= firstPricedTime && time <= endTime)
+                .toArray();
+        Arrays.parallelSort(times);
+        int distinct = 0;
+        for (int i = 0; i < times.length; i++) {
+            if (i == 0 || times[i] != times[distinct - 1]) {
+                times[distinct++] = times[i];
+            }
+        }
+        return Arrays.copyOf(times, distinct);
+    }
+
+    // Before this every minute would value at least one holding at zero
+    private static long firstPricedTime(Map<String, List<Kline>> symbolKlines, long startTime) {
+        return symbolKlines.values().stream()
+                .mapToLong(klines -> klines.stream()
+                        .mapToLong(Kline::getOpenTime)
+                        .filter(time -> time >= startTime)
+                        .min()
+                        .orElse(Long.MAX_VALUE))
+                .max()
+                .orElse(startTime);
+    }
+
+    // First kline per open time, matching what a linear search would find. Sorted so a minute a
+    // symbol has no bar for can fall back to its latest earlier bar
+    private static NavigableMap<Long, Kline> indexByOpenTime(List<Kline> klines) {
+        NavigableMap<Long, Kline> index = new TreeMap<>();
+        for (Kline kline : klines) {
+            index.putIfAbsent(kline.getOpenTime(), kline);
+        }
+        return index;
+    }
 
-        // 3. Generate the 1m interval portfolio kline by aggregating kline data across diff symbols
-        List<Kline> oneMinutePortfolioKlines = generateOneMinutePortfolioKlines(coinHoldings, symbolKlines, startTime, endTime);
+    // Values and aggregates windows [fromWindow, toWindow), splitting at window boundaries
+    private static final class PortfolioChunk extends RecursiveTask<PortfolioRiskAccumulator> {
+        private final Map<String, BigDecimal> coinHoldings;
+        private final Map<String, NavigableMap<Long, Kline>> klinesByOpenTime;
+        private final long[] timeline;
+        private final int timeWindowSize;
+        private final long targetIntervalMs;
+        private final double riskFreeRate;
+        private final Kline[] windows;
+        private final int fromWindow;
+        private final int toWindow;
+
+        PortfolioChunk(Map<String, BigDecimal> coinHoldings, Map<String, NavigableMap<Long, Kline>> klinesByOpenTime,
+                       long[] timeline, int timeWindowSize, long targetIntervalMs, double riskFreeRate,
+                       Kline[] windows, int fromWindow, int toWindow) {
+            this.coinHoldings = coinHoldings;
+            this.klinesByOpenTime = klinesByOpenTime;
+            this.timeline = timeline;
+            this.timeWindowSize = timeWindowSize;
+            this.targetIntervalMs = targetIntervalMs;
+            this.riskFreeRate = riskFreeRate;
+            this.windows = windows;
+            this.fromWindow = fromWindow;
+            this.toWindow = toWindow;
+        }
 
-        // 4. Aggregate all 1m interval portfolio kline to the target Interval
-        return aggregatePortfolioKlines(oneMinutePortfolioKlines, targetInterval);
+        @Override
+        protected PortfolioRiskAccumulator compute() {
+            if (toWindow - fromWindow > 1 && (long) (toWindow - fromWindow) * timeWindowSize > LEAF_MINUTES) {
+                int middle = (fromWindow + toWindow) >>> 1;
+                PortfolioChunk earlier = new PortfolioChunk(coinHoldings, klinesByOpenTime, timeline, timeWindowSize,
+                        targetIntervalMs, riskFreeRate, windows, fromWindow, middle);
+                PortfolioChunk later = new PortfolioChunk(coinHoldings, klinesByOpenTime, timeline, timeWindowSize,
+                        targetIntervalMs, riskFreeRate, windows, middle, toWindow);
+                earlier.fork();
+                PortfolioRiskAccumulator laterRisk = later.compute();
+                PortfolioRiskAccumulator risk = earlier.join();
+                risk.merge(laterRisk);
+                return risk;
+            }
+            PortfolioRiskAccumulator risk = new PortfolioRiskAccumulator(riskFreeRate, targetIntervalMs);
+            for (int window = fromWindow; window < toWindow; window++) {
+                windows[window] = aggregateWindow(window);
+                risk.add(windows[window]);
+            }
+            return risk;
+        }
+
+        // Folds the window the way aggregateKlineWindow does, ties included
+        private Kline aggregateWindow(int window) {
+            int from = window * timeWindowSize;
+            int to = Math.min(from + timeWindowSize, timeline.length);
+            Kline first = calculateMinutePortfolioKline(coinHoldings, klinesByOpenTime, timeline[from]);
+            if (timeWindowSize == 1) {
+                return first;
+            }
+            BigDecimal high = first.getHighPrice();
+            BigDecimal low = first.getLowPrice();
+            BigDecimal volume = BigDecimal.ZERO.add(first.getVolume());
+            long numberOfTrades = first.getNumberOfTrades();
+            Kline last = first;
+            for (int i = from + 1; i < to; i++) {
+                last = calculateMinutePortfolioKline(coinHoldings, klinesByOpenTime, timeline[i]);
+                if (high.compareTo(last.getHighPrice()) < 0) {
+                    high = last.getHighPrice();
+                }
+                if (last.getLowPrice().compareTo(low) < 0) {
+                    low = last.getLowPrice();
+                }
+                volume = volume.add(last.getVolume());
+                numberOfTrades += last.getNumberOfTrades();
+            }
+            long windowStart = first.getOpenTime();
+            return new Kline(first.getSymbol(), windowStart, windowStart + targetIntervalMs - 1,
+                    first.getOpenPrice(), last.getClosePrice(), high, low, volume, numberOfTrades);
+        }
     }
 
-    List<Kline> aggregatePortfolioKlines(List<Kline> oneMinutePortfolioKlines, Interval targetInterval) {
+    List<Kline> aggregatePortfolioKlines(List<Kline> oneMinutePortfolioKlines, Interval targetInterval,
+                                         PortfolioRiskAccumulator risk) {
         System.out.printf("\n--- AGGREGATING TO %s INTERVALS ---\n", targetInterval);
 
         if (targetInterval == Interval.ONE_MINUTE) {
+            oneMinutePortfolioKlines.forEach(risk::add);
             return oneMinutePortfolioKlines;
         }
 
@@ -82,6 +289,7 @@ public class PortfolioService {
             if (!windowKlines.isEmpty()) {
                 Kline aggregatedKline = aggregateKlineWindow(windowKlines, targetIntervalMs);
                 aggregatePortfolioKlines.add(aggregatedKline);
+                risk.add(aggregatedKline);
 
                 System.out.printf("Aggregated window %d: %d minutes -> O:%s H:%s L:%s C:%s%n",
                         (i / timeWindowSize) + 1, windowKlines.size(),
@@ -136,23 +344,27 @@ public class PortfolioService {
         return new Kline(symbol, windowStart, windowEnd, open, close, high, low, volume, numberOfTrades);
     }
 
-    private List<Kline> generateOneMinutePortfolioKlines(Map<String, BigDecimal> coinHoldings,
-                                                         Map<String, List<Kline>> symbolKlines,
-                                                         long starttime,
-                                                         long endTime) {
+    List<Kline> generateOneMinutePortfolioKlines(Map<String, BigDecimal> coinHoldings,
+                                                 Map<String, List<Kline>> symbolKlines,
+                                                 long starttime,
+                                                 long endTime) {
         System.out.println("\n--- GENERATING ONE MINUTE PORTFOLIO KLINES ---");
 
+        long firstPricedTime = firstPricedTime(symbolKlines, starttime);
         Set<Long> allOneMinuteTimestamps = symbolKlines.values().stream().
-                flatMap(List::stream).map(Kline::getOpenTime).filter(time -> time >= starttime && time <= endTime)
+                flatMap(List::stream).map(Kline::getOpenTime).filter(time -> time >= firstPricedTime && time <= endTime)
                 .collect(Collectors.toSet());
 
         List<Long> sortedTimestamps = allOneMinuteTimestamps.stream().sorted().collect(Collectors.toList());
 
+        Map<String, NavigableMap<Long, Kline>> klinesByOpenTime = new HashMap<>();
+        symbolKlines.forEach((symbol, klines) -> klinesByOpenTime.put(symbol, indexByOpenTime(klines)));
+
         List<Kline> portfolioKlines = new ArrayList<>();
 
         for (int i = 0; i < sortedTimestamps.size(); i++) {
             Long timestamp = sortedTimestamps.get(i);
-            Kline portfolioKline = calculateMinutePortfolioKline(coinHoldings, symbolKlines, timestamp);
+            Kline portfolioKline = calculateMinutePortfolioKline(coinHoldings, klinesByOpenTime, timestamp);
             portfolioKlines.add(portfolioKline);
         }
 
@@ -160,9 +372,9 @@ public class PortfolioService {
         return portfolioKlines;
     }
 
-    private Kline calculateMinutePortfolioKline(Map<String, BigDecimal> coinHoldings,
-                                                Map<String, List<Kline>> symbolKlines,
-                                                long timestamp) {
+    private static Kline calculateMinutePortfolioKline(Map<String, BigDecimal> coinHoldings,
+                                                       Map<String, NavigableMap<Long, Kline>> klinesByOpenTime,
+                                                       long timestamp) {
         BigDecimal portfolioOpen = BigDecimal.ZERO;
         BigDecimal portfolioHigh = BigDecimal.ZERO;
         BigDecimal portfolioLow = BigDecimal.ZERO;
@@ -173,10 +385,21 @@ public class PortfolioService {
             String symbol = holding.getKey();
             BigDecimal coins = holding.getValue();
 
-            // Find the minute kline for this symbol at this timestamp
-            Kline symbolKline = findKlineAtTime(symbolKlines.get(symbol), timestamp);
+            // Find the minute kline for this symbol at this timestamp, or the latest one before it
+            Map.Entry<Long, Kline> latest = klinesByOpenTime.get(symbol).floorEntry(timestamp);
+            if (latest == null) {
+                continue;
+            }
+            Kline symbolKline = latest.getValue();
 
-            if (symbolKline != null) {
+            if (latest.getKey() != timestamp) {
+                // No trade this minute: the position is held at the last known close
+                BigDecimal positionClose = coins.multiply(symbolKline.getClosePrice());
+                portfolioOpen = portfolioOpen.add(positionClose);
+                portfolioHigh = portfolioHigh.add(positionClose);
+                portfolioLow = portfolioLow.add(positionClose);
+                portfolioClose = portfolioClose.add(positionClose);
+            } else {
                 BigDecimal positionOpen = coins.multiply(symbolKline.getOpenPrice());
                 BigDecimal positionHigh = coins.multiply(symbolKline.getHighPrice());
                 BigDecimal positionLow = coins.multiply(symbolKline.getLowPrice());
@@ -193,21 +416,13 @@ public class PortfolioService {
         return new Kline("Portfolio", timestamp, timestamp + 60000 - 1, portfolioOpen, portfolioClose, portfolioHigh, portfolioLow, portfolioVolume, totalTrades);
     }
 
-    // GOOD HELPER
-    private Kline findKlineAtTime(List<Kline> klines, Long timePoint) {
-        return klines.stream()
-                .filter(kline -> kline.getOpenTime().equals(timePoint))
-                .findFirst()
-                .orElse(null);
-    }
-
     // GOOD
-    private Map<String, List<Kline>> fetchSymbolKlines(Set<String> symbols, long startTime, long endTime) {
+    private Map<String, List<Kline>> fetchSymbolKlines(Exchange exchange, Set<String> symbols, long startTime, long endTime) {
         System.out.println("\n--- FETCHING MINUTE-LEVEL DATA FOR EACH SYMBOL ---");
 
         Map<String, List<Kline>> symbolKlines = new HashMap<>();
         for (String symbol : symbols) {
-            List<Kline> klines = klineRepository.retrieveKlineDataWithStartAndEndTime(symbol, startTime, endTime, Integer.MAX_VALUE);
+            List<Kline> klines = klineSeriesCache.retrieveKlineDataWithStartAndEndTime(exchange, symbol, startTime, endTime, Integer.MAX_VALUE);
             if (klines.isEmpty()) {
                 throw new InputInvalidException("No minute data found for symbol: " + symbol);
             }
@@ -219,14 +434,14 @@ public class PortfolioService {
     }
 
     // GOOD
-    private Map<String, BigDecimal> calculateInitialHoldings(List<Position> positions, BigDecimal totalValue, long startTime) {
+    private Map<String, BigDecimal> calculateInitialHoldings(Exchange exchange, List<Position> positions, BigDecimal totalValue, long startTime) {
         System.out.println("\n--- CALCULATING INITIAL HOLDINGS ---");
         Map<String, BigDecimal> coinHoldings = new HashMap<>();
         for (Position position : positions) {
             BigDecimal investmentAmount = totalValue.multiply(position.getWeight());
 
             // Get price of coin at start time
-            BigDecimal priceAtStart = getPriceAtTime(position.getSymbol(), startTime);
+            BigDecimal priceAtStart = getPriceAtTime(exchange, position.getSymbol(), startTime);
 
             // Calculate total coins owned = investmentAmount / priceAtStart
             BigDecimal coins = investmentAmount.divide(priceAtStart, 8, RoundingMode.HALF_UP);
@@ -241,12 +456,22 @@ public class PortfolioService {
     }
 
     // GOOD
-    private BigDecimal getPriceAtTime(String symbol, long startTime) {
-        List<Kline> klines = klineRepository.retrieveKlineDataWithStartAndEndTime(
-                symbol, startTime, startTime + 60000, 1);
+    // The catalog rules out start times nowhere near stored data, and skips the exact-minute
+    // lookup when no bar can open at or after startTime
+    private BigDecimal getPriceAtTime(Exchange exchange, String symbol, long startTime) {
+        SymbolMetadata metadata = klineMetadataService.find(exchange, symbol)
+                .orElseThrow(() -> new InputInvalidException("No data stored for symbol: " + symbol));
+        if (!metadata.overlaps(startTime - PRICE_LOOKUP_TOLERANCE_MS, startTime + PRICE_LOOKUP_TOLERANCE_MS)) {
+            throw new InputInvalidException("No price data found for symbol: " + symbol + " at time: " + startTime +
+                    " (stored data covers " + metadata.getFirstOpenTime() + " to " + metadata.getLastCloseTime() + ")");
+        }
+
+        List<Kline> klines = startTime <= metadata.getLastOpenTime()
+                ? klineRepository.retrieveKlineDataWithStartAndEndTime(exchange, symbol, startTime, startTime + 60000, 1)
+                : List.of();
         if (klines.isEmpty()) {
             klines = klineRepository.retrieveKlineDataWithStartAndEndTime(
-                    symbol, startTime - 5 * 60000, startTime + 5 * 60000, 1);
+                    exchange, symbol, startTime - PRICE_LOOKUP_TOLERANCE_MS, startTime + PRICE_LOOKUP_TOLERANCE_MS, 1);
         }
         if (klines.isEmpty()) {
             throw new InputInvalidException("No price data found for symbol: " + symbol + " at time: " + startTime);
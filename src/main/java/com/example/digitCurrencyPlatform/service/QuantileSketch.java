@@ -0,0 +1,164 @@
+package com.example.digitCurrencyPlatform.service;
+
+// Streaming quantile sketch in the style of DDSketch: values are counted in logarithmic
+// buckets, so any quantile comes back within relativeAccuracy of a true sample value, and
+// sketches merge by adding counts. Positive and negative values have a bucket store each,
+// capped at maxBuckets; when a store would outgrow that, its smallest magnitudes are folded
+// into one bucket, which only costs accuracy near zero and never in the tails
+final class QuantileSketch {
+    private static final double MIN_INDEXABLE = 1e-12;
+
+    private final double gamma;
+    private final double logGamma;
+    private final Store positive;
+    private final Store negative;
+    private long zeroCount;
+    private long count;
+
+    QuantileSketch(double relativeAccuracy, int maxBuckets) {
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.positive = new Store(maxBuckets);
+        this.negative = new Store(maxBuckets);
+    }
+
+    void add(double value) {
+        if (value > MIN_INDEXABLE) {
+            positive.add(key(value), 1);
+        } else if (value < -MIN_INDEXABLE) {
+            negative.add(key(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+    }
+
+    // other must have been built with the same accuracy
+    void merge(QuantileSketch other) {
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    long count() {
+        return count;
+    }
+
+    // Value at quantile q in [0, 1]; NaN when empty
+    double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = 0;
+        for (int i = negative.size() - 1; i >= 0; i--) {
+            seen += negative.countAt(i);
+            if (seen > rank) {
+                return -value(negative.keyAt(i));
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < positive.size(); i++) {
+            seen += positive.countAt(i);
+            if (seen > rank) {
+                return value(positive.keyAt(i));
+            }
+        }
+        return value(positive.maxKey);
+    }
+
+    // Mean of the lowest ceil(q * count) values, at least one; NaN when empty
+    double lowerTailMean(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long tail = Math.max(1, (long) Math.ceil(q * count));
+        long remaining = tail;
+        double sum = 0;
+        for (int i = negative.size() - 1; i >= 0 && remaining > 0; i--) {
+            long taken = Math.min(remaining, negative.countAt(i));
+            sum -= taken * value(negative.keyAt(i));
+            remaining -= taken;
+        }
+        remaining -= Math.min(remaining, zeroCount);
+        for (int i = 0; i < positive.size() && remaining > 0; i++) {
+            long taken = Math.min(remaining, positive.countAt(i));
+            sum += taken * value(positive.keyAt(i));
+            remaining -= taken;
+        }
+        return sum / tail;
+    }
+
+    // Bucket key covers (gamma^(key-1), gamma^key]
+    private int key(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    // Within relativeAccuracy of every magnitude in the bucket
+    private double value(int key) {
+        return 2 * Math.pow(gamma, key) / (gamma + 1);
+    }
+
+    // Counts for keys [offset, offset + maxBuckets) in one array
+    private static final class Store {
+        private final int maxBuckets;
+        private long[] counts;
+        private int offset;
+        private int maxKey;
+
+        Store(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        int size() {
+            return counts == null ? 0 : counts.length;
+        }
+
+        long countAt(int index) {
+            return counts[index];
+        }
+
+        int keyAt(int index) {
+            return offset + index;
+        }
+
+        void add(int key, long n) {
+            if (counts == null) {
+                counts = new long[maxBuckets];
+                offset = key - maxBuckets / 2;
+                maxKey = key;
+            } else if (key < offset) {
+                // Grow downwards as far as the cap allows; anything lower joins the lowest bucket
+                rebase(Math.max(key, maxKey - maxBuckets + 1));
+                key = Math.max(key, offset);
+            } else if (key >= offset + maxBuckets) {
+                rebase(key - maxBuckets + 1);
+            }
+            maxKey = Math.max(maxKey, key);
+            counts[key - offset] += n;
+        }
+
+        void merge(Store other) {
+            for (int i = 0; i < other.size(); i++) {
+                if (other.counts[i] != 0) {
+                    add(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+
+        private void rebase(int newOffset) {
+            long[] rebased = new long[maxBuckets];
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    rebased[Math.max(offset + i, newOffset) - newOffset] += counts[i];
+                }
+            }
+            counts = rebased;
+            offset = newOffset;
+        }
+    }
+}
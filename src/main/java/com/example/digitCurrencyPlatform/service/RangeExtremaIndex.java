@@ -0,0 +1,220 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.RangeStatistics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+// In-memory index over one stored series for range statistics. Columns are primitive arrays in
+// open_time order with prices and volume scaled by 1e8, so values stay exact and nothing is
+// allocated per bar. Volume and trades use prefix sums. Highs and lows use a blocked sparse
+// table: bars are grouped in blocks of 32 and a sparse table of arg-extremes is kept over whole
+// blocks only. A query scans at most two partial blocks and combines two table entries, so it is
+// O(1) with O(n) memory (a plain sparse table would need n log n). Appending a bar is amortized
+// O(1), plus O(log n) table entries whenever a block fills up.
+// Not thread-safe; RangeStatisticsService serializes access per series
+final class RangeExtremaIndex {
+    private static final int BLOCK_SHIFT = 5;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int STORED_SCALE = 8;
+    private static final int COLUMN_SCALE = 10;
+
+    private long[] openTimes;
+    private long[] opens;
+    private long[] closes;
+    private long[] highs;
+    private long[] lows;
+    // prefix[i] is the sum over bars 0 .. i-1
+    private long[] volumePrefix;
+    private long[] tradePrefix;
+    private int size;
+    private final ExtremaTable highest = new ExtremaTable(true);
+    private final ExtremaTable lowest = new ExtremaTable(false);
+
+    RangeExtremaIndex(int expectedBars) {
+        int capacity = Math.max(BLOCK_SIZE, expectedBars);
+        openTimes = new long[capacity];
+        opens = new long[capacity];
+        closes = new long[capacity];
+        highs = new long[capacity];
+        lows = new long[capacity];
+        volumePrefix = new long[capacity + 1];
+        tradePrefix = new long[capacity + 1];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long firstOpenTime() {
+        return openTimes[0];
+    }
+
+    long lastOpenTime() {
+        return size == 0 ? Long.MIN_VALUE : openTimes[size - 1];
+    }
+
+    // Bars must arrive in increasing open_time order. Throws ArithmeticException when a value
+    // can't be held exactly, after which the index must be discarded
+    void append(Kline kline) {
+        if (size > 0 && kline.getOpenTime() <= openTimes[size - 1]) {
+            throw new IllegalArgumentException("Bars must be appended in open_time order");
+        }
+        long open = scaled(kline.getOpenPrice());
+        long close = scaled(kline.getClosePrice());
+        long high = scaled(kline.getHighPrice());
+        long low = scaled(kline.getLowPrice());
+        long volume = Math.addExact(volumePrefix[size], scaled(kline.getVolume()));
+        long trades = Math.addExact(tradePrefix[size], kline.getNumberOfTrades());
+        if (size == openTimes.length) {
+            grow();
+        }
+        openTimes[size] = kline.getOpenTime();
+        opens[size] = open;
+        closes[size] = close;
+        highs[size] = high;
+        lows[size] = low;
+        volumePrefix[size + 1] = volume;
+        tradePrefix[size + 1] = trades;
+        size++;
+        if ((size & (BLOCK_SIZE - 1)) == 0) {
+            int block = (size >> BLOCK_SHIFT) - 1;
+            highest.blockCompleted(block);
+            lowest.blockCompleted(block);
+        }
+    }
+
+    // Bars with startTime <= open_time <= endTime; null when there are none
+    RangeStatistics query(long startTime, long endTime) {
+        int from = lowerBound(startTime);
+        int to = lowerBound(endTime == Long.MAX_VALUE ? endTime : endTime + 1) - 1;
+        if (from > to) {
+            return null;
+        }
+        int high = highest.query(from, to);
+        int low = lowest.query(from, to);
+        RangeStatistics statistics = new RangeStatistics();
+        statistics.setBars(to - from + 1);
+        statistics.setFirstOpenTime(openTimes[from]);
+        statistics.setLastOpenTime(openTimes[to]);
+        statistics.setOpen(price(opens[from]));
+        statistics.setClose(price(closes[to]));
+        statistics.setHigh(price(highs[high]));
+        statistics.setHighTime(openTimes[high]);
+        statistics.setLow(price(lows[low]));
+        statistics.setLowTime(openTimes[low]);
+        statistics.setVolume(price(volumePrefix[to + 1] - volumePrefix[from]));
+        statistics.setNumberOfTrades(tradePrefix[to + 1] - tradePrefix[from]);
+        statistics.setSource("index");
+        return statistics;
+    }
+
+    // First bar with open_time >= time
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (openTimes[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void grow() {
+        int capacity = openTimes.length + (openTimes.length >> 1);
+        openTimes = Arrays.copyOf(openTimes, capacity);
+        opens = Arrays.copyOf(opens, capacity);
+        closes = Arrays.copyOf(closes, capacity);
+        highs = Arrays.copyOf(highs, capacity);
+        lows = Arrays.copyOf(lows, capacity);
+        volumePrefix = Arrays.copyOf(volumePrefix, capacity + 1);
+        tradePrefix = Arrays.copyOf(tradePrefix, capacity + 1);
+    }
+
+    private static long scaled(BigDecimal value) {
+        return value.setScale(STORED_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal price(long scaled) {
+        return BigDecimal.valueOf(scaled, STORED_SCALE).setScale(COLUMN_SCALE, RoundingMode.UNNECESSARY);
+    }
+
+    private final class ExtremaTable {
+        private final boolean maximum;
+        // table[level][block] = index of the extreme bar in blocks block .. block + 2^level - 1
+        private int[][] table = new int[1][16];
+
+        ExtremaTable(boolean maximum) {
+            this.maximum = maximum;
+        }
+
+        private long[] values() {
+            return maximum ? highs : lows;
+        }
+
+        // Ties resolve to the earlier bar
+        private int better(int a, int b) {
+            long[] values = values();
+            if (values[a] == values[b]) {
+                return Math.min(a, b);
+            }
+            return (values[a] > values[b]) == maximum ? a : b;
+        }
+
+        void blockCompleted(int block) {
+            int start = block << BLOCK_SHIFT;
+            int best = start;
+            for (int i = start + 1; i < start + BLOCK_SIZE; i++) {
+                best = better(best, i);
+            }
+            set(0, block, best);
+            // Only the spans ending at this block are new
+            for (int level = 1; block - (1 << level) + 1 >= 0; level++) {
+                int first = block - (1 << level) + 1;
+                set(level, first, better(table[level - 1][first], table[level - 1][first + (1 << (level - 1))]));
+            }
+        }
+
+        private void set(int level, int block, int index) {
+            if (level >= table.length) {
+                table = Arrays.copyOf(table, level + 1);
+                table[level] = new int[16];
+            }
+            if (block >= table[level].length) {
+                table[level] = Arrays.copyOf(table[level], Math.max(block + 1, table[level].length * 2));
+            }
+            table[level][block] = index;
+        }
+
+        int query(int from, int to) {
+            int firstBlock = from >> BLOCK_SHIFT;
+            int lastBlock = to >> BLOCK_SHIFT;
+            if (firstBlock == lastBlock) {
+                return scan(from, to);
+            }
+            int best = better(scan(from, ((firstBlock + 1) << BLOCK_SHIFT) - 1), scan(lastBlock << BLOCK_SHIFT, to));
+            // Blocks strictly between the two partial ends are complete
+            if (firstBlock + 1 <= lastBlock - 1) {
+                int a = firstBlock + 1;
+                int b = lastBlock - 1;
+                int level = 31 - Integer.numberOfLeadingZeros(b - a + 1);
+                best = better(best, better(table[level][a], table[level][b - (1 << level) + 1]));
+            }
+            return best;
+        }
+
+        private int scan(int from, int to) {
+            int best = from;
+            for (int i = from + 1; i <= to; i++) {
+                best = better(best, i);
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.RangeStatistics;
+import com.example.digitCurrencyPlatform.model.SymbolMetadata;
+import com.example.digitCurrencyPlatform.repository.KlineStreamReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Range statistics (open, close, highest high, lowest low, volume, trades) for any window of a
+// stored series. Each queried series gets a RangeExtremaIndex built from one streaming scan and
+// kept while the metadata catalog says nothing changed. When the catalog shows only newer bars,
+// the tail is appended instead of rebuilding. Series whose values can't be held exactly in the
+// index are answered by a streaming scan instead.
+// At most max-series indexes are kept (least recently used go first); one costs about 56 bytes
+// per stored bar, so a year of 1m bars is roughly 30MB
+@Slf4j
+@Service
+public class RangeStatisticsService {
+    private final KlineStreamReader klineStreamReader;
+    private final KlineMetadataService klineMetadataService;
+    private final Map<String, IndexedSeries> indexes;
+    private final Map<String, Object> seriesLocks = new ConcurrentHashMap<>();
+    // Row count at which a series was found unindexable, so it isn't rescanned until it changes
+    private final Map<String, Long> unindexable = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RangeStatisticsService(KlineStreamReader klineStreamReader, KlineMetadataService klineMetadataService,
+                                  @Value("${app.kline.range-index.max-series:8}") int maxSeries) {
+        this.klineStreamReader = klineStreamReader;
+        this.klineMetadataService = klineMetadataService;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IndexedSeries> eldest) {
+                return size() > maxSeries;
+            }
+        };
+    }
+
+    public RangeStatistics statistics(Exchange exchange, String symbol, long startTime, long endTime) {
+        Optional<SymbolMetadata> metadata = klineMetadataService.find(exchange, symbol);
+        RangeStatistics statistics = null;
+        String source = "catalog";
+        if (metadata.isPresent() && metadata.get().overlaps(startTime, endTime)) {
+            String key = exchange.name() + ":" + symbol;
+            synchronized (seriesLocks.computeIfAbsent(key, k -> new Object())) {
+                RangeExtremaIndex index = currentIndex(key, exchange, symbol, metadata.get());
+                source = index != null ? "index" : "scan";
+                statistics = index != null ? index.query(startTime, endTime) : scan(exchange, symbol, startTime, endTime);
+            }
+        }
+        if (statistics == null) {
+            statistics = new RangeStatistics();
+            statistics.setVolume(BigDecimal.ZERO);
+            statistics.setSource(source);
+        }
+        statistics.setExchange(exchange.name());
+        statistics.setSymbol(symbol);
+        statistics.setStartTime(startTime);
+        statistics.setEndTime(endTime);
+        return statistics;
+    }
+
+    // Called with the series lock held
+    private RangeExtremaIndex currentIndex(String key, Exchange exchange, String symbol, SymbolMetadata metadata) {
+        IndexedSeries series;
+        synchronized (indexes) {
+            series = indexes.get(key);
+        }
+        if (series != null && series.matches(metadata)) {
+            return series.index;
+        }
+        if (series != null && metadata.getFirstOpenTime() == series.metadata.getFirstOpenTime()
+                && metadata.getLastOpenTime() > series.index.lastOpenTime()) {
+            // Only newer bars according to the catalog: append them, then check nothing was backfilled
+            try {
+                klineStreamReader.forEachOpeningBetween(exchange, symbol, series.index.lastOpenTime() + 1,
+                        Long.MAX_VALUE, series.index::append);
+                if (series.index.size() == metadata.getRowCount()) {
+                    series.metadata = metadata;
+                    return series.index;
+                }
+            } catch (ArithmeticException e) {
+                // Rebuilt below, which marks the series unindexable
+            }
+        }
+
+        Long unindexableAt = unindexable.get(key);
+        if (unindexableAt != null && unindexableAt == metadata.getRowCount()) {
+            return null;
+        }
+        RangeExtremaIndex index = new RangeExtremaIndex((int) Math.min(Integer.MAX_VALUE - 8, metadata.getRowCount()));
+        try {
+            klineStreamReader.forEachOpeningBetween(exchange, symbol, 0L, Long.MAX_VALUE, index::append);
+        } catch (ArithmeticException e) {
+            log.warn("Range index disabled for {}", key, e);
+            unindexable.put(key, metadata.getRowCount());
+            synchronized (indexes) {
+                indexes.remove(key);
+            }
+            return null;
+        }
+        unindexable.remove(key);
+        // The scan reflects the table, so the index is trusted for this catalog state even if
+        // the catalog lags behind another instance's inserts
+        synchronized (indexes) {
+            indexes.put(key, new IndexedSeries(index, metadata));
+        }
+        return index;
+    }
+
+    private RangeStatistics scan(Exchange exchange, String symbol, long startTime, long endTime) {
+        RangeStatistics statistics = new RangeStatistics();
+        statistics.setVolume(BigDecimal.ZERO);
+        statistics.setSource("scan");
+        long toOpenTime = endTime == Long.MAX_VALUE ? endTime : endTime + 1;
+        klineStreamReader.forEachOpeningBetween(exchange, symbol, startTime, toOpenTime, kline -> accumulate(statistics, kline));
+        return statistics.getBars() == 0 ? null : statistics;
+    }
+
+    private static void accumulate(RangeStatistics statistics, Kline kline) {
+        if (statistics.getBars() == 0) {
+            statistics.setFirstOpenTime(kline.getOpenTime());
+            statistics.setOpen(kline.getOpenPrice());
+        }
+        statistics.setBars(statistics.getBars() + 1);
+        statistics.setLastOpenTime(kline.getOpenTime());
+        statistics.setClose(kline.getClosePrice());
+        if (statistics.getHigh() == null || kline.getHighPrice().compareTo(statistics.getHigh()) > 0) {
+            statistics.setHigh(kline.getHighPrice());
+            statistics.setHighTime(kline.getOpenTime());
+        }
+        if (statistics.getLow() == null || kline.getLowPrice().compareTo(statistics.getLow()) < 0) {
+            statistics.setLow(kline.getLowPrice());
+            statistics.setLowTime(kline.getOpenTime());
+        }
+        statistics.setVolume(statistics.getVolume().add(kline.getVolume()));
+        statistics.setNumberOfTrades(statistics.getNumberOfTrades() + kline.getNumberOfTrades());
+    }
+
+    private static final class IndexedSeries {
+        private final RangeExtremaIndex index;
+        // Catalog entry the index was last validated against
+        private SymbolMetadata metadata;
+
+        IndexedSeries(RangeExtremaIndex index, SymbolMetadata metadata) {
+            this.index = index;
+            this.metadata = metadata;
+        }
+
+        boolean matches(SymbolMetadata current) {
+            return current.getRowCount() == metadata.getRowCount()
+                    && current.getFirstOpenTime() == metadata.getFirstOpenTime()
+                    && current.getLastOpenTime() == metadata.getLastOpenTime();
+        }
+    }
+}
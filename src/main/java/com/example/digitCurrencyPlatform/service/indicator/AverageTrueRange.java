@@ -0,0 +1,63 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Wilder's ATR over the true range max(high - low, |high - prevClose|, |low - prevClose|)
+public class AverageTrueRange implements Indicator {
+    private final int period;
+    private final BigDecimal periodDecimal;
+    private final BigDecimal periodMinusOne;
+    private BigDecimal previousClose;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private int count;
+    private BigDecimal value;
+
+    public AverageTrueRange(int period) {
+        this.period = period;
+        this.periodDecimal = BigDecimal.valueOf(period);
+        this.periodMinusOne = BigDecimal.valueOf(period - 1L);
+    }
+
+    @Override
+    public String getName() {
+        return "atr_" + period;
+    }
+
+    @Override
+    public int getWarmupPeriod() {
+        return 4 * period;
+    }
+
+    @Override
+    public void update(Kline kline) {
+        BigDecimal trueRange = kline.getHighPrice().subtract(kline.getLowPrice());
+        if (previousClose != null) {
+            trueRange = trueRange
+                    .max(kline.getHighPrice().subtract(previousClose).abs())
+                    .max(kline.getLowPrice().subtract(previousClose).abs());
+        }
+        previousClose = kline.getClosePrice();
+        count++;
+
+        if (count < period) {
+            sum = sum.add(trueRange);
+        } else if (count == period) {
+            value = sum.add(trueRange).divide(periodDecimal, MATH_CONTEXT);
+        } else {
+            value = value.multiply(periodMinusOne).add(trueRange).divide(periodDecimal, MATH_CONTEXT);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return value != null;
+    }
+
+    @Override
+    public Map<String, BigDecimal> getValues() {
+        return isReady() ? Map.of(getName(), value) : Map.of();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Middle band is the SMA; the bands are +/- multiplier population standard deviations,
+// computed from running sums of x and x^2 over the same ring buffer window
+public class BollingerBands implements Indicator {
+    private final int period;
+    private final BigDecimal multiplier;
+    private final BigDecimal divisor;
+    private final BigDecimal[] window;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal sumOfSquares = BigDecimal.ZERO;
+    private int count;
+    private int position;
+    private BigDecimal middle;
+    private BigDecimal width;
+
+    public BollingerBands(int period, BigDecimal multiplier) {
+        this.period = period;
+        this.multiplier = multiplier;
+        this.divisor = BigDecimal.valueOf(period);
+        this.window = new BigDecimal[period];
+    }
+
+    @Override
+    public String getName() {
+        return "bb_" + period + "_" + multiplier.stripTrailingZeros().toPlainString();
+    }
+
+    @Override
+    public int getWarmupPeriod() {
+        return period - 1;
+    }
+
+    @Override
+    public void update(Kline kline) {
+        BigDecimal close = kline.getClosePrice();
+        if (count == period) {
+            BigDecimal oldest = window[position];
+            sum = sum.subtract(oldest);
+            sumOfSquares = sumOfSquares.subtract(oldest.multiply(oldest));
+        } else {
+            count++;
+        }
+        window[position] = close;
+        sum = sum.add(close);
+        sumOfSquares = sumOfSquares.add(close.multiply(close));
+        position = (position + 1) % period;
+
+        if (count < period) {
+            return;
+        }
+        middle = sum.divide(divisor, MATH_CONTEXT);
+        BigDecimal variance = sumOfSquares.divide(divisor, MATH_CONTEXT).subtract(middle.multiply(middle, MATH_CONTEXT));
+        // Cancellation can leave a tiny negative variance on flat windows
+        if (variance.signum() < 0) {
+            variance = BigDecimal.ZERO;
+        }
+        width = multiplier.multiply(variance.sqrt(MATH_CONTEXT), MATH_CONTEXT);
+    }
+
+    @Override
+    public boolean isReady() {
+        return middle != null;
+    }
+
+    @Override
+    public Map<String, BigDecimal> getValues() {
+        if (!isReady()) {
+            return Map.of();
+        }
+        Map<String, BigDecimal> values = new LinkedHashMap<>();
+        values.put(getName() + "_upper", middle.add(width));
+        values.put(getName() + "_middle", middle);
+        values.put(getName() + "_lower", middle.subtract(width));
+        return values;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class ExponentialMovingAverage implements Indicator {
+    private final int period;
+    private final PriceSource source;
+    private final BigDecimal alpha;
+    private final SimpleMovingAverage seed;
+    private BigDecimal value;
+
+    public ExponentialMovingAverage(int period, PriceSource source) {
+        this.period = period;
+        this.source = source;
+        this.alpha = BigDecimal.valueOf(2).divide(BigDecimal.valueOf(period + 1L), MATH_CONTEXT);
+        this.seed = new SimpleMovingAverage(period, source);
+    }
+
+    // Seeded with the SMA of the first period values, then value += alpha * (input - value)
+    public BigDecimal next(BigDecimal input) {
+        if (value == null) {
+            value = seed.next(input);
+        } else {
+            value = value.add(alpha.multiply(input.subtract(value), MATH_CONTEXT), MATH_CONTEXT);
+        }
+        return value;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    @Override
+    public String getName() {
+        return "ema_" + period;
+    }
+
+    // EMA has infinite memory; four periods bring the seed's influence well below display precision
+    @Override
+    public int getWarmupPeriod() {
+        return 4 * period;
+    }
+
+    @Override
+    public void update(Kline kline) {
+        next(source.of(kline));
+    }
+
+    @Override
+    public boolean isReady() {
+        return value != null;
+    }
+
+    @Override
+    public Map<String, BigDecimal> getValues() {
+        return isReady() ? Map.of(getName(), value) : Map.of();
+    }
+}
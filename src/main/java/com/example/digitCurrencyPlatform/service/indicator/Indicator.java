@@ -0,0 +1,26 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Map;
+
+// A streaming technical indicator: each update is O(1) in the length of the series,
+// so an indicator can be driven bar by bar over an arbitrarily long kline series
+public interface Indicator {
+    MathContext MATH_CONTEXT = MathContext.DECIMAL64;
+
+    // Unique output prefix, e.g. "sma_20"
+    String getName();
+
+    // Number of bars that should be fed before the first requested bar so the output is stable
+    int getWarmupPeriod();
+
+    void update(Kline kline);
+
+    boolean isReady();
+
+    // Output name -> current value, empty until the indicator is ready
+    Map<String, BigDecimal> getValues();
+}
@@ -0,0 +1,90 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.exception.InputInvalidException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Builds indicators from specs like "sma:20", "ema:50", "rsi:14", "macd:12:26:9",
+// "bb:20:2", "vwap", "vwap:20" and "atr:14"
+public final class IndicatorFactory {
+    private static final int MAX_PERIOD = 1000;
+
+    private IndicatorFactory() {
+    }
+
+    public static List<Indicator> createAll(List<String> specs) {
+        if (specs == null || specs.isEmpty()) {
+            throw new InputInvalidException("At least one indicator must be requested");
+        }
+        List<Indicator> indicators = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (String spec : specs) {
+            Indicator indicator = create(spec);
+            if (names.add(indicator.getName())) {
+                indicators.add(indicator);
+            }
+        }
+        return indicators;
+    }
+
+    public static Indicator create(String spec) {
+        if (spec == null || spec.trim().isEmpty()) {
+            throw new InputInvalidException("Indicator spec cannot be empty");
+        }
+        String[] parts = spec.trim().toLowerCase().split(":");
+        String type = parts[0];
+
+        return switch (type) {
+            case "sma" -> new SimpleMovingAverage(period(parts, 1, 20, spec), PriceSource.CLOSE);
+            case "ema" -> new ExponentialMovingAverage(period(parts, 1, 20, spec), PriceSource.CLOSE);
+            case "rsi" -> new RelativeStrengthIndex(period(parts, 1, 14, spec));
+            case "macd" -> {
+                int fast = period(parts, 1, 12, spec);
+                int slow = period(parts, 2, 26, spec);
+                if (fast >= slow) {
+                    throw new InputInvalidException("MACD fast period must be less than slow period: " + spec);
+                }
+                yield new Macd(fast, slow, period(parts, 3, 9, spec));
+            }
+            case "bb" -> new BollingerBands(period(parts, 1, 20, spec), multiplier(parts, 2, spec));
+            case "vwap" -> new Vwap(parts.length > 1 ? period(parts, 1, 0, spec) : 0);
+            case "atr" -> new AverageTrueRange(period(parts, 1, 14, spec));
+            default -> throw new InputInvalidException("Unknown indicator '" + type +
+                    "'. Supported indicators: sma, ema, rsi, macd, bb, vwap, atr");
+        };
+    }
+
+    private static int period(String[] parts, int index, int defaultValue, String spec) {
+        if (parts.length <= index) {
+            return defaultValue;
+        }
+        try {
+            int period = Integer.parseInt(parts[index]);
+            if (period < 1 || period > MAX_PERIOD) {
+                throw new InputInvalidException("Indicator period must be between 1 and " + MAX_PERIOD + ": " + spec);
+            }
+            return period;
+        } catch (NumberFormatException e) {
+            throw new InputInvalidException("Invalid indicator period in '" + spec + "'");
+        }
+    }
+
+    private static BigDecimal multiplier(String[] parts, int index, String spec) {
+        if (parts.length <= index) {
+            return BigDecimal.valueOf(2);
+        }
+        try {
+            BigDecimal multiplier = new BigDecimal(parts[index]);
+            if (multiplier.signum() <= 0) {
+                throw new InputInvalidException("Bollinger multiplier must be positive: " + spec);
+            }
+            return multiplier;
+        } catch (NumberFormatException e) {
+            throw new InputInvalidException("Invalid Bollinger multiplier in '" + spec + "'");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// MACD composed from three EMAs: fast and slow over close, signal over the MACD line
+public class Macd implements Indicator {
+    private final int fastPeriod;
+    private final int slowPeriod;
+    private final int signalPeriod;
+    private final ExponentialMovingAverage fast;
+    private final ExponentialMovingAverage slow;
+    private final ExponentialMovingAverage signal;
+    private BigDecimal macd;
+    private BigDecimal signalValue;
+
+    public Macd(int fastPeriod, int slowPeriod, int signalPeriod) {
+        this.fastPeriod = fastPeriod;
+        this.slowPeriod = slowPeriod;
+        this.signalPeriod = signalPeriod;
+        this.fast = new ExponentialMovingAverage(fastPeriod, PriceSource.CLOSE);
+        this.slow = new ExponentialMovingAverage(slowPeriod, PriceSource.CLOSE);
+        this.signal = new ExponentialMovingAverage(signalPeriod, PriceSource.CLOSE);
+    }
+
+    @Override
+    public String getName() {
+        return "macd_" + fastPeriod + "_" + slowPeriod + "_" + signalPeriod;
+    }
+
+    @Override
+    public int getWarmupPeriod() {
+        return slow.getWarmupPeriod() + signal.getWarmupPeriod();
+    }
+
+    @Override
+    public void update(Kline kline) {
+        BigDecimal fastValue = fast.next(kline.getClosePrice());
+        BigDecimal slowValue = slow.next(kline.getClosePrice());
+        if (fastValue == null || slowValue == null) {
+            return;
+        }
+        macd = fastValue.subtract(slowValue);
+        signalValue = signal.next(macd);
+    }
+
+    @Override
+    public boolean isReady() {
+        return signalValue != null;
+    }
+
+    @Override
+    public Map<String, BigDecimal> getValues() {
+        if (!isReady()) {
+            return Map.of();
+        }
+        Map<String, BigDecimal> values = new LinkedHashMap<>();
+        values.put(getName(), macd);
+        values.put(getName() + "_signal", signalValue);
+        values.put(getName() + "_histogram", macd.subtract(signalValue));
+        return values;
+    }
+}
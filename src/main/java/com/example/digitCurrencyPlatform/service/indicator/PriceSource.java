@@ -0,0 +1,26 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+
+public enum PriceSource {
+    OPEN,
+    HIGH,
+    LOW,
+    CLOSE,
+    TYPICAL;
+
+    private static final BigDecimal THREE = BigDecimal.valueOf(3);
+
+    public BigDecimal of(Kline kline) {
+        return switch (this) {
+            case OPEN -> kline.getOpenPrice();
+            case HIGH -> kline.getHighPrice();
+            case LOW -> kline.getLowPrice();
+            case CLOSE -> kline.getClosePrice();
+            case TYPICAL -> kline.getHighPrice().add(kline.getLowPrice()).add(kline.getClosePrice())
+                    .divide(THREE, Indicator.MATH_CONTEXT);
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Wilder's RSI: gains and losses are smoothed with alpha = 1 / period
+public class RelativeStrengthIndex implements Indicator {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final int period;
+    private final BigDecimal periodDecimal;
+    private final BigDecimal periodMinusOne;
+    private BigDecimal previousClose;
+    private BigDecimal averageGain = BigDecimal.ZERO;
+    private BigDecimal averageLoss = BigDecimal.ZERO;
+    private int changes;
+    private BigDecimal value;
+
+    public RelativeStrengthIndex(int period) {
+        this.period = period;
+        this.periodDecimal = BigDecimal.valueOf(period);
+        this.periodMinusOne = BigDecimal.valueOf(period - 1L);
+    }
+
+    @Override
+    public String getName() {
+        return "rsi_" + period;
+    }
+
+    @Override
+    public int getWarmupPeriod() {
+        return 4 * period;
+    }
+
+    @Override
+    public void update(Kline kline) {
+        BigDecimal close = kline.getClosePrice();
+        if (previousClose == null) {
+            previousClose = close;
+            return;
+        }
+
+        BigDecimal change = close.subtract(previousClose);
+        BigDecimal gain = change.signum() > 0 ? change : BigDecimal.ZERO;
+        BigDecimal loss = change.signum() < 0 ? change.negate() : BigDecimal.ZERO;
+        previousClose = close;
+        changes++;
+
+        if (changes <= period) {
+            // First average is a plain mean of the first period changes
+            averageGain = averageGain.add(gain);
+            averageLoss = averageLoss.add(loss);
+            if (changes < period) {
+                return;
+            }
+            averageGain = averageGain.divide(periodDecimal, MATH_CONTEXT);
+            averageLoss = averageLoss.divide(periodDecimal, MATH_CONTEXT);
+        } else {
+            averageGain = averageGain.multiply(periodMinusOne).add(gain).divide(periodDecimal, MATH_CONTEXT);
+            averageLoss = averageLoss.multiply(periodMinusOne).add(loss).divide(periodDecimal, MATH_CONTEXT);
+        }
+
+        if (averageLoss.signum() == 0) {
+            value = averageGain.signum() == 0 ? BigDecimal.valueOf(50) : HUNDRED;
+        } else {
+            BigDecimal relativeStrength = averageGain.divide(averageLoss, MATH_CONTEXT);
+            value = HUNDRED.subtract(HUNDRED.divide(BigDecimal.ONE.add(relativeStrength), MATH_CONTEXT));
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return value != null;
+    }
+
+    @Override
+    public Map<String, BigDecimal> getValues() {
+        return isReady() ? Map.of(getName(), value) : Map.of();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class SimpleMovingAverage implements Indicator {
+    private final int period;
+    private final PriceSource source;
+    private final BigDecimal[] window;
+    private final BigDecimal divisor;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private int count;
+    private int position;
+    private BigDecimal value;
+
+    public SimpleMovingAverage(int period, PriceSource source) {
+        this.period = period;
+        this.source = source;
+        this.window = new BigDecimal[period];
+        this.divisor = BigDecimal.valueOf(period);
+    }
+
+    // Ring buffer keeps the running sum, so each step adds the new value and drops the oldest
+    public BigDecimal next(BigDecimal input) {
+        if (count == period) {
+            sum = sum.subtract(window[position]);
+        } else {
+            count++;
+        }
+        window[position] = input;
+        sum = sum.add(input);
+        position = (position + 1) % period;
+
+        value = count == period ? sum.divide(divisor, MATH_CONTEXT) : null;
+        return value;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    @Override
+    public String getName() {
+        return "sma_" + period;
+    }
+
+    @Override
+    public int getWarmupPeriod() {
+        return period - 1;
+    }
+
+    @Override
+    public void update(Kline kline) {
+        next(source.of(kline));
+    }
+
+    @Override
+    public boolean isReady() {
+        return value != null;
+    }
+
+    @Override
+    public Map<String, BigDecimal> getValues() {
+        return isReady() ? Map.of(getName(), value) : Map.of();
+    }
+}
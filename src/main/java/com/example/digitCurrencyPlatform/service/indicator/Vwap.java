@@ -0,0 +1,69 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Volume weighted average of the typical price. With period 0 it is cumulative from the
+// first requested bar, otherwise it is a rolling window of the last period bars
+public class Vwap implements Indicator {
+    private final int period;
+    private final BigDecimal[] priceVolumeWindow;
+    private final BigDecimal[] volumeWindow;
+    private BigDecimal priceVolume = BigDecimal.ZERO;
+    private BigDecimal volume = BigDecimal.ZERO;
+    private int count;
+    private int position;
+    private BigDecimal value;
+
+    public Vwap(int period) {
+        this.period = period;
+        this.priceVolumeWindow = period > 0 ? new BigDecimal[period] : null;
+        this.volumeWindow = period > 0 ? new BigDecimal[period] : null;
+    }
+
+    @Override
+    public String getName() {
+        return period > 0 ? "vwap_" + period : "vwap";
+    }
+
+    @Override
+    public int getWarmupPeriod() {
+        return period > 0 ? period - 1 : 0;
+    }
+
+    @Override
+    public void update(Kline kline) {
+        BigDecimal barVolume = kline.getVolume();
+        BigDecimal barPriceVolume = PriceSource.TYPICAL.of(kline).multiply(barVolume, MATH_CONTEXT);
+
+        if (period > 0) {
+            if (count == period) {
+                priceVolume = priceVolume.subtract(priceVolumeWindow[position]);
+                volume = volume.subtract(volumeWindow[position]);
+            } else {
+                count++;
+            }
+            priceVolumeWindow[position] = barPriceVolume;
+            volumeWindow[position] = barVolume;
+            position = (position + 1) % period;
+        }
+
+        priceVolume = priceVolume.add(barPriceVolume);
+        volume = volume.add(barVolume);
+        if ((period == 0 || count == period) && volume.signum() > 0) {
+            value = priceVolume.divide(volume, MATH_CONTEXT);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return value != null;
+    }
+
+    @Override
+    public Map<String, BigDecimal> getValues() {
+        return isReady() ? Map.of(getName(), value) : Map.of();
+    }
+}
@@ -3,18 +3,17 @@ package com.example.digitCurrencyPlatform.service.provider;
 import com.example.digitCurrencyPlatform.enums.Exchange;
 import com.example.digitCurrencyPlatform.enums.Interval;
 import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.QuarantinedKline;
 import com.example.digitCurrencyPlatform.model.exception.DataProviderException;
+import com.example.digitCurrencyPlatform.service.KlineQuarantineService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -24,17 +23,21 @@ import java.util.Set;
 
 
 // retrieve kline data from Binance
+@Slf4j
 @Validated
 @Service
 public class BinanceServiceProvider implements KlineDataProvider {
 
     private final Exchange exchange;
-    private final RestTemplate restTemplate;
+    private final ExchangeHttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final KlineQuarantineService quarantineService;
 
     @Autowired
-    public BinanceServiceProvider(RestTemplate restTemplate, @Value("${app.exchange.default}") String exchangeName) {
-        this.restTemplate = restTemplate;
+    public BinanceServiceProvider(ExchangeHttpClient httpClient, @Value("${app.exchange.default}") String exchangeName,
+                                  KlineQuarantineService quarantineService) {
+        this.httpClient = httpClient;
+        this.quarantineService = quarantineService;
         this.exchange = Exchange.fromString(exchangeName);
         this.objectMapper = new ObjectMapper();
     }
@@ -45,7 +48,6 @@ public class BinanceServiceProvider implements KlineDataProvider {
     }
 
     @Override
-    @Retryable(value = {DataProviderException.class}, maxAttempts = 3, backoff = @Backoff(delay = 1000))
     public List<Kline> fetchKlines(String symbol, Interval interval, Long startTime, Long endTime) {
         if (!supportsInterval(interval)) {
             throw new DataProviderException("Interval " + interval + " not supported by " + exchange.getDisplayName());
@@ -53,14 +55,12 @@ public class BinanceServiceProvider implements KlineDataProvider {
         try {
             String requestUrl = exchange.getKlineUrl(symbol, interval.getValue(), startTime, endTime, exchange.getMaxKlinesPerRequest());
 
-            ResponseEntity<List> response = restTemplate.getForEntity(requestUrl, List.class);
-            List<List<Object>> rawKlines = response.getBody();
+            List<List<Object>> rawKlines = httpClient.get(exchange, "fetchKlines", requestUrl, List.class);
 
-            System.out.println("Number of kline data retrieved from " + exchange.getDisplayName() + ": " +
-                    (rawKlines != null ? rawKlines.size() : 0));
+            log.debug("Retrieved {} klines from {}", rawKlines != null ? rawKlines.size() : 0, exchange.getDisplayName());
 
             if (rawKlines == null || rawKlines.isEmpty()) {
-                System.out.println("No data returned from " + exchange.getDisplayName() + " API.");
+                log.warn("No data returned from {} API for {} {} to {}", exchange.getDisplayName(), symbol, startTime, endTime);
                 return new ArrayList<>();
             }
 
@@ -68,12 +68,13 @@ public class BinanceServiceProvider implements KlineDataProvider {
 
         } catch (Exception e) {
             throw new DataProviderException("Failed to fetch klines from " + exchange.getDisplayName() +
-                    " for symbol: " + symbol);
+                    " for symbol: " + symbol, e);
         }
     }
 
-    private List<Kline> parseKlineData(List<List<Object>> rawKlines, String symbol) {
+    List<Kline> parseKlineData(List<List<Object>> rawKlines, String symbol) {
         List<Kline> klines = new ArrayList<>();
+        List<QuarantinedKline> unparseable = new ArrayList<>();
 
         for (List<Object> item : rawKlines) {
             try {
@@ -91,18 +92,22 @@ public class BinanceServiceProvider implements KlineDataProvider {
                 klines.add(kline);
 
             } catch (Exception e) {
-                System.err.println("Failed to parse kline from " + exchange.getDisplayName() + ": " + item);
+                unparseable.add(KlineQuarantineService.unparseable(getExchange(), symbol, item, e));
             }
         }
 
+        if (!unparseable.isEmpty()) {
+            log.warn("Quarantining {} unparseable klines from {}", unparseable.size(), exchange.getDisplayName());
+            quarantineService.quarantine(unparseable);
+        }
+
         return klines;
     }
 
     @Override
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 1000))
     public Set<String> fetchAvailableSymbols() {
         try {
-            String json = restTemplate.getForObject(exchange.getSymbolListEndpoint(), String.class);
+            String json = httpClient.get(exchange, "fetchAvailableSymbols", exchange.getSymbolListEndpoint(), String.class);
 
             if (json == null || json.trim().isEmpty()) {
                 throw new DataProviderException("Empty response from " + exchange.getDisplayName() + " symbol API");
@@ -123,17 +128,12 @@ public class BinanceServiceProvider implements KlineDataProvider {
             return symbols;
 
         } catch (JsonProcessingException e) {
-            throw new DataProviderException("Failed to parse " + exchange.getDisplayName() + " symbol response");
+            throw new DataProviderException("Failed to parse " + exchange.getDisplayName() + " symbol response", e);
         } catch (Exception e) {
-            throw new DataProviderException("Failed to fetch symbols from " + exchange.getDisplayName());
+            throw new DataProviderException("Failed to fetch symbols from " + exchange.getDisplayName(), e);
         }
     }
 
-    @Override
-    public String getProviderName() {
-        return "BINANCE_US";
-    }
-
     @Override
     public int getMaxLimitPerRequest() {
         return exchange.getMaxKlinesPerRequest();
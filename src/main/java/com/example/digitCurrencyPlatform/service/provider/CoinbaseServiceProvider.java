@@ -0,0 +1,150 @@
+package com.example.digitCurrencyPlatform.service.provider;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.QuarantinedKline;
+import com.example.digitCurrencyPlatform.model.exception.DataProviderException;
+import com.example.digitCurrencyPlatform.service.KlineQuarantineService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// retrieve kline data from Coinbase Exchange. Candles come back newest first, at most 300 per
+// request, so a range is walked in 300-candle windows. Products are named BTC-USD; they are
+// exposed as BTCUSD to match the platform's symbol format
+@Slf4j
+@Service
+public class CoinbaseServiceProvider implements KlineDataProvider {
+    private static final Exchange EXCHANGE = Exchange.COINBASE;
+
+    private final ExchangeHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final KlineQuarantineService quarantineService;
+    private final Map<String, String> productIds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CoinbaseServiceProvider(ExchangeHttpClient httpClient, KlineQuarantineService quarantineService) {
+        this.httpClient = httpClient;
+        this.quarantineService = quarantineService;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Override
+    public Exchange getExchange() {
+        return EXCHANGE;
+    }
+
+    @Override
+    public List<Kline> fetchKlines(String symbol, Interval interval, Long startTime, Long endTime) {
+        if (!supportsInterval(interval)) {
+            throw new DataProviderException("Interval " + interval + " not supported by " + EXCHANGE.getDisplayName());
+        }
+        String productId = resolveProductId(symbol);
+        long intervalMs = interval.getMilliseconds();
+        long windowMs = EXCHANGE.getMaxKlinesPerRequest() * intervalMs;
+
+        // Keyed by open time: windows are inclusive at both ends on whole seconds
+        TreeMap<Long, Kline> klines = new TreeMap<>();
+        for (long windowStart = startTime; windowStart <= endTime; windowStart += windowMs) {
+            long windowEnd = Math.min(windowStart + windowMs - intervalMs, endTime);
+            for (Kline kline : fetchWindow(productId, symbol, interval, windowStart, windowEnd)) {
+                if (kline.getOpenTime() >= startTime && kline.getOpenTime() <= endTime) {
+                    klines.putIfAbsent(kline.getOpenTime(), kline);
+                }
+            }
+        }
+        return new ArrayList<>(klines.values());
+    }
+
+    private List<Kline> fetchWindow(String productId, String symbol, Interval interval, long windowStart, long windowEnd) {
+        List<List<Object>> rawCandles;
+        try {
+            rawCandles = httpClient.get(EXCHANGE, "fetchKlines",
+                    EXCHANGE.getKlineUrl(productId, interval.getValue(), windowStart, windowEnd), List.class);
+        } catch (Exception e) {
+            throw new DataProviderException("Failed to fetch klines from " + EXCHANGE.getDisplayName() +
+                    " for symbol: " + symbol, e);
+        }
+        if (rawCandles == null || rawCandles.isEmpty()) {
+            return List.of();
+        }
+        return parseCandles(rawCandles, symbol, interval.getMilliseconds());
+    }
+
+    // [time (s), low, high, open, close, volume]; Coinbase does not report trade counts
+    List<Kline> parseCandles(List<List<Object>> rawCandles, String symbol, long intervalMs) {
+        List<Kline> klines = new ArrayList<>(rawCandles.size());
+        List<QuarantinedKline> unparseable = new ArrayList<>();
+        for (List<Object> candle : rawCandles) {
+            try {
+                long openTime = Long.parseLong(candle.get(0).toString()) * 1000;
+                klines.add(new Kline(
+                        symbol,
+                        openTime,
+                        openTime + intervalMs - 1,
+                        new BigDecimal(candle.get(3).toString()),
+                        new BigDecimal(candle.get(4).toString()),
+                        new BigDecimal(candle.get(2).toString()),
+                        new BigDecimal(candle.get(1).toString()),
+                        new BigDecimal(candle.get(5).toString()),
+                        0L));
+            } catch (Exception e) {
+                unparseable.add(KlineQuarantineService.unparseable(getExchange(), symbol, candle, e));
+            }
+        }
+        if (!unparseable.isEmpty()) {
+            log.warn("Quarantining {} unparseable klines from {}", unparseable.size(), EXCHANGE.getDisplayName());
+            quarantineService.quarantine(unparseable);
+        }
+        return klines;
+    }
+
+    private String resolveProductId(String symbol) {
+        if (productIds.isEmpty()) {
+            fetchAvailableSymbols();
+        }
+        String productId = productIds.get(symbol.toUpperCase());
+        if (productId == null) {
+            throw new DataProviderException("Symbol " + symbol + " is not traded on " + EXCHANGE.getDisplayName());
+        }
+        return productId;
+    }
+
+    @Override
+    public Set<String> fetchAvailableSymbols() {
+        JsonNode products;
+        try {
+            String json = httpClient.get(EXCHANGE, "fetchAvailableSymbols", EXCHANGE.getSymbolListEndpoint(), String.class);
+            if (json == null || json.isBlank()) {
+                throw new DataProviderException("Empty response from " + EXCHANGE.getDisplayName() + " product API");
+            }
+            products = objectMapper.readTree(json);
+        } catch (DataProviderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataProviderException("Failed to fetch symbols from " + EXCHANGE.getDisplayName(), e);
+        }
+
+        Set<String> symbols = new LinkedHashSet<>();
+        for (JsonNode product : products) {
+            if (!"online".equals(product.path("status").asText()) || product.path("trading_disabled").asBoolean(false)) {
+                continue;
+            }
+            String productId = product.path("id").asText();
+            String symbol = productId.replace("-", "").toUpperCase();
+            productIds.put(symbol, productId);
+            symbols.add(symbol);
+        }
+        if (symbols.isEmpty()) {
+            throw new DataProviderException("No trading symbols found from " + EXCHANGE.getDisplayName() + " API");
+        }
+        return symbols;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.digitCurrencyPlatform.service.provider;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+// A single GET against an exchange API. ProviderResilienceAspect and MetricsAspect advise get(), so
+// the rate limiter, hedges, retries, the circuit breaker and latency samples all apply to one HTTP
+// request rather than to a whole multi-page fetch. Providers parse the body afterwards so a retry
+// never re-parses (or re-quarantines) anything. The operation names the provider method for metrics
+@Component
+public class ExchangeHttpClient {
+    private final RestTemplate restTemplate;
+
+    @Autowired
+    public ExchangeHttpClient(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    public <T> T get(Exchange exchange, String operation, String url, Class<T> responseType) {
+        return restTemplate.getForObject(url, responseType);
+    }
+}
@@ -3,10 +3,8 @@ package com.example.digitCurrencyPlatform.service.provider;
 import com.example.digitCurrencyPlatform.enums.Exchange;
 import com.example.digitCurrencyPlatform.enums.Interval;
 import com.example.digitCurrencyPlatform.model.Kline;
-import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.List;
@@ -14,8 +12,8 @@ import java.util.Set;
 
 public interface KlineDataProvider {
 
-    @NotEmpty
-    List<@NotNull @Valid Kline> fetchKlines(
+    // Rows are screened by KlineBatchValidator before insert rather than bean-validated here
+    List<Kline> fetchKlines(
             @NotBlank String symbol,
             @NotNull Interval interval,
             @Min(0) @NotNull Long startTime,
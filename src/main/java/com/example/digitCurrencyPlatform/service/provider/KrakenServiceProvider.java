@@ -0,0 +1,162 @@
+package com.example.digitCurrencyPlatform.service.provider;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.QuarantinedKline;
+import com.example.digitCurrencyPlatform.model.exception.DataProviderException;
+import com.example.digitCurrencyPlatform.service.KlineQuarantineService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+// retrieve kline data from Kraken. The OHLC endpoint pages with a `since` cursor: each response
+// carries `last`, the cursor for the next call. Kraken only serves the most recent 720 bars of an
+// interval, so older ranges come back empty. Pairs use Kraken's altname (e.g. XBTUSD)
+@Slf4j
+@Service
+public class KrakenServiceProvider implements KlineDataProvider {
+    private static final Exchange EXCHANGE = Exchange.KRAKEN;
+
+    private final ExchangeHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final KlineQuarantineService quarantineService;
+
+    @Autowired
+    public KrakenServiceProvider(ExchangeHttpClient httpClient, KlineQuarantineService quarantineService) {
+        this.httpClient = httpClient;
+        this.quarantineService = quarantineService;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Override
+    public Exchange getExchange() {
+        return EXCHANGE;
+    }
+
+    @Override
+    public List<Kline> fetchKlines(String symbol, Interval interval, Long startTime, Long endTime) {
+        if (!supportsInterval(interval)) {
+            throw new DataProviderException("Interval " + interval + " not supported by " + EXCHANGE.getDisplayName());
+        }
+        long intervalMs = interval.getMilliseconds();
+        // The newest row is the still-open bar; only closed bars are returned
+        long lastClosedOpenTime = System.currentTimeMillis() - intervalMs;
+        // since is exclusive and in seconds
+        long cursor = startTime / 1000 - 1;
+        long maxPages = (endTime - startTime) / (EXCHANGE.getMaxKlinesPerRequest() * intervalMs) + 2;
+
+        TreeMap<Long, Kline> klines = new TreeMap<>();
+        for (long page = 0; page < maxPages; page++) {
+            JsonNode result = fetchPage(symbol, interval, cursor);
+            List<Kline> rows = parseRows(pairRows(result), symbol, intervalMs);
+            boolean pastEnd = false;
+            for (Kline kline : rows) {
+                if (kline.getOpenTime() > endTime) {
+                    pastEnd = true;
+                } else if (kline.getOpenTime() >= startTime && kline.getOpenTime() <= lastClosedOpenTime) {
+                    klines.putIfAbsent(kline.getOpenTime(), kline);
+                }
+            }
+
+            long next = result.path("last").asLong(cursor);
+            if (rows.isEmpty() || pastEnd || next <= cursor) {
+                break;
+            }
+            cursor = next;
+        }
+        return new ArrayList<>(klines.values());
+    }
+
+    private JsonNode fetchPage(String symbol, Interval interval, long cursorSeconds) {
+        JsonNode root;
+        try {
+            String json = httpClient.get(EXCHANGE, "fetchKlines",
+                    EXCHANGE.getKlineUrl(symbol, interval.getValue(), cursorSeconds * 1000, 0), String.class);
+            root = objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new DataProviderException("Failed to fetch klines from " + EXCHANGE.getDisplayName() +
+                    " for symbol: " + symbol, e);
+        }
+        checkErrors(root);
+        return root.path("result");
+    }
+
+    // The result object holds one array keyed by Kraken's internal pair name, plus "last"
+    private JsonNode pairRows(JsonNode result) {
+        Iterator<Map.Entry<String, JsonNode>> fields = result.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!"last".equals(field.getKey()) && field.getValue().isArray()) {
+                return field.getValue();
+            }
+        }
+        return objectMapper.createArrayNode();
+    }
+
+    // [time (s), open, high, low, close, vwap, volume, count]
+    List<Kline> parseRows(JsonNode rows, String symbol, long intervalMs) {
+        List<Kline> klines = new ArrayList<>(rows.size());
+        List<QuarantinedKline> unparseable = new ArrayList<>();
+        for (JsonNode row : rows) {
+            try {
+                long openTime = Long.parseLong(row.get(0).asText()) * 1000;
+                klines.add(new Kline(
+                        symbol,
+                        openTime,
+                        openTime + intervalMs - 1,
+                        new BigDecimal(row.get(1).asText()),
+                        new BigDecimal(row.get(4).asText()),
+                        new BigDecimal(row.get(2).asText()),
+                        new BigDecimal(row.get(3).asText()),
+                        new BigDecimal(row.get(6).asText()),
+                        Long.parseLong(row.get(7).asText())));
+            } catch (Exception e) {
+                unparseable.add(KlineQuarantineService.unparseable(getExchange(), symbol, row, e));
+            }
+        }
+        if (!unparseable.isEmpty()) {
+            log.warn("Quarantining {} unparseable klines from {}", unparseable.size(), EXCHANGE.getDisplayName());
+            quarantineService.quarantine(unparseable);
+        }
+        return klines;
+    }
+
+    @Override
+    public Set<String> fetchAvailableSymbols() {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(
+                    httpClient.get(EXCHANGE, "fetchAvailableSymbols", EXCHANGE.getSymbolListEndpoint(), String.class));
+        } catch (Exception e) {
+            throw new DataProviderException("Failed to fetch symbols from " + EXCHANGE.getDisplayName(), e);
+        }
+        checkErrors(root);
+
+        Set<String> symbols = new LinkedHashSet<>();
+        for (JsonNode pair : root.path("result")) {
+            String altName = pair.path("altname").asText();
+            // Dark pool pairs (".d") have no public OHLC data
+            if (altName.isEmpty() || altName.endsWith(".d") || !"online".equals(pair.path("status").asText("online"))) {
+                continue;
+            }
+            symbols.add(altName.toUpperCase());
+        }
+        if (symbols.isEmpty()) {
+            throw new DataProviderException("No trading symbols found from " + EXCHANGE.getDisplayName() + " API");
+        }
+        return symbols;
+    }
+
+    private static void checkErrors(JsonNode root) {
+        JsonNode errors = root.path("error");
+        if (errors.isArray() && !errors.isEmpty()) {
+            throw new DataProviderException("Kraken API error: " + errors.get(0).asText());
+        }
+    }
+}
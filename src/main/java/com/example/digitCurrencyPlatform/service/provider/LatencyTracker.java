@@ -0,0 +1,47 @@
+package com.example.digitCurrencyPlatform.service.provider;
+
+import java.util.Arrays;
+
+// Sliding window over the latest successful call latencies. The percentile is recomputed from
+// a sorted copy at most once every RECOMPUTE_EVERY samples, which keeps reads cheap on the hot path
+public class LatencyTracker {
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private long cachedNanos = -1;
+
+    public LatencyTracker(int windowSize, double percentile, int minSamples) {
+        if (windowSize <= 0 || percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Window size must be positive and percentile in (0, 1]");
+        }
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.minSamples = Math.min(Math.max(1, minSamples), windowSize);
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        sinceRecompute++;
+    }
+
+    // -1 until minSamples calls have been observed
+    public synchronized long percentileNanos() {
+        if (count < minSamples) {
+            return -1;
+        }
+        if (cachedNanos < 0 || sinceRecompute >= RECOMPUTE_EVERY) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            cachedNanos = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+            sinceRecompute = 0;
+        }
+        return cachedNanos;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.digitCurrencyPlatform.service.provider;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.model.exception.DataProviderException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Token bucket shared by all threads calling one exchange. acquire() reserves a token even when
+// the bucket is empty and sleeps until it would have refilled, so waiting callers queue up in
+// arrival order instead of spinning and the long-run rate never exceeds the exchange budget
+public class RateLimiter {
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public RateLimiter(int permitsPerMinute, int burst) {
+        this(permitsPerMinute, burst, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    RateLimiter(int permitsPerMinute, int burst, LongSupplier nanoClock, Sleeper sleeper) {
+        if (permitsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate limit and burst must be positive");
+        }
+        this.tokensPerNano = permitsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.capacity = burst;
+        this.tokens = burst;
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    // Allows up to one second's worth of requests in a burst
+    public static RateLimiter forExchange(Exchange exchange) {
+        int perMinute = exchange.getRateLimitPerMinute();
+        return new RateLimiter(perMinute, Math.max(1, perMinute / 60));
+    }
+
+    public void acquire() {
+        long waitNanos;
+        synchronized (this) {
+            refill();
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+        if (waitNanos > 0) {
+            try {
+                sleeper.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataProviderException("Interrupted while waiting for the exchange rate limit");
+            }
+        }
+    }
+
+    // Takes a token only if one is free right now, for optional requests such as hedges
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    // Holds every caller back for at least pauseNanos, e.g. after the exchange answered 429
+    public synchronized void pause(long pauseNanos) {
+        refill();
+        tokens = Math.min(tokens, -pauseNanos * tokensPerNano);
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,23 @@
+-- Klines are clustered on (symbol, open_time): InnoDB stores rows in primary key order, so
+-- "WHERE symbol = ? AND open_time BETWEEN ? AND ?" is a single contiguous range read.
+-- Rows are RANGE partitioned by month of open_time (UTC, epoch millis). Only the history and
+-- catch-all partitions are created here; KlinePartitionMaintenanceService splits monthly
+-- partitions out of p_future ahead of time and drops or archives expired ones.
+CREATE TABLE IF NOT EXISTS kline_data
+(
+    symbol           VARCHAR(20)    NOT NULL,
+    open_time        BIGINT         NOT NULL,
+    close_time       BIGINT         NOT NULL,
+    open_price       DECIMAL(30, 10) NOT NULL,
+    close_price      DECIMAL(30, 10) NOT NULL,
+    high_price       DECIMAL(30, 10) NOT NULL,
+    low_price        DECIMAL(30, 10) NOT NULL,
+    volume           DECIMAL(36, 10) NOT NULL,
+    number_of_trades BIGINT         NOT NULL,
+    PRIMARY KEY (symbol, open_time)
+) ENGINE = InnoDB
+  PARTITION BY RANGE (open_time) (
+    -- Everything before 2024-01-01T00:00:00Z
+    PARTITION p_history VALUES LESS THAN (1704067200000),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+    );
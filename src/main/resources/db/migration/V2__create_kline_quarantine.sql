@@ -0,0 +1,15 @@
+-- Rows rejected during ingestion, kept with a reason code for inspection instead of being dropped.
+-- open_time is NULL when the exchange row could not be parsed.
+CREATE TABLE IF NOT EXISTS kline_quarantine
+(
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    symbol         VARCHAR(20)   NOT NULL,
+    open_time      BIGINT        NULL,
+    reason         VARCHAR(32)   NOT NULL,
+    detail         VARCHAR(255)  NULL,
+    raw_data       TEXT          NULL,
+    quarantined_at BIGINT        NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_kline_quarantine_symbol (symbol, open_time),
+    KEY idx_kline_quarantine_reason (reason, quarantined_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,12 @@
+-- High-water mark per watched (exchange, symbol, interval): last_open_time is the open time of
+-- the newest bar known to be stored, so the next sync starts one interval after it.
+CREATE TABLE IF NOT EXISTS kline_sync_state
+(
+    exchange       VARCHAR(20)  NOT NULL,
+    symbol         VARCHAR(20)  NOT NULL,
+    interval_value VARCHAR(4)   NOT NULL,
+    last_open_time BIGINT       NOT NULL,
+    last_synced_at BIGINT       NOT NULL,
+    last_error     VARCHAR(255) NULL,
+    PRIMARY KEY (exchange, symbol, interval_value)
+) ENGINE = InnoDB;
@@ -0,0 +1,6 @@
+-- Klines from different venues share symbols, so the exchange becomes the leading key column.
+-- Rows stored before this migration were fetched through the Binance US provider.
+ALTER TABLE kline_data
+    ADD COLUMN exchange VARCHAR(20) NOT NULL DEFAULT 'BINANCE_US' FIRST,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (exchange, symbol, open_time);
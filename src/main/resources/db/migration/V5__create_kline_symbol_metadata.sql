@@ -0,0 +1,32 @@
+-- One row per stored (exchange, symbol) series, maintained by the application on every insert so
+-- coverage and latest-price questions never scan kline_data. Seeded from existing rows here;
+-- KlineMetadataService rebuilds it the same way after expired partitions are dropped.
+CREATE TABLE IF NOT EXISTS kline_symbol_metadata
+(
+    exchange         VARCHAR(20)     NOT NULL,
+    symbol           VARCHAR(20)     NOT NULL,
+    first_open_time  BIGINT          NOT NULL,
+    last_open_time   BIGINT          NOT NULL,
+    last_close_time  BIGINT          NOT NULL,
+    last_close_price DECIMAL(30, 10) NOT NULL,
+    row_count        BIGINT          NOT NULL,
+    updated_at       BIGINT          NOT NULL,
+    PRIMARY KEY (exchange, symbol)
+) ENGINE = InnoDB;
+
+INSERT INTO kline_symbol_metadata (exchange, symbol, first_open_time, last_open_time, last_close_time,
+                                   last_close_price, row_count, updated_at)
+SELECT k.exchange,
+       k.symbol,
+       MIN(k.open_time),
+       MAX(k.open_time),
+       MAX(k.close_time),
+       (SELECT l.close_price
+        FROM kline_data l
+        WHERE l.exchange = k.exchange AND l.symbol = k.symbol
+        ORDER BY l.open_time DESC
+        LIMIT 1),
+       COUNT(*),
+       UNIX_TIMESTAMP() * 1000
+FROM kline_data k
+GROUP BY k.exchange, k.symbol;
@@ -0,0 +1,4 @@
+-- Rejects from different venues share symbols, so each row records the exchange it came from.
+-- Rows quarantined before this migration were fetched through the Binance US provider.
+ALTER TABLE kline_quarantine
+    ADD COLUMN exchange VARCHAR(20) NOT NULL DEFAULT 'BINANCE_US' AFTER id;
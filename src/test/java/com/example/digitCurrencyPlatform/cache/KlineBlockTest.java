@@ -0,0 +1,48 @@
+package com.example.digitCurrencyPlatform.cache;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KlineBlockTest {
+
+    private static Kline bar(long minute, String close) {
+        BigDecimal price = new BigDecimal(close).setScale(10);
+        return new Kline("BTCUSDT", minute * 60000, minute * 60000 + 59999, price, price,
+                price.add(BigDecimal.ONE), price.subtract(BigDecimal.ONE), new BigDecimal("12.5").setScale(10), 3L);
+    }
+
+    private static KlineBlock block(List<Kline> klines) {
+        KlineBlock.Builder builder = new KlineBlock.Builder();
+        klines.forEach(builder::append);
+        return builder.build(0);
+    }
+
+    @Test
+    void roundTripsRowsAndAppliesRetrievePredicate() {
+        List<Kline> klines = new ArrayList<>();
+        for (int minute = 0; minute < 3000; minute++) {
+            klines.add(bar(minute, "100.12345678"));
+        }
+        KlineBlock block = block(klines);
+
+        List<Kline> out = new ArrayList<>();
+        // After minute 9, closing by the end of minute 20: minutes 10 to 20
+        int added = block.collect(9 * 60000, 20 * 60000 + 59999, 100, out);
+
+        assertEquals(11, added);
+        assertEquals(klines.subList(10, 21), out);
+        assertEquals(3000L * KlineBlock.RECORD_BYTES, block.sizeBytes());
+    }
+
+    @Test
+    void refusesValuesThatWouldLosePrecision() {
+        assertNull(block(List.of(bar(0, "1.0000000001"))));
+        assertNull(block(List.of(bar(0, "100000000000000"))));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.digitCurrencyPlatform.metrics;
+
+import com.example.digitCurrencyPlatform.model.SlowRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestLogTest {
+
+    private static SlowRequest request(double totalMillis) {
+        return new SlowRequest(0, "GET", "/api/kline/retrieve", Map.of(), 200, totalMillis, Map.of(), 0);
+    }
+
+    @Test
+    void keepsSlowestRequestsOrderedDescending() {
+        SlowRequestLog log = new SlowRequestLog(3, 0);
+        for (double millis : new double[]{5, 40, 1, 30, 12, 2}) {
+            log.offer(request(millis));
+        }
+        List<Double> totals = log.snapshot().stream().map(SlowRequest::getTotalMillis).toList();
+        assertEquals(List.of(40.0, 30.0, 12.0), totals);
+    }
+
+    @Test
+    void ignoresRequestsBelowThreshold() {
+        SlowRequestLog log = new SlowRequestLog(3, 10);
+        log.offer(request(9));
+        log.offer(request(11));
+        assertEquals(1, log.snapshot().size());
+    }
+}
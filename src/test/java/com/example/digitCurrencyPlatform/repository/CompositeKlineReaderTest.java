@@ -0,0 +1,71 @@
+package com.example.digitCurrencyPlatform.repository;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.model.Kline;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompositeKlineReaderTest {
+
+    private static Kline bar(String price, String volume, long trades) {
+        BigDecimal p = new BigDecimal(price);
+        return new Kline("BTCUSD", 0L, 59999L, p, p, p.add(BigDecimal.ONE), p.subtract(BigDecimal.ONE),
+                new BigDecimal(volume), trades);
+    }
+
+    @Test
+    void weightsPricesByVenueVolume() {
+        Kline composite = CompositeKlineReader.combine("BTCUSD", List.of(bar("100", "3", 10), bar("200", "1", 5)));
+
+        assertEquals(0, new BigDecimal("125").compareTo(composite.getOpenPrice()));
+        assertEquals(0, new BigDecimal("126").compareTo(composite.getHighPrice()));
+        assertEquals(0, new BigDecimal("124").compareTo(composite.getLowPrice()));
+        assertEquals(0, new BigDecimal("4").compareTo(composite.getVolume()));
+        assertEquals(15L, composite.getNumberOfTrades());
+    }
+
+    @Test
+    void fallsBackToPlainMeanWithoutVolume() {
+        Kline composite = CompositeKlineReader.combine("BTCUSD", List.of(bar("100", "0", 0), bar("200", "0", 0)));
+
+        assertEquals(0, new BigDecimal("150").compareTo(composite.getClosePrice()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(composite.getVolume()));
+    }
+
+    private static Kline bar(String symbol, long openTime, String price, String volume) {
+        BigDecimal p = new BigDecimal(price);
+        return new Kline(symbol, openTime, openTime + 59999L, p, p, p, p, new BigDecimal(volume), 1L);
+    }
+
+    @Test
+    void mergesVenuesUnderTheirOwnSymbols() {
+        Map<String, List<Kline>> stored = Map.of(
+                "KRAKEN|XBTUSD", List.of(bar("XBTUSD", 0L, "100", "1"), bar("XBTUSD", 60000L, "110", "1")),
+                "COINBASE|BTCUSD", List.of(bar("BTCUSD", 0L, "200", "1")));
+
+        List<Kline> composite = CompositeKlineReader.merge(List.of(Exchange.COINBASE, Exchange.KRAKEN), "BTCUSD", 10,
+                (exchange, storedSymbol) ->
+                        stored.getOrDefault(exchange.name() + "|" + storedSymbol, List.<Kline>of()).iterator());
+
+        assertEquals(2, composite.size());
+        assertEquals("BTCUSD", composite.get(0).getSymbol());
+        assertEquals(0, new BigDecimal("150").compareTo(composite.get(0).getClosePrice()));
+        assertEquals(0, new BigDecimal("2").compareTo(composite.get(0).getVolume()));
+        assertEquals(0, new BigDecimal("110").compareTo(composite.get(1).getClosePrice()));
+    }
+
+    @Test
+    void mapsSymbolsToEachVenuesNaming() {
+        assertEquals("XBTUSD", Exchange.KRAKEN.storedSymbol("BTCUSD"));
+        assertEquals("XBTUSD", Exchange.KRAKEN.storedSymbol("BTCUSDT"));
+        assertEquals("BTCUSD", Exchange.COINBASE.storedSymbol("XBTUSD"));
+        assertEquals("BTCUSDT", Exchange.BINANCE_US.storedSymbol("btcusd"));
+        assertEquals("ETHXBT", Exchange.KRAKEN.storedSymbol("ETHBTC"));
+        assertEquals("XDGUSD", Exchange.KRAKEN.storedSymbol("DOGEUSDT"));
+    }
+}
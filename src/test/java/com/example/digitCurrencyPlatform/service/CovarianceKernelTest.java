@@ -0,0 +1,45 @@
+package com.example.digitCurrencyPlatform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CovarianceKernelTest {
+
+    @Test
+    void matchesTwoPassCovariance() {
+        // Symbol and time counts that don't divide the block sizes
+        Random random = new Random(3);
+        int symbols = 37;
+        int length = 2500;
+        double[][] series = new double[symbols][length];
+        for (int t = 0; t < length; t++) {
+            double market = random.nextGaussian() * 0.01;
+            for (int i = 0; i < symbols; i++) {
+                series[i][t] = market * (i % 5) + random.nextGaussian() * 0.01 + 0.001 * i;
+            }
+        }
+
+        double[][] covariance = CovarianceKernel.covariance(series);
+
+        for (int i = 0; i < symbols; i++) {
+            for (int j = 0; j < symbols; j++) {
+                double meanI = 0, meanJ = 0;
+                for (int t = 0; t < length; t++) {
+                    meanI += series[i][t];
+                    meanJ += series[j][t];
+                }
+                meanI /= length;
+                meanJ /= length;
+                double expected = 0;
+                for (int t = 0; t < length; t++) {
+                    expected += (series[i][t] - meanI) * (series[j][t] - meanJ);
+                }
+                expected /= length - 1;
+                assertEquals(expected, covariance[i][j], 1e-15, i + "," + j);
+            }
+        }
+    }
+}
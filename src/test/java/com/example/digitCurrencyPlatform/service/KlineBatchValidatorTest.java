@@ -0,0 +1,54 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.enums.QuarantineReason;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.KlineValidationResult;
+import com.example.digitCurrencyPlatform.model.QuarantinedKline;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KlineBatchValidatorTest {
+
+    private static Kline bar(long minute, String open, String high, String low, String close) {
+        return new Kline("BTCUSDT", minute * 60000, minute * 60000 + 59999, new BigDecimal(open),
+                new BigDecimal(close), new BigDecimal(high), new BigDecimal(low), BigDecimal.ONE, 1L);
+    }
+
+    @Test
+    void quarantinesBadRowsWithReasonCodes() {
+        List<Kline> batch = List.of(
+                bar(0, "10", "12", "9", "11"),
+                bar(1, "11", "10", "9", "11"),   // high below open
+                bar(1, "11", "12", "10", "11"),
+                bar(1, "11", "12", "10", "11"),  // duplicate
+                bar(0, "11", "12", "10", "11"),  // out of order
+                bar(2, "0", "12", "10", "11"));  // non-positive price
+
+        KlineValidationResult result = KlineBatchValidator.validate(batch, "BTCUSDT", Interval.ONE_MINUTE);
+
+        assertEquals(2, result.getValid().size());
+        assertEquals(List.of(QuarantineReason.OHLC_INCONSISTENT, QuarantineReason.DUPLICATE_OPEN_TIME,
+                        QuarantineReason.OUT_OF_ORDER, QuarantineReason.NON_POSITIVE_PRICE),
+                result.getQuarantined().stream().map(QuarantinedKline::getReason).toList());
+    }
+
+    @Test
+    void reportsGapsWithoutRejectingRows() {
+        Kline wrongDuration = bar(9, "10", "12", "9", "11");
+        wrongDuration.setCloseTime(wrongDuration.getOpenTime() + 299999);
+
+        KlineValidationResult result = KlineBatchValidator.validate(
+                List.of(bar(0, "10", "12", "9", "11"), bar(4, "10", "12", "9", "11"), wrongDuration),
+                "BTCUSDT", Interval.ONE_MINUTE);
+
+        assertEquals(2, result.getValid().size());
+        assertEquals(1, result.getGaps());
+        assertEquals(3, result.getMissingBars());
+        assertEquals(QuarantineReason.INTERVAL_MISMATCH, result.getQuarantined().get(0).getReason());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LttbDownsamplerTest {
+
+    private static List<Kline> randomWalk(int rows, long seed) {
+        Random random = new Random(seed);
+        List<Kline> klines = new ArrayList<>(rows);
+        double price = 100;
+        for (int i = 0; i < rows; i++) {
+            price = Math.max(1, price + random.nextGaussian());
+            BigDecimal close = BigDecimal.valueOf(price);
+            klines.add(new Kline("BTCUSDT", i * 60000L, i * 60000L + 59999, close, close,
+                    close.add(BigDecimal.ONE), close.subtract(BigDecimal.ONE), BigDecimal.ONE, 1L));
+        }
+        return klines;
+    }
+
+    // Textbook LTTB over the whole list, with the same integer bucket bounds
+    private static List<Kline> reference(List<Kline> data, int threshold) {
+        int n = data.size();
+        if (n <= threshold) {
+            return data;
+        }
+        List<Kline> sampled = new ArrayList<>();
+        sampled.add(data.get(0));
+        int a = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = (int) (1 + (long) bucket * (n - 2) / (threshold - 2));
+            int end = (int) (1 + (long) (bucket + 1) * (n - 2) / (threshold - 2));
+            int nextEnd = bucket == threshold - 3 ? n : (int) (1 + (long) (bucket + 2) * (n - 2) / (threshold - 2));
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = end; i < nextEnd; i++) {
+                avgX += x(data, i);
+                avgY += y(data, i);
+            }
+            avgX /= nextEnd - end;
+            avgY /= nextEnd - end;
+
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((x(data, a) - avgX) * (y(data, i) - y(data, a))
+                        - (x(data, a) - x(data, i)) * (avgY - y(data, a)));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            sampled.add(data.get(chosen));
+            a = chosen;
+        }
+        sampled.add(data.get(n - 1));
+        return sampled;
+    }
+
+    private static double x(List<Kline> data, int i) {
+        return data.get(i).getOpenTime() - data.get(0).getOpenTime();
+    }
+
+    private static double y(List<Kline> data, int i) {
+        return data.get(i).getClosePrice().doubleValue();
+    }
+
+    private static List<Kline> stream(List<Kline> data, int threshold) {
+        LttbDownsampler downsampler = new LttbDownsampler(data.size(), threshold);
+        data.forEach(downsampler::accept);
+        return downsampler.finish();
+    }
+
+    @Test
+    void matchesReferenceImplementation() {
+        for (int[] shape : new int[][]{{10_000, 1000}, {5_003, 97}, {100, 3}, {1_001, 1000}}) {
+            List<Kline> data = randomWalk(shape[0], shape[0]);
+            List<Kline> expected = reference(data, shape[1]);
+            List<Kline> actual = stream(data, shape[1]);
+            assertEquals(shape[1], actual.size());
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void returnsShortSeriesUnchanged() {
+        List<Kline> data = randomWalk(50, 1);
+        assertEquals(data, stream(data, 1000));
+    }
+
+    @Test
+    void ohlcVariantKeepsExtremes() {
+        List<Kline> data = randomWalk(10_000, 7);
+        OhlcDownsampler downsampler = new OhlcDownsampler(data.size(), 333);
+        data.forEach(downsampler::accept);
+        List<Kline> bars = downsampler.finish();
+
+        assertEquals(333, bars.size());
+        assertEquals(0, data.stream().map(Kline::getHighPrice).max(BigDecimal::compareTo).orElseThrow()
+                .compareTo(bars.stream().map(Kline::getHighPrice).max(BigDecimal::compareTo).orElseThrow()));
+        assertEquals(data.get(data.size() - 1).getCloseTime(), bars.get(bars.size() - 1).getCloseTime());
+        assertEquals(data.size(), bars.stream().mapToLong(Kline::getNumberOfTrades).sum());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.SimulationMethod;
+import com.example.digitCurrencyPlatform.model.MonteCarloSimulation;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloServiceTest {
+
+    private static double[][] history(int assets, int length, long seed) {
+        Random random = new Random(seed);
+        double[][] returns = new double[assets][length];
+        for (int t = 0; t < length; t++) {
+            double market = random.nextGaussian() * 0.01;
+            for (int i = 0; i < assets; i++) {
+                returns[i][t] = 0.0005 + market + random.nextGaussian() * 0.005 * (i + 1);
+            }
+        }
+        return returns;
+    }
+
+    @Test
+    void sameSeedGivesSameBandsWhateverThePoolSize() {
+        double[][] returns = history(3, 500, 1);
+        double[] weights = {0.5, 0.3, 0.1};
+        for (SimulationMethod method : SimulationMethod.values()) {
+            MonteCarloSimulation single = new MonteCarloService(null, 1)
+                    .simulate(returns, weights, 1000, 3600000, method, 5000, 40, 10, 42);
+            MonteCarloSimulation parallel = new MonteCarloService(null, 4)
+                    .simulate(returns, weights, 1000, 3600000, method, 5000, 40, 10, 42);
+            assertArrayEquals(single.getBands(), parallel.getBands(), method.name());
+            assertArrayEquals(single.getMean(), parallel.getMean(), method.name());
+        }
+    }
+
+    @Test
+    void gbmMedianFollowsTheLogDrift() {
+        double[][] returns = history(1, 5000, 2);
+        double drift = Arrays.stream(returns[0]).average().orElseThrow();
+        MonteCarloSimulation simulation = new MonteCarloService(null, 2)
+                .simulate(returns, new double[]{1}, 100, 3600000, SimulationMethod.GBM, 20000, 50, 1, 7);
+        assertEquals(100 * Math.exp(drift * 50), simulation.getBands()[50][2], 0.5);
+    }
+
+    @Test
+    void bootstrapOfConstantReturnsIsDeterministic() {
+        double[][] returns = {new double[100]};
+        Arrays.fill(returns[0], 0.01);
+        MonteCarloSimulation simulation = new MonteCarloService(null, 2)
+                .simulate(returns, new double[]{0.5}, 100, 3600000, SimulationMethod.BOOTSTRAP, 3000, 30, 7, 3);
+        double expected = 50 + 50 * Math.exp(0.3);
+        for (double value : simulation.getBands()[30]) {
+            assertEquals(expected, value, 1e-9);
+        }
+        assertEquals(0, simulation.getProbabilityOfLoss());
+    }
+
+    @Test
+    void selectPlacesTheKthSmallest() {
+        Random random = new Random(9);
+        double[] values = random.doubles(10001).map(v -> Math.floor(v * 100)).toArray();
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (int k : new int[]{0, 500, 2500, 5000, 7500, 9500, 10000}) {
+            MonteCarloService.select(values, 0, values.length, k);
+            assertEquals(sorted[k], values[k]);
+        }
+    }
+}
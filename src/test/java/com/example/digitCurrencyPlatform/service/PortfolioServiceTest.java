@@ -0,0 +1,103 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.PortfolioRiskMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioServiceTest {
+
+    // Seeded walks with random gaps, so the symbols' timelines only partly overlap
+    private static Map<String, List<Kline>> series(int symbols, int minutes) {
+        Map<String, List<Kline>> series = new HashMap<>();
+        for (int s = 0; s < symbols; s++) {
+            Random random = new Random(s);
+            List<Kline> klines = new ArrayList<>();
+            double price = 100 + s;
+            for (int i = 0; i < minutes; i++) {
+                price = Math.max(1, price + random.nextGaussian());
+                if (random.nextInt(10) == 0) {
+                    continue;
+                }
+                BigDecimal close = BigDecimal.valueOf(Math.round(price * 100), 2);
+                klines.add(new Kline("SYM" + s, i * 60000L, i * 60000L + 59999, close, close,
+                        close.add(BigDecimal.valueOf(random.nextInt(3))), close.subtract(BigDecimal.ONE),
+                        BigDecimal.valueOf(random.nextInt(100)), (long) random.nextInt(20)));
+            }
+            series.put("SYM" + s, klines);
+        }
+        return series;
+    }
+
+    @Test
+    void parallelPathMatchesSequentialPath() {
+        PortfolioService service = new PortfolioService(null, null, null, 4, 0, 0.04);
+        Map<String, List<Kline>> symbolKlines = series(3, 20000);
+        Map<String, BigDecimal> holdings = Map.of("SYM0", new BigDecimal("1.5"), "SYM1", new BigDecimal("0.25"),
+                "SYM2", new BigDecimal("3"));
+        long startTime = 120000;
+        long endTime = 19000 * 60000L;
+
+        for (Interval interval : List.of(Interval.ONE_MINUTE, Interval.FIVE_MINUTES, Interval.ONE_HOUR, Interval.ONE_DAY)) {
+            PortfolioRiskAccumulator sequentialRisk = service.newRiskAccumulator(interval);
+            List<Kline> sequential = service.aggregatePortfolioKlines(
+                    service.generateOneMinutePortfolioKlines(holdings, symbolKlines, startTime, endTime), interval, sequentialRisk);
+            PortfolioRiskAccumulator parallelRisk = service.newRiskAccumulator(interval);
+            List<Kline> parallel = service.calculatePortfolioKlinesInParallel(
+                    holdings, symbolKlines, startTime, endTime, interval, parallelRisk);
+            assertEquals(sequential, parallel, interval.name());
+
+            // Merged chunk statistics agree with the single fold up to rounding
+            PortfolioRiskMetrics expected = sequentialRisk.metrics();
+            PortfolioRiskMetrics actual = parallelRisk.metrics();
+            assertEquals(sequential.size(), actual.getBars());
+            assertEquals(expected.getReturns(), actual.getReturns());
+            assertEquals(expected.getMaxDrawdown(), actual.getMaxDrawdown(), 1e-12);
+            assertEquals(expected.getDrawdownTroughTime(), actual.getDrawdownTroughTime());
+            assertEquals(expected.getVolatility(), actual.getVolatility(), 1e-12);
+            assertEquals(expected.getSharpeRatio(), actual.getSharpeRatio(), 1e-6);
+            assertEquals(expected.getSortinoRatio(), actual.getSortinoRatio(), 1e-6);
+            assertEquals(expected.getValueAtRisk95(), actual.getValueAtRisk95());
+            assertEquals(expected.getConditionalValueAtRisk99(), actual.getConditionalValueAtRisk99(), 1e-12);
+        }
+    }
+
+    private static Kline bar(String symbol, int minute, String close) {
+        BigDecimal price = new BigDecimal(close);
+        return new Kline(symbol, minute * 60000L, minute * 60000L + 59999, price, price, price, price,
+                BigDecimal.ONE, 1L);
+    }
+
+    @Test
+    void missingMinuteCarriesLastCloseForward() {
+        PortfolioService service = new PortfolioService(null, null, null, 4, 0, 0.04);
+        // SYM1 starts a minute late and has no bar at minute 3
+        Map<String, List<Kline>> symbolKlines = Map.of(
+                "SYM0", List.of(bar("SYM0", 0, "10"), bar("SYM0", 1, "11"), bar("SYM0", 2, "12"),
+                        bar("SYM0", 3, "13"), bar("SYM0", 4, "14")),
+                "SYM1", List.of(bar("SYM1", 1, "100"), bar("SYM1", 2, "110"), bar("SYM1", 4, "90")));
+        Map<String, BigDecimal> holdings = Map.of("SYM0", BigDecimal.ONE, "SYM1", new BigDecimal("2"));
+
+        List<Kline> klines = service.generateOneMinutePortfolioKlines(holdings, symbolKlines, 0, 4 * 60000L);
+
+        // Minute 0 is dropped rather than valuing SYM1 at zero
+        assertEquals(List.of(60000L, 120000L, 180000L, 240000L), klines.stream().map(Kline::getOpenTime).toList());
+        assertEquals(0, new BigDecimal("211").compareTo(klines.get(0).getClosePrice()));
+        // Minute 3 holds SYM1 at its minute 2 close, with only SYM0's volume
+        Kline gap = klines.get(2);
+        assertEquals(0, new BigDecimal("233").compareTo(gap.getOpenPrice()));
+        assertEquals(0, new BigDecimal("233").compareTo(gap.getLowPrice()));
+        assertEquals(0, new BigDecimal("233").compareTo(gap.getClosePrice()));
+        assertEquals(0, BigDecimal.ONE.compareTo(gap.getVolume()));
+        assertEquals(1L, gap.getNumberOfTrades());
+
+        List<Kline> parallel = service.calculatePortfolioKlinesInParallel(holdings, symbolKlines, 0, 4 * 60000L,
+                Interval.ONE_MINUTE, service.newRiskAccumulator(Interval.ONE_MINUTE));
+        assertEquals(klines, parallel);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.digitCurrencyPlatform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    @Test
+    void quantilesStayWithinRelativeAccuracy() {
+        Random random = new Random(5);
+        double[] values = new double[100_000];
+        QuantileSketch sketch = new QuantileSketch(0.005, 2048);
+        QuantileSketch firstHalf = new QuantileSketch(0.005, 2048);
+        QuantileSketch secondHalf = new QuantileSketch(0.005, 2048);
+        for (int i = 0; i < values.length; i++) {
+            // Fat-tailed returns around zero
+            values[i] = random.nextGaussian() * 0.01 / Math.sqrt(0.1 + random.nextDouble());
+            sketch.add(values[i]);
+            (i % 2 == 0 ? firstHalf : secondHalf).add(values[i]);
+        }
+        firstHalf.merge(secondHalf);
+        Arrays.sort(values);
+
+        for (double q : new double[]{0.001, 0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99}) {
+            double expected = values[(int) Math.floor(q * (values.length - 1))];
+            assertEquals(expected, sketch.quantile(q), Math.abs(expected) * 0.005 + 1e-12, "q=" + q);
+            assertEquals(sketch.quantile(q), firstHalf.quantile(q), "merged q=" + q);
+        }
+
+        int tail = (int) Math.ceil(0.05 * values.length);
+        double tailMean = Arrays.stream(values, 0, tail).average().orElseThrow();
+        assertEquals(tailMean, sketch.lowerTailMean(0.05), Math.abs(tailMean) * 0.005);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.digitCurrencyPlatform.service;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.RangeStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeExtremaIndexTest {
+
+    // Prices rounded to whole units so equal highs and lows are common
+    private static List<Kline> randomWalk(int rows, long seed) {
+        Random random = new Random(seed);
+        List<Kline> klines = new ArrayList<>(rows);
+        double price = 100;
+        for (int i = 0; i < rows; i++) {
+            price = Math.max(5, price + random.nextGaussian());
+            BigDecimal close = BigDecimal.valueOf(price).setScale(0, RoundingMode.HALF_UP);
+            BigDecimal volume = BigDecimal.valueOf(random.nextInt(1000)).movePointLeft(3);
+            klines.add(new Kline("BTCUSDT", i * 60000L, i * 60000L + 59999, close, close,
+                    close.add(BigDecimal.valueOf(random.nextInt(3))), close.subtract(BigDecimal.valueOf(random.nextInt(3))),
+                    volume, (long) random.nextInt(50)));
+        }
+        return klines;
+    }
+
+    @Test
+    void matchesFullScanForRandomWindows() {
+        List<Kline> klines = randomWalk(1000, 7);
+        RangeExtremaIndex index = new RangeExtremaIndex(16);
+        klines.forEach(index::append);
+        Random random = new Random(11);
+
+        for (int query = 0; query < 2000; query++) {
+            long start = random.nextInt(1000) * 60000L - 30000;
+            long end = start + random.nextInt(300) * 60000L;
+            RangeStatistics statistics = index.query(start, end);
+
+            List<Kline> window = klines.stream()
+                    .filter(kline -> kline.getOpenTime() >= start && kline.getOpenTime() <= end).toList();
+            if (window.isEmpty()) {
+                assertNull(statistics);
+                continue;
+            }
+            Kline high = window.get(0);
+            Kline low = window.get(0);
+            BigDecimal volume = BigDecimal.ZERO;
+            long trades = 0;
+            for (Kline kline : window) {
+                if (kline.getHighPrice().compareTo(high.getHighPrice()) > 0) {
+                    high = kline;
+                }
+                if (kline.getLowPrice().compareTo(low.getLowPrice()) < 0) {
+                    low = kline;
+                }
+                volume = volume.add(kline.getVolume());
+                trades += kline.getNumberOfTrades();
+            }
+            assertEquals(window.size(), statistics.getBars());
+            assertEquals(0, high.getHighPrice().compareTo(statistics.getHigh()));
+            assertEquals(high.getOpenTime(), statistics.getHighTime());
+            assertEquals(0, low.getLowPrice().compareTo(statistics.getLow()));
+            assertEquals(low.getOpenTime(), statistics.getLowTime());
+            assertEquals(0, volume.compareTo(statistics.getVolume()));
+            assertEquals(trades, statistics.getNumberOfTrades());
+            assertEquals(0, window.get(0).getOpenPrice().compareTo(statistics.getOpen()));
+            assertEquals(0, window.get(window.size() - 1).getClosePrice().compareTo(statistics.getClose()));
+        }
+    }
+
+    @Test
+    void rejectsValuesThatCannotBeHeldExactly() {
+        Kline kline = randomWalk(1, 1).get(0);
+        kline.setVolume(new BigDecimal("0.000000001"));
+        assertThrows(ArithmeticException.class, () -> new RangeExtremaIndex(1).append(kline));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.digitCurrencyPlatform.service.indicator;
+
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.exception.InputInvalidException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicatorTest {
+
+    private static Kline bar(long index, String close) {
+        BigDecimal price = new BigDecimal(close);
+        return new Kline("BTCUSDT", index * 60000, index * 60000 + 59999,
+                price, price, price, price, BigDecimal.ONE, 1L);
+    }
+
+    @Test
+    void smaSlidesOverWindow() {
+        SimpleMovingAverage sma = new SimpleMovingAverage(3, PriceSource.CLOSE);
+        sma.update(bar(0, "1"));
+        sma.update(bar(1, "2"));
+        assertFalse(sma.isReady());
+        sma.update(bar(2, "3"));
+        assertEquals(0, new BigDecimal("2").compareTo(sma.getValue()));
+        sma.update(bar(3, "10"));
+        assertEquals(0, new BigDecimal("5").compareTo(sma.getValue()));
+    }
+
+    @Test
+    void rsiIsHundredWhenPricesOnlyRise() {
+        RelativeStrengthIndex rsi = new RelativeStrengthIndex(3);
+        for (int i = 0; i < 5; i++) {
+            rsi.update(bar(i, String.valueOf(100 + i)));
+        }
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(rsi.getValues().get("rsi_3")));
+    }
+
+    @Test
+    void bollingerBandsCollapseOnFlatSeries() {
+        BollingerBands bands = new BollingerBands(4, BigDecimal.valueOf(2));
+        for (int i = 0; i < 4; i++) {
+            bands.update(bar(i, "50"));
+        }
+        assertEquals(0, new BigDecimal("50").compareTo(bands.getValues().get("bb_4_2_upper")));
+        assertEquals(0, new BigDecimal("50").compareTo(bands.getValues().get("bb_4_2_lower")));
+    }
+
+    @Test
+    void factoryParsesSpecsAndRejectsUnknown() {
+        assertEquals("macd_12_26_9", IndicatorFactory.create("macd").getName());
+        assertEquals("ema_50", IndicatorFactory.create("EMA:50").getName());
+        assertThrows(InputInvalidException.class, () -> IndicatorFactory.create("foo:3"));
+        assertThrows(InputInvalidException.class, () -> IndicatorFactory.create("macd:26:12:9"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.digitCurrencyPlatform.service.provider;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.enums.QuarantineReason;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.QuarantinedKline;
+import com.example.digitCurrencyPlatform.service.KlineQuarantineService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoinbaseServiceProviderTest {
+
+    private static final long T0 = 1_700_000_040L;
+    private static final long MINUTE_MS = 60_000L;
+    private static final Pattern WINDOW = Pattern.compile("/products/([^/]+)/candles\\?start=(\\d+)&end=(\\d+)");
+
+    private final List<QuarantinedKline> quarantined = new ArrayList<>();
+    private final List<long[]> windows = new ArrayList<>();
+    private final KlineQuarantineService quarantineService = new KlineQuarantineService(null) {
+        @Override
+        public void quarantine(List<QuarantinedKline> rows) {
+            quarantined.addAll(rows);
+        }
+    };
+
+    // Lists BTC-USD as the only product and answers each candle window with its first and last
+    // minute, newest first as Coinbase does
+    private final CoinbaseServiceProvider provider = new CoinbaseServiceProvider(new ExchangeHttpClient(null) {
+        @Override
+        public <T> T get(Exchange exchange, String operation, String url, Class<T> responseType) {
+            if (url.equals(Exchange.COINBASE.getSymbolListEndpoint())) {
+                return responseType.cast("[{\"id\":\"BTC-USD\",\"status\":\"online\",\"trading_disabled\":false}]");
+            }
+            Matcher matcher = WINDOW.matcher(url);
+            assertTrue(matcher.find(), url);
+            assertEquals("btc-usd", matcher.group(1));
+            long start = Long.parseLong(matcher.group(2));
+            long end = Long.parseLong(matcher.group(3));
+            windows.add(new long[]{start, end});
+            return responseType.cast(List.of(candle(end), candle(start)));
+        }
+    }, quarantineService);
+
+    private static List<Object> candle(long time) {
+        return List.of(time, "9", "12", "10", "11", "3");
+    }
+
+    @Test
+    void parsesCandlesAndQuarantinesUnparseableOnes() {
+        List<List<Object>> raw = List.of(candle(T0), List.of(T0 + 60, "9", "not-a-price", "10", "11", "3"));
+
+        List<Kline> klines = provider.parseCandles(raw, "BTCUSD", MINUTE_MS);
+
+        assertEquals(1, klines.size());
+        Kline kline = klines.get(0);
+        assertEquals(T0 * 1000, kline.getOpenTime());
+        assertEquals(T0 * 1000 + MINUTE_MS - 1, kline.getCloseTime());
+        assertEquals(0, new BigDecimal("10").compareTo(kline.getOpenPrice()));
+        assertEquals(0, new BigDecimal("11").compareTo(kline.getClosePrice()));
+        assertEquals(0, new BigDecimal("12").compareTo(kline.getHighPrice()));
+        assertEquals(0, new BigDecimal("9").compareTo(kline.getLowPrice()));
+        assertEquals(0, new BigDecimal("3").compareTo(kline.getVolume()));
+        assertEquals(0L, kline.getNumberOfTrades());
+
+        assertEquals(1, quarantined.size());
+        assertEquals(QuarantineReason.UNPARSEABLE, quarantined.get(0).getReason());
+        assertEquals(Exchange.COINBASE.name(), quarantined.get(0).getExchange());
+    }
+
+    @Test
+    void walksRangeInConsecutiveWindowsAndStopsAtEndTime() {
+        long startTime = T0 * 1000;
+        long endTime = startTime + 700 * MINUTE_MS;
+
+        List<Kline> klines = provider.fetchKlines("BTCUSD", Interval.ONE_MINUTE, startTime, endTime);
+
+        assertEquals(3, windows.size());
+        assertArrayEquals(new long[]{T0, T0 + 299 * 60}, windows.get(0));
+        assertArrayEquals(new long[]{T0 + 300 * 60, T0 + 599 * 60}, windows.get(1));
+        assertArrayEquals(new long[]{T0 + 600 * 60, T0 + 700 * 60}, windows.get(2));
+        // Returned oldest first regardless of Coinbase's newest-first order
+        assertEquals(6, klines.size());
+        assertEquals(startTime, klines.get(0).getOpenTime());
+        assertEquals(endTime, klines.get(5).getOpenTime());
+        assertTrue(quarantined.isEmpty());
+    }
+}
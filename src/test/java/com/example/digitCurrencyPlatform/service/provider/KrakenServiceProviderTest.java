@@ -0,0 +1,124 @@
+package com.example.digitCurrencyPlatform.service.provider;
+
+import com.example.digitCurrencyPlatform.enums.Exchange;
+import com.example.digitCurrencyPlatform.enums.Interval;
+import com.example.digitCurrencyPlatform.enums.QuarantineReason;
+import com.example.digitCurrencyPlatform.model.Kline;
+import com.example.digitCurrencyPlatform.model.QuarantinedKline;
+import com.example.digitCurrencyPlatform.service.KlineQuarantineService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KrakenServiceProviderTest {
+
+    private static final long T0 = 1_700_000_040L;
+    private static final long MINUTE_MS = 60_000L;
+
+    private final List<QuarantinedKline> quarantined = new ArrayList<>();
+    private final List<Long> cursors = new ArrayList<>();
+    private final KlineQuarantineService quarantineService = new KlineQuarantineService(null) {
+        @Override
+        public void quarantine(List<QuarantinedKline> rows) {
+            quarantined.addAll(rows);
+        }
+    };
+
+    // Serves the OHLC response for the `since` cursor of each request
+    private KrakenServiceProvider provider(LongFunction<String> pages) {
+        ExchangeHttpClient httpClient = new ExchangeHttpClient(null) {
+            @Override
+            public <T> T get(Exchange exchange, String operation, String url, Class<T> responseType) {
+                long since = Long.parseLong(url.substring(url.indexOf("since=") + 6));
+                cursors.add(since);
+                return responseType.cast(pages.apply(since));
+            }
+        };
+        return new KrakenServiceProvider(httpClient, quarantineService);
+    }
+
+    private static String page(long last, long... openTimes) {
+        StringBuilder rows = new StringBuilder();
+        for (long openTime : openTimes) {
+            rows.append(rows.isEmpty() ? "" : ",")
+                    .append("[").append(openTime).append(",\"10\",\"12\",\"9\",\"11\",\"10.5\",\"3\",7]");
+        }
+        return "{\"error\":[],\"result\":{\"XXBTZUSD\":[" + rows + "],\"last\":" + last + "}}";
+    }
+
+    @Test
+    void parsesRowsAndQuarantinesUnparseableOnes() throws Exception {
+        String rows = "[[" + T0 + ",\"10\",\"12\",\"9\",\"11\",\"10.5\",\"3\",7],[" + (T0 + 60) + ",\"oops\"]]";
+        List<Kline> klines = provider(since -> "").parseRows(new ObjectMapper().readTree(rows), "XBTUSD", MINUTE_MS);
+
+        assertEquals(1, klines.size());
+        Kline kline = klines.get(0);
+        assertEquals(T0 * 1000, kline.getOpenTime());
+        assertEquals(T0 * 1000 + MINUTE_MS - 1, kline.getCloseTime());
+        assertEquals(0, new BigDecimal("10").compareTo(kline.getOpenPrice()));
+        assertEquals(0, new BigDecimal("11").compareTo(kline.getClosePrice()));
+        assertEquals(0, new BigDecimal("12").compareTo(kline.getHighPrice()));
+        assertEquals(0, new BigDecimal("9").compareTo(kline.getLowPrice()));
+        assertEquals(0, new BigDecimal("3").compareTo(kline.getVolume()));
+        assertEquals(7L, kline.getNumberOfTrades());
+
+        assertEquals(1, quarantined.size());
+        assertEquals(QuarantineReason.UNPARSEABLE, quarantined.get(0).getReason());
+        assertEquals(Exchange.KRAKEN.name(), quarantined.get(0).getExchange());
+    }
+
+    @Test
+    void followsLastCursorUntilAnEmptyPage() {
+        KrakenServiceProvider provider = provider(since -> {
+            if (since == T0 - 1) {
+                return page(T0 + 60, T0, T0 + 60);
+            }
+            if (since == T0 + 60) {
+                return page(T0 + 180, T0 + 120, T0 + 180);
+            }
+            return page(since);
+        });
+
+        // Two days allows four pages of up to 720 bars
+        List<Kline> klines = provider.fetchKlines("XBTUSD", Interval.ONE_MINUTE, T0 * 1000, (T0 + 2 * 86_400) * 1000);
+
+        assertEquals(List.of(T0 - 1, T0 + 60, T0 + 180), cursors);
+        assertEquals(List.of(T0 * 1000, (T0 + 60) * 1000, (T0 + 120) * 1000, (T0 + 180) * 1000),
+                klines.stream().map(Kline::getOpenTime).toList());
+    }
+
+    @Test
+    void neverRequestsMorePagesThanTheRangeCanHold() {
+        KrakenServiceProvider provider = provider(since -> page(since + 60, since + 1));
+
+        provider.fetchKlines("XBTUSD", Interval.ONE_MINUTE, T0 * 1000, (T0 + 600) * 1000);
+
+        assertEquals(List.of(T0 - 1, T0 + 59), cursors);
+    }
+
+    @Test
+    void stopsOncePageReachesPastEndTime() {
+        KrakenServiceProvider provider = provider(since -> page(since + 120, since + 1, since + 61, since + 121));
+
+        List<Kline> klines = provider.fetchKlines("XBTUSD", Interval.ONE_MINUTE, T0 * 1000, (T0 + 60) * 1000);
+
+        assertEquals(List.of(T0 - 1), cursors);
+        assertEquals(List.of(T0 * 1000, (T0 + 60) * 1000), klines.stream().map(Kline::getOpenTime).toList());
+    }
+
+    @Test
+    void stopsWhenCursorDoesNotAdvance() {
+        KrakenServiceProvider provider = provider(since -> page(since, since + 1));
+
+        List<Kline> klines = provider.fetchKlines("XBTUSD", Interval.ONE_MINUTE, T0 * 1000, (T0 + 600) * 1000);
+
+        assertEquals(List.of(T0 - 1), cursors);
+        assertEquals(1, klines.size());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.digitCurrencyPlatform.service.provider;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long TOKEN_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+    // 600 per minute is one token every 100ms
+    private final RateLimiter limiter = new RateLimiter(600, 2, clock::get, sleeps::add);
+
+    @Test
+    void burstPassesWithoutWaiting() {
+        limiter.acquire();
+        limiter.acquire();
+
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    void emptyBucketBlocksUntilNextToken() {
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+
+        assertEquals(List.of(TOKEN_NANOS), sleeps);
+    }
+
+    @Test
+    void waitingCallersQueueBehindEachOther() {
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+
+        assertEquals(List.of(TOKEN_NANOS, 2 * TOKEN_NANOS), sleeps);
+    }
+
+    @Test
+    void refillsOverTimeUpToBurst() {
+        limiter.acquire();
+        limiter.acquire();
+        clock.addAndGet(TOKEN_NANOS);
+        limiter.acquire();
+        assertTrue(sleeps.isEmpty());
+
+        // A long idle period only refills the burst, not the whole backlog
+        clock.addAndGet(100 * TOKEN_NANOS);
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+        assertEquals(List.of(TOKEN_NANOS), sleeps);
+    }
+
+    @Test
+    void tryAcquireNeverWaits() {
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        clock.addAndGet(TOKEN_NANOS);
+        assertTrue(limiter.tryAcquire());
+
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    void pauseHoldsCallersBackForAtLeastThePause() {
+        long pause = TimeUnit.SECONDS.toNanos(2);
+        limiter.pause(pause);
+
+        assertFalse(limiter.tryAcquire());
+        limiter.acquire();
+        assertEquals(1, sleeps.size());
+        assertTrue(sleeps.get(0) >= pause);
+    }
+}